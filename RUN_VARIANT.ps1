@@ -1,9 +1,9 @@
 # Quick script to run any variant
-# Usage: .\RUN_VARIANT.ps1 A|C|D
+# Usage: .\RUN_VARIANT.ps1 A|B|C|D|E
 
 param(
     [Parameter(Mandatory=$true)]
-    [ValidateSet('A','C','D','a','c','d')]
+    [ValidateSet('A','B','C','D','E','a','b','c','d','e')]
     [string]$Variant
 )
 
@@ -28,6 +28,20 @@ switch ($Variant) {
             exit 1
         }
     }
+    'B' {
+        Write-Host "`nVariant B: JAX-RS (Jersey) + raw JDBC (no ORM)" -ForegroundColor Yellow
+        Write-Host "Port: 8084" -ForegroundColor Gray
+        Write-Host "Starting..." -ForegroundColor Gray
+        $jar = "variant-b-jdbc\target\variant-b-jdbc-1.0.0-SNAPSHOT.jar"
+        if (Test-Path $jar) {
+            Push-Location variant-b-jdbc\target
+            java -jar variant-b-jdbc-1.0.0-SNAPSHOT.jar
+            Pop-Location
+        } else {
+            Write-Host "[ERROR] JAR not found. Run '.\mvnw.cmd clean install' first!" -ForegroundColor Red
+            exit 1
+        }
+    }
     'C' {
         Write-Host "`nVariant C: Spring Boot + @RestController + JPA/Hibernate" -ForegroundColor Yellow
         Write-Host "Port: 8082" -ForegroundColor Gray
@@ -44,4 +58,12 @@ switch ($Variant) {
         ..\mvnw.cmd spring-boot:run
         Pop-Location
     }
+    'E' {
+        Write-Host "`nVariant E: Spring Boot + WebFlux + R2DBC (non-blocking)" -ForegroundColor Yellow
+        Write-Host "Port: 8085" -ForegroundColor Gray
+        Write-Host "Starting..." -ForegroundColor Gray
+        Push-Location variant-e-webflux
+        ..\mvnw.cmd spring-boot:run
+        Pop-Location
+    }
 }
@@ -0,0 +1,37 @@
+# PowerShell script running the JMH microbenchmarks with the GC profiler
+# and writing the JSON report to results/.
+#
+# Usage (after "mvn clean package" at the root):
+#   .\run-jmh.ps1
+#   .\run-jmh.ps1 -Filter SerializationBenchmark -Forks 1
+
+param(
+    [string]$Filter = ".*",
+    [int]$Forks = 2
+)
+
+$ErrorActionPreference = "Stop"
+
+$JAR = "target\benchmarks.jar"
+if (-not (Test-Path $JAR)) {
+    Write-Host "ERROR: $JAR not found, run 'mvn clean package' first" -ForegroundColor Red
+    exit 1
+}
+
+$RESULTS_DIR = "results"
+if (-not (Test-Path $RESULTS_DIR)) {
+    New-Item -ItemType Directory -Path $RESULTS_DIR | Out-Null
+}
+
+$timestamp = Get-Date -Format "yyyyMMdd-HHmmss"
+$resultFile = Join-Path $RESULTS_DIR "jmh-$timestamp.json"
+
+Write-Host "Running JMH: $Filter / $Forks forks / -prof gc..." -ForegroundColor Cyan
+& java -jar $JAR $Filter -f $Forks -prof gc -rf json -rff $resultFile
+if ($LASTEXITCODE -ne 0) {
+    Write-Host "✗ JMH run failed" -ForegroundColor Red
+    exit $LASTEXITCODE
+}
+
+Write-Host ""
+Write-Host "Result file: $resultFile" -ForegroundColor Cyan
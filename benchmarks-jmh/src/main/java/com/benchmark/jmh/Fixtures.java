@@ -0,0 +1,58 @@
+package com.benchmark.jmh;
+
+import com.benchmark.model.Category;
+import com.benchmark.model.Item;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entities shaped like database/items.csv rows, so the benchmarks
+ * measure the request hot path without a database or a persistence context.
+ */
+final class Fixtures {
+
+    static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+
+    private Fixtures() {
+    }
+
+    static Category category(long id) {
+        Category category = new Category();
+        category.setId(id);
+        category.setCode(String.format("CAT%04d", id));
+        category.setName("Category " + id);
+        category.setUpdatedAt(UPDATED_AT);
+        return category;
+    }
+
+    static Item item(long id, Category category) {
+        Item item = new Item();
+        item.setId(id);
+        item.setSku(String.format("SKU%06d", id));
+        item.setName("Item " + id + " - Lorem ipsum dolor sit amet");
+        item.setPrice(BigDecimal.valueOf(1999 + id % 10000, 2));
+        item.setStock((int) (id % 500));
+        item.setCategory(category);
+        item.setUpdatedAt(UPDATED_AT);
+        return item;
+    }
+
+    /**
+     * One page of items spread over ten categories, as a category-less
+     * GET /items page would return them.
+     */
+    static List<Item> items(int count) {
+        List<Category> categories = new ArrayList<>();
+        for (long c = 1; c <= 10; c++) {
+            categories.add(category(c));
+        }
+        List<Item> items = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            items.add(item(i, categories.get((int) (i % categories.size()))));
+        }
+        return items;
+    }
+}
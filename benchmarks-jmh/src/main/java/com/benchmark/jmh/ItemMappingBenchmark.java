@@ -0,0 +1,36 @@
+package com.benchmark.jmh;
+
+import com.benchmark.model.Item;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of a single item, as done once per row by every
+ * JPA variant before serialization.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ItemMappingBenchmark {
+
+    private Item item;
+
+    @Setup
+    public void setUp() {
+        item = Fixtures.item(42, Fixtures.category(3));
+    }
+
+    @Benchmark
+    public com.benchmark.varianta.dto.ItemDTO variantA() {
+        return com.benchmark.varianta.dto.ItemDTO.fromEntity(item);
+    }
+
+    @Benchmark
+    public com.benchmark.variantc.dto.ItemDTO variantC() {
+        return com.benchmark.variantc.dto.ItemDTO.fromEntity(item);
+    }
+}
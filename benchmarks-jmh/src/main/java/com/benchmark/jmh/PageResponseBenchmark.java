@@ -0,0 +1,72 @@
+package com.benchmark.jmh;
+
+import com.benchmark.model.Item;
+import com.benchmark.varianta.dto.ItemDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a fetched page of entities and wrapping it in the page envelope,
+ * the way each variant builds its GET /items response body.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PageResponseBenchmark {
+
+    private static final long TOTAL = 100_000;
+
+    @Param({"20", "100", "1000"})
+    public int size;
+
+    private List<Item> items;
+    private List<Item> sliceRows;
+
+    @Setup
+    public void setUp() {
+        items = Fixtures.items(size);
+        // Slice queries fetch size + 1 rows
+        sliceRows = Fixtures.items(size + 1);
+    }
+
+    @Benchmark
+    public com.benchmark.varianta.dto.PageResponse<ItemDTO> variantAPage() {
+        List<ItemDTO> content = items.stream().map(ItemDTO::fromEntity).toList();
+        return com.benchmark.varianta.dto.PageResponse.of(content, 0, size, TOTAL);
+    }
+
+    @Benchmark
+    public com.benchmark.varianta.dto.PageResponse<ItemDTO> variantASlice() {
+        List<ItemDTO> rows = sliceRows.stream().map(ItemDTO::fromEntity).toList();
+        return com.benchmark.varianta.dto.PageResponse.slice(rows, 0, size);
+    }
+
+    @Benchmark
+    public com.benchmark.variantc.dto.PageResponse<com.benchmark.variantc.dto.ItemDTO> variantCPage() {
+        PageImpl<Item> page = new PageImpl<>(items, PageRequest.of(0, size), TOTAL);
+        return com.benchmark.variantc.dto.PageResponse.of(page.map(com.benchmark.variantc.dto.ItemDTO::fromEntity));
+    }
+
+    @Benchmark
+    public com.benchmark.variantc.dto.PageResponse<com.benchmark.variantc.dto.ItemDTO> variantCSlice() {
+        SliceImpl<Item> slice = new SliceImpl<>(items, PageRequest.of(0, size), true);
+        return com.benchmark.variantc.dto.PageResponse.of(slice.map(com.benchmark.variantc.dto.ItemDTO::fromEntity));
+    }
+
+    /**
+     * Shared envelope used by Variants B and E, which map rows straight to DTOs.
+     */
+    @Benchmark
+    public com.benchmark.dto.PageResponse<ItemDTO> sharedPage() {
+        List<ItemDTO> content = items.stream().map(ItemDTO::fromEntity).toList();
+        return com.benchmark.dto.PageResponse.of(content, 0, size, TOTAL);
+    }
+}
@@ -0,0 +1,83 @@
+package com.benchmark.jmh;
+
+import com.benchmark.json.HandJsonModule;
+import com.benchmark.model.Item;
+import com.benchmark.varianta.config.JerseyConfig;
+import com.benchmark.varianta.dto.ItemDTO;
+import com.benchmark.varianta.dto.PageResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of a GET /items page body with the mapper each stack
+ * actually uses: Variant A's JAX-RS ContextResolver on A's DTOs, and the
+ * mapper Spring Boot builds for C, D and E from the same settings as
+ * application.yml on C's DTOs. The *HandWriters benchmarks add the shared
+ * HAND_JSON_WRITERS=true serializers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int size;
+
+    private ObjectMapper jerseyMapper;
+    private ObjectMapper springMapper;
+    private ObjectMapper jerseyHandMapper;
+    private ObjectMapper springHandMapper;
+    private PageResponse<ItemDTO> page;
+    private com.benchmark.variantc.dto.PageResponse<com.benchmark.variantc.dto.ItemDTO> pageC;
+
+    @Setup
+    public void setUp() {
+        jerseyMapper = new JerseyConfig.ObjectMapperProvider(false).getContext(PageResponse.class);
+        jerseyHandMapper = new JerseyConfig.ObjectMapperProvider(true).getContext(PageResponse.class);
+        // spring.jackson.serialization.write-dates-as-timestamps=false,
+        // spring.jackson.default-property-inclusion=non_null
+        springMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        springHandMapper = springMapper.copy().registerModule(new HandJsonModule());
+
+        List<Item> items = Fixtures.items(size);
+        page = PageResponse.of(items.stream().map(ItemDTO::fromEntity).toList(), 0, size, 100_000);
+        pageC = com.benchmark.variantc.dto.PageResponse.of(new PageImpl<>(
+                items.stream().map(com.benchmark.variantc.dto.ItemDTO::fromEntity).toList(),
+                PageRequest.of(0, size), 100_000));
+    }
+
+    @Benchmark
+    public byte[] jersey() throws JsonProcessingException {
+        return jerseyMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] spring() throws JsonProcessingException {
+        return springMapper.writeValueAsBytes(pageC);
+    }
+
+    @Benchmark
+    public byte[] jerseyHandWriters() throws JsonProcessingException {
+        return jerseyHandMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] springHandWriters() throws JsonProcessingException {
+        return springHandMapper.writeValueAsBytes(pageC);
+    }
+}
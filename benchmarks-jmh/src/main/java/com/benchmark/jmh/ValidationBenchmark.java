@@ -0,0 +1,69 @@
+package com.benchmark.jmh;
+
+import com.benchmark.varianta.dto.ItemDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of a POST /items body, as run by Jersey's ValidationFeature
+ * and Spring's @Valid before the handler is invoked.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private ItemDTO valid;
+    private ItemDTO invalid;
+    private com.benchmark.variantc.dto.ItemDTO validC;
+    private com.benchmark.variantc.dto.ItemDTO invalidC;
+
+    @Setup
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        valid = ItemDTO.fromEntity(Fixtures.item(42, Fixtures.category(3)));
+        // Blank SKU, negative price and stock: three violations to build
+        invalid = new ItemDTO(null, " ", "Item", BigDecimal.valueOf(-1), -5, 3L, null, null, null);
+        validC = com.benchmark.variantc.dto.ItemDTO.fromEntity(Fixtures.item(42, Fixtures.category(3)));
+        invalidC = new com.benchmark.variantc.dto.ItemDTO(null, " ", "Item", BigDecimal.valueOf(-1), -5, 3L,
+                null, null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ItemDTO>> variantAValid() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ItemDTO>> variantAInvalid() {
+        return validator.validate(invalid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<com.benchmark.variantc.dto.ItemDTO>> variantCValid() {
+        return validator.validate(validC);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<com.benchmark.variantc.dto.ItemDTO>> variantCInvalid() {
+        return validator.validate(invalidC);
+    }
+}
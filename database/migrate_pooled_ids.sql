@@ -0,0 +1,11 @@
+-- =============================================
+-- Switch an existing database to pooled id allocation
+-- Needed once for databases created before schema.sql set INCREMENT BY 50
+-- =============================================
+
+ALTER SEQUENCE category_id_seq INCREMENT BY 50;
+ALTER SEQUENCE item_id_seq INCREMENT BY 50;
+
+-- The next value handed out must lie past every existing id
+SELECT setval('category_id_seq', (SELECT MAX(id) FROM category));
+SELECT setval('item_id_seq', (SELECT MAX(id) FROM item));
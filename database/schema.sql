@@ -26,8 +26,15 @@ CREATE TABLE item (
     updated_at TIMESTAMP NOT NULL DEFAULT NOW()
 );
 
+-- JPA variants allocate ids from these sequences 50 at a time (pooled optimizer,
+-- allocationSize = 50 on the entities); Hibernate checks the increment at startup
+ALTER SEQUENCE category_id_seq INCREMENT BY 50;
+ALTER SEQUENCE item_id_seq INCREMENT BY 50;
+
 -- Create indexes
 CREATE INDEX idx_item_category ON item(category_id);
+-- Seek predicate for keyset pagination: WHERE category_id = ? AND id > ? ORDER BY id
+CREATE INDEX idx_item_category_id ON item(category_id, id);
 CREATE INDEX idx_item_updated_at ON item(updated_at);
 CREATE INDEX idx_category_code ON category(code);
 CREATE INDEX idx_item_sku ON item(sku);
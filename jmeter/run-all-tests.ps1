@@ -3,17 +3,20 @@
 
 $ErrorActionPreference = "Stop"
 
-# Configuration
+# Configuration (ReadOnly: no write endpoints, write scenarios are skipped)
 $VARIANTS = @(
-    @{Name="variant-a"; Port=8081; Label="JAX-RS"},
-    @{Name="variant-c"; Port=8082; Label="Spring-MVC"},
-    @{Name="variant-d"; Port=8083; Label="Spring-Data-REST"}
+    @{Name="variant-a"; Port=8081; Label="JAX-RS"; CursorPath="/items"},
+    @{Name="variant-b"; Port=8084; Label="JAX-RS-JDBC"; CursorPath="/items"; ReadOnly=$true},
+    @{Name="variant-c"; Port=8082; Label="Spring-MVC"; CursorPath="/items"},
+    @{Name="variant-d"; Port=8083; Label="Spring-Data-REST"; CursorPath="/items/search/after"},
+    @{Name="variant-e"; Port=8085; Label="WebFlux-R2DBC"; CursorPath="/items"}
 )
 
 $SCENARIOS = @(
     @{Name="scenario-1-read-heavy"; File="scenario-1-read-heavy.jmx"; Label="READ-heavy"},
     @{Name="scenario-2-join-filter"; File="scenario-2-join-filter.jmx"; Label="JOIN-filter"},
-    @{Name="scenario-3-mixed"; File="scenario-3-mixed.jmx"; Label="MIXED"}
+    @{Name="scenario-3-mixed"; File="scenario-3-mixed.jmx"; Label="MIXED"; Writes=$true},
+    @{Name="scenario-4-deep-page"; File="scripts\deep_page_test.jmx"; Label="DEEP-page"}
 )
 
 $JMETER_HOME = $env:JMETER_HOME
@@ -65,6 +68,10 @@ foreach ($variant in $VARIANTS) {
     
     foreach ($scenario in $SCENARIOS) {
         Write-Host ""
+        if ($variant.ReadOnly -and $scenario.Writes) {
+            Write-Host "Skipping: $($scenario.Label) (writes; $($variant.Label) serves reads only)" -ForegroundColor Gray
+            continue
+        }
         Write-Host "Running: $($scenario.Label)..." -ForegroundColor Cyan
         
         $jtlFile = Join-Path $RESULTS_DIR "$($variant.Name)-$($scenario.Name)-$timestamp.jtl"
@@ -76,6 +83,7 @@ foreach ($variant in $VARIANTS) {
             "-t", $scenario.File,
             "-JHOST=localhost",
             "-JPORT=$($variant.Port)",
+            "-JCURSOR_PATH=$($variant.CursorPath)",
             "-l", $jtlFile,
             "-e",
             "-o", $reportDir
@@ -0,0 +1,102 @@
+# PowerShell script comparing the READ-heavy plan with the Hibernate
+# second level cache on and off, against ONE running JPA variant (A, C or D).
+# Appends latency percentiles and the L2 hit ratio / evictions to a CSV.
+#
+# Usage:
+#   1. Start the variant with L2_CACHE=false, run:
+#        .\run-cache-compare.ps1 -Port 8081 -Variant variant-a -Cache off
+#   2. Restart it with L2_CACHE=true, run:
+#        .\run-cache-compare.ps1 -Port 8081 -Variant variant-a -Cache on
+
+param(
+    [Parameter(Mandatory=$true)][int]$Port,
+    [Parameter(Mandatory=$true)][string]$Variant,
+    [Parameter(Mandatory=$true)][ValidateSet("on", "off")][string]$Cache,
+    [int]$Threads = 20,
+    [int]$Duration = 300,
+    [int]$RampUp = 30
+)
+
+$ErrorActionPreference = "Stop"
+
+$JMETER_HOME = $env:JMETER_HOME
+if (-not $JMETER_HOME) {
+    Write-Host "ERROR: JMETER_HOME environment variable not set" -ForegroundColor Red
+    exit 1
+}
+$JMETER_BIN = Join-Path $JMETER_HOME "bin\jmeter.bat"
+
+$RESULTS_DIR = "results"
+if (-not (Test-Path $RESULTS_DIR)) {
+    New-Item -ItemType Directory -Path $RESULTS_DIR | Out-Null
+}
+
+$compareFile = Join-Path $RESULTS_DIR "l2-cache-compare.csv"
+if (-not (Test-Path $compareFile)) {
+    "Variant,L2Cache,Threads,Samples,ErrorRate,P50,P95,P99,Throughput,L2Hits,L2Misses,L2HitRatio,L2Evictions" | Out-File -FilePath $compareFile -Encoding UTF8
+}
+
+# Sums every series of one counter on the variant's Prometheus endpoint
+function Get-Metric([string]$name, [string]$filter = "") {
+    $body = (Invoke-WebRequest -Uri "http://localhost:$Port/actuator/prometheus" -TimeoutSec 5).Content
+    $sum = 0.0
+    foreach ($line in $body -split "`n") {
+        if ($line.StartsWith("$name{") -and $line.Contains($filter)) {
+            $sum += [double]($line.Split(" ")[-1])
+        }
+    }
+    return $sum
+}
+
+try {
+    Invoke-WebRequest -Uri "http://localhost:$Port/actuator/health" -TimeoutSec 5 | Out-Null
+}
+catch {
+    Write-Host "✗ Application not responding on port $Port" -ForegroundColor Red
+    exit 1
+}
+
+$timestamp = Get-Date -Format "yyyyMMdd-HHmmss"
+$jtlFile = Join-Path $RESULTS_DIR "$Variant-l2-$Cache-$timestamp.jtl"
+
+$hitsBefore = Get-Metric "cache_gets_total" 'result="hit"'
+$missesBefore = Get-Metric "cache_gets_total" 'result="miss"'
+$evictionsBefore = Get-Metric "cache_evictions_total"
+
+Write-Host "Running: $Variant / L2 cache $Cache / $Threads threads..." -ForegroundColor Cyan
+$jmeterArgs = @(
+    "-n",
+    "-t", "scripts\read_heavy_test.jmx",
+    "-JHOST=localhost",
+    "-JPORT=$Port",
+    "-JTHREADS=$Threads",
+    "-JRAMPUP=$RampUp",
+    "-JDURATION=$Duration",
+    "-l", $jtlFile
+)
+& $JMETER_BIN $jmeterArgs
+
+# Counters are absent with the cache off; the deltas are then 0
+$hits = (Get-Metric "cache_gets_total" 'result="hit"') - $hitsBefore
+$misses = (Get-Metric "cache_gets_total" 'result="miss"') - $missesBefore
+$evictions = (Get-Metric "cache_evictions_total") - $evictionsBefore
+$hitRatio = if ($hits + $misses -gt 0) { [math]::Round($hits / ($hits + $misses), 4) } else { 0 }
+
+$rows = Import-Csv $jtlFile
+$elapsed = $rows | ForEach-Object { [int]$_.elapsed } | Sort-Object
+$samples = $elapsed.Count
+function Get-Percentile([double]$p) {
+    return $elapsed[[math]::Min($samples - 1, [math]::Ceiling($samples * $p) - 1)]
+}
+$errors = ($rows | Where-Object { $_.success -ne "true" }).Count
+$errorRate = [math]::Round(100.0 * $errors / [math]::Max(1, $samples), 2)
+$first = [long]$rows[0].timeStamp
+$last = [long]$rows[-1].timeStamp
+$throughput = [math]::Round($samples / [math]::Max(1, ($last - $first) / 1000.0), 2)
+
+"$Variant,$Cache,$Threads,$samples,$errorRate,$(Get-Percentile 0.50),$(Get-Percentile 0.95),$(Get-Percentile 0.99),$throughput,$hits,$misses,$hitRatio,$evictions" |
+    Out-File -FilePath $compareFile -Encoding UTF8 -Append
+
+Write-Host "  p99: $(Get-Percentile 0.99) ms, RPS: $throughput, L2 hit ratio: $hitRatio, evictions: $evictions" -ForegroundColor Green
+Write-Host ""
+Write-Host "Compare file: $compareFile" -ForegroundColor Cyan
@@ -0,0 +1,111 @@
+# PowerShell script comparing response formats (JSON, protobuf, CBOR, Smile)
+# with the READ-heavy plan against ONE running variant (A or C).
+# For each format: bytes received per request (from the JTL) and server CPU
+# per request (process_cpu_seconds_total of the JMX exporter agent).
+#
+# Usage (variant started with the jmx_prometheus_javaagent, see README):
+#   .\run-formats.ps1 -Port 8081 -JmxPort 8091 -Variant variant-a
+#   .\run-formats.ps1 -Port 8082 -JmxPort 8092 -Variant variant-c
+
+param(
+    [Parameter(Mandatory=$true)][int]$Port,
+    [Parameter(Mandatory=$true)][int]$JmxPort,
+    [Parameter(Mandatory=$true)][string]$Variant,
+    [string[]]$Formats = @("json", "protobuf", "cbor", "smile"),
+    [int]$Threads = 20,
+    [int]$Duration = 120,
+    [int]$RampUp = 10
+)
+
+$ErrorActionPreference = "Stop"
+
+$MEDIA_TYPES = @{
+    "json"     = "application/json"
+    "protobuf" = "application/x-protobuf"
+    "cbor"     = "application/cbor"
+    "smile"    = "application/x-jackson-smile"
+}
+
+$JMETER_HOME = $env:JMETER_HOME
+if (-not $JMETER_HOME) {
+    Write-Host "ERROR: JMETER_HOME environment variable not set" -ForegroundColor Red
+    exit 1
+}
+$JMETER_BIN = Join-Path $JMETER_HOME "bin\jmeter.bat"
+
+$RESULTS_DIR = "results"
+if (-not (Test-Path $RESULTS_DIR)) {
+    New-Item -ItemType Directory -Path $RESULTS_DIR | Out-Null
+}
+
+$compareFile = Join-Path $RESULTS_DIR "formats-compare.csv"
+if (-not (Test-Path $compareFile)) {
+    "Variant,Format,Threads,Samples,ErrorRate,P50,P95,P99,Throughput,BytesPerRequest,CpuMsPerRequest" | Out-File -FilePath $compareFile -Encoding UTF8
+}
+
+# Process CPU seconds from the JMX exporter agent
+function Get-CpuSeconds {
+    $body = (Invoke-WebRequest -Uri "http://localhost:$JmxPort/metrics" -TimeoutSec 5).Content
+    foreach ($line in $body -split "`n") {
+        if ($line.StartsWith("process_cpu_seconds_total")) {
+            return [double]($line.Split(" ")[-1])
+        }
+    }
+    Write-Host "✗ process_cpu_seconds_total not found on port $JmxPort" -ForegroundColor Red
+    exit 1
+}
+
+try {
+    Invoke-WebRequest -Uri "http://localhost:$Port/actuator/health" -TimeoutSec 5 | Out-Null
+}
+catch {
+    Write-Host "✗ Application not responding on port $Port" -ForegroundColor Red
+    exit 1
+}
+
+foreach ($format in $Formats) {
+    $accept = $MEDIA_TYPES[$format]
+    $timestamp = Get-Date -Format "yyyyMMdd-HHmmss"
+    $jtlFile = Join-Path $RESULTS_DIR "$Variant-format-$format-$timestamp.jtl"
+
+    $cpuBefore = Get-CpuSeconds
+
+    Write-Host "Running: $Variant / Accept $accept / $Threads threads..." -ForegroundColor Cyan
+    $jmeterArgs = @(
+        "-n",
+        "-t", "scripts\read_heavy_test.jmx",
+        "-JHOST=localhost",
+        "-JPORT=$Port",
+        "-JTHREADS=$Threads",
+        "-JRAMPUP=$RampUp",
+        "-JDURATION=$Duration",
+        "-JACCEPT=$accept",
+        "-l", $jtlFile
+    )
+    & $JMETER_BIN $jmeterArgs
+
+    $cpuSeconds = (Get-CpuSeconds) - $cpuBefore
+
+    $rows = Import-Csv $jtlFile
+    $elapsed = $rows | ForEach-Object { [int]$_.elapsed } | Sort-Object
+    $samples = $elapsed.Count
+    function Get-Percentile([double]$p) {
+        return $elapsed[[math]::Min($samples - 1, [math]::Ceiling($samples * $p) - 1)]
+    }
+    $errors = ($rows | Where-Object { $_.success -ne "true" }).Count
+    $errorRate = [math]::Round(100.0 * $errors / [math]::Max(1, $samples), 2)
+    $first = [long]$rows[0].timeStamp
+    $last = [long]$rows[-1].timeStamp
+    $throughput = [math]::Round($samples / [math]::Max(1, ($last - $first) / 1000.0), 2)
+    # "bytes" is the full response received, headers included
+    $bytesPerRequest = [math]::Round(($rows | Measure-Object -Property bytes -Average).Average, 0)
+    $cpuMsPerRequest = [math]::Round(1000.0 * $cpuSeconds / [math]::Max(1, $samples), 4)
+
+    "$Variant,$format,$Threads,$samples,$errorRate,$(Get-Percentile 0.50),$(Get-Percentile 0.95),$(Get-Percentile 0.99),$throughput,$bytesPerRequest,$cpuMsPerRequest" |
+        Out-File -FilePath $compareFile -Encoding UTF8 -Append
+
+    Write-Host "  p99: $(Get-Percentile 0.99) ms, RPS: $throughput, bytes/req: $bytesPerRequest, CPU ms/req: $cpuMsPerRequest" -ForegroundColor Green
+}
+
+Write-Host ""
+Write-Host "Compare file: $compareFile" -ForegroundColor Cyan
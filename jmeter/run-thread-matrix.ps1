@@ -0,0 +1,117 @@
+# PowerShell script comparing platform threads and virtual threads
+# Runs the READ-heavy plan at 50 / 200 / 1000 users against ONE running variant
+# and appends p99 and memory per connection to a CSV.
+#
+# Usage:
+#   1. Start the variant with VIRTUAL_THREADS=false, run:
+#        .\run-thread-matrix.ps1 -Port 8081 -Variant variant-a -Mode platform
+#   2. Restart it with VIRTUAL_THREADS=true, run:
+#        .\run-thread-matrix.ps1 -Port 8081 -Variant variant-a -Mode virtual
+
+param(
+    [Parameter(Mandatory=$true)][int]$Port,
+    [Parameter(Mandatory=$true)][string]$Variant,
+    [Parameter(Mandatory=$true)][ValidateSet("platform", "virtual")][string]$Mode,
+    [int[]]$Users = @(50, 200, 1000),
+    [int]$Duration = 300,
+    [int]$RampUp = 30
+)
+
+$ErrorActionPreference = "Stop"
+
+$JMETER_HOME = $env:JMETER_HOME
+if (-not $JMETER_HOME) {
+    Write-Host "ERROR: JMETER_HOME environment variable not set" -ForegroundColor Red
+    exit 1
+}
+$JMETER_BIN = Join-Path $JMETER_HOME "bin\jmeter.bat"
+
+$RESULTS_DIR = "results"
+if (-not (Test-Path $RESULTS_DIR)) {
+    New-Item -ItemType Directory -Path $RESULTS_DIR | Out-Null
+}
+
+$matrixFile = Join-Path $RESULTS_DIR "thread-matrix.csv"
+if (-not (Test-Path $matrixFile)) {
+    "Variant,Mode,Users,Samples,ErrorRate,P99,Throughput,HeapIdleMB,HeapPeakMB,ThreadsPeak,HeapKBPerConnection" | Out-File -FilePath $matrixFile -Encoding UTF8
+}
+
+# Reads one summed gauge from the variant's Prometheus endpoint
+function Get-Metric([string]$name, [string]$filter = "") {
+    $body = (Invoke-WebRequest -Uri "http://localhost:$Port/actuator/prometheus" -TimeoutSec 5).Content
+    $sum = 0.0
+    foreach ($line in $body -split "`n") {
+        if ($line.StartsWith("$name{") -and $line.Contains($filter)) {
+            $sum += [double]($line.Split(" ")[-1])
+        }
+    }
+    return $sum
+}
+
+try {
+    Invoke-WebRequest -Uri "http://localhost:$Port/actuator/health" -TimeoutSec 5 | Out-Null
+}
+catch {
+    Write-Host "✗ Application not responding on port $Port" -ForegroundColor Red
+    exit 1
+}
+
+$timestamp = Get-Date -Format "yyyyMMdd-HHmmss"
+
+foreach ($users in $Users) {
+    Write-Host ""
+    Write-Host "Running: $Variant / $Mode / $users users..." -ForegroundColor Cyan
+
+    $heapIdle = (Get-Metric "jvm_memory_used_bytes" 'area="heap"') / 1MB
+    $heapPeak = $heapIdle
+    $threadsPeak = Get-Metric "jvm_threads_live_threads"
+
+    $jtlFile = Join-Path $RESULTS_DIR "$Variant-$Mode-$users-$timestamp.jtl"
+    $jmeterArgs = @(
+        "-n",
+        "-t", "scripts\read_heavy_test.jmx",
+        "-JHOST=localhost",
+        "-JPORT=$Port",
+        "-JTHREADS=$users",
+        "-JRAMPUP=$RampUp",
+        "-JDURATION=$Duration",
+        "-l", $jtlFile
+    )
+    $job = Start-Job -ScriptBlock { param($bin, $a) & $bin $a } -ArgumentList $JMETER_BIN, $jmeterArgs
+
+    # Sample heap and threads every 5 seconds while the plan runs
+    while ($job.State -eq "Running") {
+        Start-Sleep -Seconds 5
+        try {
+            $heapPeak = [math]::Max($heapPeak, (Get-Metric "jvm_memory_used_bytes" 'area="heap"') / 1MB)
+            $threadsPeak = [math]::Max($threadsPeak, (Get-Metric "jvm_threads_live_threads"))
+        }
+        catch {
+            # Endpoint can time out under 1000 users; keep the last peak
+        }
+    }
+    Receive-Job $job | Out-Null
+    Remove-Job $job
+
+    $rows = Import-Csv $jtlFile
+    $elapsed = $rows | ForEach-Object { [int]$_.elapsed } | Sort-Object
+    $samples = $elapsed.Count
+    $p99 = $elapsed[[math]::Min($samples - 1, [math]::Ceiling($samples * 0.99) - 1)]
+    $errors = ($rows | Where-Object { $_.success -ne "true" }).Count
+    $errorRate = [math]::Round(100.0 * $errors / [math]::Max(1, $samples), 2)
+    $first = [long]$rows[0].timeStamp
+    $last = [long]$rows[-1].timeStamp
+    $throughput = [math]::Round($samples / [math]::Max(1, ($last - $first) / 1000.0), 2)
+    $perConnection = [math]::Round(($heapPeak - $heapIdle) * 1024 / $users, 1)
+
+    "$Variant,$Mode,$users,$samples,$errorRate,$p99,$throughput,$([math]::Round($heapIdle, 1)),$([math]::Round($heapPeak, 1)),$threadsPeak,$perConnection" |
+        Out-File -FilePath $matrixFile -Encoding UTF8 -Append
+
+    Write-Host "  p99: $p99 ms, heap/connection: $perConnection KB, peak threads: $threadsPeak" -ForegroundColor Green
+
+    Write-Host "  Waiting 60 seconds before next level..." -ForegroundColor Gray
+    Start-Sleep -Seconds 60
+}
+
+Write-Host ""
+Write-Host "Matrix file: $matrixFile" -ForegroundColor Cyan
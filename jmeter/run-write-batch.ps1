@@ -0,0 +1,112 @@
+# PowerShell script running the batched write plan (POST then PUT /items/batch)
+# against ONE running variant (A or C) and appending rows/second to a CSV.
+# Client side: batches/s x BATCH_ROWS from the JTL; server side: the delta of
+# item_batch_rows_total{result="written"} over the same run.
+#
+# Usage:
+#   .\run-write-batch.ps1 -Port 8081 -Variant variant-a
+#   .\run-write-batch.ps1 -Port 8082 -Variant variant-c -BatchRows 500
+
+param(
+    [Parameter(Mandatory=$true)][int]$Port,
+    [Parameter(Mandatory=$true)][string]$Variant,
+    [int]$BatchRows = 100,
+    [int]$Threads = 10,
+    [int]$Duration = 300,
+    [int]$RampUp = 30
+)
+
+$ErrorActionPreference = "Stop"
+
+$JMETER_HOME = $env:JMETER_HOME
+if (-not $JMETER_HOME) {
+    Write-Host "ERROR: JMETER_HOME environment variable not set" -ForegroundColor Red
+    exit 1
+}
+$JMETER_BIN = Join-Path $JMETER_HOME "bin\jmeter.bat"
+
+$RESULTS_DIR = "results"
+if (-not (Test-Path $RESULTS_DIR)) {
+    New-Item -ItemType Directory -Path $RESULTS_DIR | Out-Null
+}
+
+$batchFile = Join-Path $RESULTS_DIR "write-batch.csv"
+if (-not (Test-Path $batchFile)) {
+    "Variant,Operation,BatchRows,Threads,Batches,ErrorRate,P50,P95,P99,BatchesPerSec,RowsPerSec,ServerRowsWritten,ServerRowsRejected" | Out-File -FilePath $batchFile -Encoding UTF8
+}
+
+# Sums every series of one counter on the variant's Prometheus endpoint
+function Get-Metric([string]$name, [string]$filter = "") {
+    $body = (Invoke-WebRequest -Uri "http://localhost:$Port/actuator/prometheus" -TimeoutSec 5).Content
+    $sum = 0.0
+    foreach ($line in $body -split "`n") {
+        if ($line.StartsWith("$name{") -and $line.Contains($filter)) {
+            $sum += [double]($line.Split(" ")[-1])
+        }
+    }
+    return $sum
+}
+
+try {
+    Invoke-WebRequest -Uri "http://localhost:$Port/actuator/health" -TimeoutSec 5 | Out-Null
+}
+catch {
+    Write-Host "✗ Application not responding on port $Port" -ForegroundColor Red
+    exit 1
+}
+
+$timestamp = Get-Date -Format "yyyyMMdd-HHmmss"
+$jtlFile = Join-Path $RESULTS_DIR "$Variant-write-batch-$timestamp.jtl"
+
+$operations = @{ "POST /items/batch" = "insert"; "PUT /items/batch" = "update" }
+$before = @{}
+foreach ($op in $operations.Values) {
+    $before["$op-written"] = Get-Metric "item_batch_rows_total" "operation=`"$op`",result=`"written`""
+    $before["$op-rejected"] = Get-Metric "item_batch_rows_total" "operation=`"$op`",result=`"rejected`""
+}
+
+Write-Host "Running: $Variant / $BatchRows rows per batch / $Threads threads..." -ForegroundColor Cyan
+$jmeterArgs = @(
+    "-n",
+    "-t", "scripts\write_heavy_test.jmx",
+    "-JHOST=localhost",
+    "-JPORT=$Port",
+    "-JBATCH_ROWS=$BatchRows",
+    "-JTHREADS=$Threads",
+    "-JRAMPUP=$RampUp",
+    "-JDURATION=$Duration",
+    "-l", $jtlFile
+)
+& $JMETER_BIN $jmeterArgs
+
+$allRows = Import-Csv $jtlFile
+foreach ($label in $operations.Keys) {
+    $op = $operations[$label]
+    $rows = $allRows | Where-Object { $_.label -eq $label }
+    if (-not $rows) {
+        continue
+    }
+
+    $elapsed = $rows | ForEach-Object { [int]$_.elapsed } | Sort-Object
+    $samples = $elapsed.Count
+    $p50 = $elapsed[[math]::Min($samples - 1, [math]::Ceiling($samples * 0.50) - 1)]
+    $p95 = $elapsed[[math]::Min($samples - 1, [math]::Ceiling($samples * 0.95) - 1)]
+    $p99 = $elapsed[[math]::Min($samples - 1, [math]::Ceiling($samples * 0.99) - 1)]
+    $errors = ($rows | Where-Object { $_.success -ne "true" }).Count
+    $errorRate = [math]::Round(100.0 * $errors / [math]::Max(1, $samples), 2)
+    $first = [long]$rows[0].timeStamp
+    $last = [long]$rows[-1].timeStamp
+    $batchesPerSec = [math]::Round($samples / [math]::Max(1, ($last - $first) / 1000.0), 2)
+    $rowsPerSec = [math]::Round($batchesPerSec * $BatchRows, 0)
+
+    $written = (Get-Metric "item_batch_rows_total" "operation=`"$op`",result=`"written`"") - $before["$op-written"]
+    $rejected = (Get-Metric "item_batch_rows_total" "operation=`"$op`",result=`"rejected`"") - $before["$op-rejected"]
+
+    "$Variant,$op,$BatchRows,$Threads,$samples,$errorRate,$p50,$p95,$p99,$batchesPerSec,$rowsPerSec,$written,$rejected" |
+        Out-File -FilePath $batchFile -Encoding UTF8 -Append
+
+    Write-Host "  $op : $rowsPerSec rows/s (p99 $p99 ms per batch), server written: $written, rejected: $rejected" -ForegroundColor Green
+}
+
+Write-Host ""
+Write-Host "Results file: $batchFile" -ForegroundColor Cyan
@@ -0,0 +1,124 @@
+package com.benchmark.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms (microseconds, 3 significant digits) plus
+ * an ALL row. Two clocks per request:
+ * <ul>
+ *   <li>response time, from the time the schedule intended to send it: a
+ *       request held back by a stalled server or a full connection pool is
+ *       charged for the wait (coordinated-omission corrected)</li>
+ *   <li>service time, from the time it was actually sent: what a closed-loop
+ *       tool such as JMeter reports</li>
+ * </ul>
+ * Unpaced closed-loop runs have no schedule, so both clocks are equal there.
+ */
+final class LatencyStats {
+
+    static final String ALL = "ALL";
+
+    static final String CSV_HEADER = "Run,Target,Scenario,Mode,Rate,Threads,Endpoint,Samples,Errors,ErrorRate,"
+            + "Throughput,P50,P90,P99,P999,P9999,Max,ServiceP50,ServiceP99,ServiceMax";
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final long measureFrom;
+
+    LatencyStats(long measureFrom) {
+        this.measureFrom = measureFrom;
+    }
+
+    private static final class Endpoint {
+        final Histogram response = new ConcurrentHistogram(3);
+        final Histogram service = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+    }
+
+    /**
+     * Nano times; requests scheduled during the warm-up are dropped.
+     */
+    void record(String label, long intended, long sent, long done, boolean ok) {
+        if (intended < measureFrom) {
+            return;
+        }
+        long responseMicros = Math.max(0, done - intended) / 1000;
+        long serviceMicros = Math.max(0, done - sent) / 1000;
+        for (Endpoint endpoint : List.of(endpoint(label), endpoint(ALL))) {
+            endpoint.response.recordValue(responseMicros);
+            endpoint.service.recordValue(serviceMicros);
+            if (!ok) {
+                endpoint.errors.increment();
+            }
+        }
+    }
+
+    /**
+     * Response-time histogram (microseconds) of one endpoint, or of ALL.
+     */
+    Histogram responseTimes(String label) {
+        return endpoint(label).response;
+    }
+
+    long errors(String label) {
+        return endpoint(label).errors.sum();
+    }
+
+    private Endpoint endpoint(String label) {
+        return endpoints.computeIfAbsent(label, key -> new Endpoint());
+    }
+
+    /**
+     * One .hgrm percentile spectrum per endpoint and clock (values in ms,
+     * plottable with HdrHistogram's plotFiles.html), plus summary rows.
+     *
+     * @param prefix the leading CSV columns, Run through Threads
+     * @return summary rows, ALL first
+     */
+    List<String> write(Path dir, String prefix, double seconds) throws IOException {
+        Files.createDirectories(dir);
+        List<String> labels = new ArrayList<>(endpoints.keySet());
+        labels.sort((a, b) -> a.equals(ALL) ? -1 : b.equals(ALL) ? 1 : a.compareTo(b));
+
+        List<String> rows = new ArrayList<>();
+        for (String label : labels) {
+            Endpoint endpoint = endpoints.get(label);
+            String slug = label.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+            spectrum(endpoint.response, dir.resolve(slug + ".hgrm"));
+            spectrum(endpoint.service, dir.resolve(slug + ".service.hgrm"));
+
+            long samples = endpoint.response.getTotalCount();
+            long errors = endpoint.errors.sum();
+            Histogram r = endpoint.response;
+            Histogram s = endpoint.service;
+            rows.add(String.format(Locale.ROOT, "%s,%s,%d,%d,%.2f,%.2f,%s,%s,%s,%s,%s,%s,%s,%s,%s",
+                    prefix, label, samples, errors, 100.0 * errors / Math.max(1, samples), samples / seconds,
+                    ms(r.getValueAtPercentile(50)), ms(r.getValueAtPercentile(90)), ms(r.getValueAtPercentile(99)),
+                    ms(r.getValueAtPercentile(99.9)), ms(r.getValueAtPercentile(99.99)), ms(r.getMaxValue()),
+                    ms(s.getValueAtPercentile(50)), ms(s.getValueAtPercentile(99)), ms(s.getMaxValue())));
+        }
+        return rows;
+    }
+
+    private static void spectrum(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, 5, 1000.0);
+        }
+    }
+
+    private static String ms(long micros) {
+        return String.format(Locale.ROOT, "%.3f", micros / 1000.0);
+    }
+}
@@ -0,0 +1,270 @@
+package com.benchmark.loadgen;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives one scenario against one running variant and writes latency
+ * percentile spectra.
+ *
+ * <ul>
+ *   <li>open: requests leave at a constant --rate whatever the server does,
+ *       each timed from its scheduled send time; --max-in-flight bounds the
+ *       requests outstanding (a full window delays sends, and the delay is
+ *       charged to the response time)</li>
+ *   <li>closed: --threads loops, each sending its next request when the
+ *       previous one returned. With --rate the loops are paced (rate/threads
+ *       each) and timed from the schedule; without, this is JMeter's model</li>
+ * </ul>
+ *
+ * Usage: java -jar loadgen.jar --target http://localhost:8081 --scenario read_heavy
+ *        --mode open --rate 500 [--duration 300] [--warmup 30] [--name variant-a]
+ */
+public final class LoadGenerator {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final URI target;
+    private final Scenario scenario;
+    private final String mode;
+    private final double rate;
+    private final int threads;
+    private final int maxInFlight;
+    private final Duration timeout;
+    private final String accept;
+    private final Workload workload;
+    private final HttpClient client;
+    private final LatencyStats stats;
+    private final long start;
+    private final long end;
+
+    LoadGenerator(Map<String, String> options, Workload workload) {
+        this.target = URI.create(option(options, "target", "http://localhost:8081"));
+        this.scenario = Scenario.parse(option(options, "scenario", "read_heavy"));
+        this.mode = option(options, "mode", "open").toLowerCase(Locale.ROOT);
+        this.rate = Double.parseDouble(option(options, "rate", "0"));
+        this.threads = Integer.parseInt(option(options, "threads", "50"));
+        this.maxInFlight = Integer.parseInt(option(options, "max-in-flight", "10000"));
+        this.timeout = Duration.ofSeconds(Long.parseLong(option(options, "timeout", "30")));
+        this.accept = option(options, "accept", "application/json");
+        this.workload = workload;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        long warmup = TimeUnit.SECONDS.toNanos(Long.parseLong(option(options, "warmup", "30")));
+        long duration = TimeUnit.SECONDS.toNanos(Long.parseLong(option(options, "duration", "300")));
+        // Leave time to start the loops before the first scheduled send
+        this.start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        this.end = start + warmup + duration;
+        this.stats = new LatencyStats(start + warmup);
+
+        if (!mode.equals("open") && !mode.equals("closed")) {
+            throw new IllegalArgumentException("--mode must be open or closed");
+        }
+        if (mode.equals("open") && rate <= 0) {
+            throw new IllegalArgumentException("--mode open needs --rate (requests per second)");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options;
+        LoadGenerator run;
+        try {
+            options = parse(args);
+            Path data = Path.of(option(options, "data", "jmeter"));
+            int maxPage = Integer.parseInt(option(options, "max-page", "20"));
+            run = new LoadGenerator(options, new Workload(TestData.load(data), maxPage));
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("ERROR: " + e.getMessage());
+            System.err.println("Usage: java -jar loadgen.jar --target http://localhost:8081"
+                    + " --scenario read_heavy|join_filter|mixed|heavy_body --mode open|closed"
+                    + " [--rate N] [--threads N] [--duration s] [--warmup s] [--max-in-flight N]"
+                    + " [--timeout s] [--accept type] [--max-page N] [--data jmeter]"
+                    + " [--out jmeter/results/loadgen] [--name label]");
+            System.exit(2);
+            return;
+        }
+
+        String name = option(options, "name", "port" + run.target.getPort());
+        System.out.printf(Locale.ROOT, "Running: %s / %s / %s, rate %s, threads %d%n",
+                name, run.scenario.id(), run.mode, run.rate > 0 ? run.rate + "/s" : "unpaced", run.threads);
+
+        run.run();
+
+        double seconds = Double.parseDouble(option(options, "duration", "300"));
+        run.report(Path.of(option(options, "out", "jmeter/results/loadgen")), name, seconds);
+    }
+
+    /**
+     * Sends the load until the end of the measured phase.
+     */
+    void run() throws InterruptedException {
+        if (mode.equals("open")) {
+            runOpen();
+        } else {
+            runClosed();
+        }
+    }
+
+    LatencyStats stats() {
+        return stats;
+    }
+
+    private void runOpen() throws InterruptedException {
+        double interval = 1e9 / rate;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * interval);
+            if (intended >= end) {
+                break;
+            }
+            sleepUntil(intended);
+            inFlight.acquire();
+
+            RequestSpec spec = scenario.next(workload, ThreadLocalRandom.current());
+            long sent = System.nanoTime();
+            client.sendAsync(request(spec), bodyHandler(spec))
+                    .whenComplete((response, error) -> {
+                        complete(spec, intended, sent, response, error);
+                        inFlight.release();
+                    });
+        }
+
+        if (!inFlight.tryAcquire(maxInFlight, timeout.toSeconds() + 5, TimeUnit.SECONDS)) {
+            System.err.println("WARN: requests still outstanding at the end of the run");
+        }
+    }
+
+    private void runClosed() {
+        try (ExecutorService loops = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < threads; t++) {
+                int index = t;
+                loops.submit(() -> closedLoop(index));
+            }
+        }
+    }
+
+    private void closedLoop(int index) {
+        // Paced loops are staggered across one interval so sends do not come in bursts
+        double interval = rate > 0 ? threads * 1e9 / rate : 0;
+        long offset = (long) (interval * index / threads);
+        for (long k = 0; ; k++) {
+            long intended = interval > 0 ? start + offset + (long) (k * interval) : Math.max(start, System.nanoTime());
+            if (intended >= end) {
+                return;
+            }
+            sleepUntil(intended);
+
+            RequestSpec spec = scenario.next(workload, ThreadLocalRandom.current());
+            long sent = System.nanoTime();
+            try {
+                complete(spec, intended, sent, client.send(request(spec), bodyHandler(spec)), null);
+            } catch (IOException e) {
+                complete(spec, intended, sent, null, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private HttpRequest request(RequestSpec spec) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target.resolve(spec.path()))
+                .timeout(timeout)
+                .header("Accept", accept);
+        if (spec.body() != null) {
+            return builder.header("Content-Type", "application/json")
+                    .method(spec.method(), HttpRequest.BodyPublishers.ofString(spec.body()))
+                    .build();
+        }
+        return builder.method(spec.method(), HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    // Only created item ids are read back; other bodies are drained and dropped
+    private static HttpResponse.BodyHandler<String> bodyHandler(RequestSpec spec) {
+        return spec.label().equals(Workload.CREATE_ITEM)
+                ? HttpResponse.BodyHandlers.ofString()
+                : HttpResponse.BodyHandlers.replacing(null);
+    }
+
+    private void complete(RequestSpec spec, long intended, long sent, HttpResponse<String> response, Throwable error) {
+        long done = System.nanoTime();
+        boolean ok = error == null && response.statusCode() / 100 == 2;
+        if (response != null) {
+            workload.onResponse(spec, response.statusCode(), response.body());
+        }
+        stats.record(spec.label(), intended, sent, done, ok);
+    }
+
+    void report(Path out, String name, double seconds) throws IOException {
+        String run = name + "-" + scenario.id() + "-" + mode + "-" + LocalDateTime.now().format(TIMESTAMP);
+        String prefix = String.join(",", run, target.toString(), scenario.id(), mode,
+                rate > 0 ? String.valueOf(rate) : "", mode.equals("closed") ? String.valueOf(threads) : "");
+        List<String> rows = stats.write(out.resolve(run), prefix, seconds);
+
+        Files.write(out.resolve(run).resolve("summary.csv"),
+                prepend(LatencyStats.CSV_HEADER, rows), StandardCharsets.UTF_8);
+        Path summary = out.resolve("loadgen-summary.csv");
+        if (!Files.exists(summary)) {
+            Files.writeString(summary, LatencyStats.CSV_HEADER + System.lineSeparator(), StandardCharsets.UTF_8);
+        }
+        Files.write(summary, rows, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        System.out.println(LatencyStats.CSV_HEADER);
+        rows.forEach(System.out::println);
+        System.out.println("Spectra: " + out.resolve(run));
+    }
+
+    private static List<String> prepend(String header, List<String> rows) {
+        List<String> lines = new ArrayList<>(rows.size() + 1);
+        lines.add(header);
+        lines.addAll(rows);
+        return lines;
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    static String option(Map<String, String> options, String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+}
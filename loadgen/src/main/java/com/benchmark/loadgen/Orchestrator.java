@@ -0,0 +1,249 @@
+package com.benchmark.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the benchmark matrix end to end. For each variant and scenario it
+ * starts the variant jar with fixed JVM flags, waits for /actuator/health,
+ * runs a warm-up then a measured phase with the load generator while
+ * sampling /actuator/prometheus, stops the variant, and finally writes the
+ * T2/T3 tables (results.md) and results.csv.
+ *
+ * One fresh JVM per cell. The database is shared and not reset: writes of
+ * mixed / heavy_body accumulate across cells.
+ *
+ * Usage: java -cp loadgen.jar com.benchmark.loadgen.Orchestrator
+ *        [--variants A,B,C,D,E] [--scenarios read_heavy,join_filter,mixed,heavy_body]
+ *        [--mode closed --threads 50 | --mode open --rate N] [--warmup 60] [--duration 300]
+ */
+public final class Orchestrator {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    static final String DEFAULT_JVM_FLAGS = "-Xms1g -Xmx1g -XX:+UseG1GC -XX:+AlwaysPreTouch";
+
+    private final Map<String, String> options;
+    private final Path root;
+    private final List<String> jvmFlags;
+    private final Map<String, String> env;
+    private final long warmupSeconds;
+    private final long durationSeconds;
+    private final Duration startupTimeout;
+    private final long sampleMillis;
+    private final TestData data;
+    private final int maxPage;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    private Orchestrator(Map<String, String> options) throws IOException {
+        this.options = options;
+        this.root = Path.of(LoadGenerator.option(options, "root", "."));
+        this.jvmFlags = Arrays.asList(LoadGenerator.option(options, "jvm-flags", DEFAULT_JVM_FLAGS).trim().split("\\s+"));
+        this.env = parseEnv(LoadGenerator.option(options, "env", ""));
+        this.warmupSeconds = Long.parseLong(LoadGenerator.option(options, "warmup", "60"));
+        this.durationSeconds = Long.parseLong(LoadGenerator.option(options, "duration", "300"));
+        this.startupTimeout = Duration.ofSeconds(Long.parseLong(LoadGenerator.option(options, "startup-timeout", "180")));
+        this.sampleMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(LoadGenerator.option(options, "sample", "5")));
+        this.data = TestData.load(root.resolve(LoadGenerator.option(options, "data", "jmeter")));
+        this.maxPage = Integer.parseInt(LoadGenerator.option(options, "max-page", "20"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Orchestrator orchestrator;
+        List<Variant> variants = new ArrayList<>();
+        List<Scenario> scenarios = new ArrayList<>();
+        try {
+            Map<String, String> options = LoadGenerator.parse(args);
+            options.putIfAbsent("mode", "closed");
+            for (String v : LoadGenerator.option(options, "variants", "A,B,C,D,E").split(",")) {
+                variants.add(Variant.parse(v));
+            }
+            for (String s : LoadGenerator.option(options, "scenarios", "read_heavy,join_filter,mixed,heavy_body").split(",")) {
+                scenarios.add(Scenario.parse(s));
+            }
+            orchestrator = new Orchestrator(options);
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("ERROR: " + e.getMessage());
+            System.err.println("Usage: java -cp loadgen.jar com.benchmark.loadgen.Orchestrator"
+                    + " [--variants A,B,C,D,E] [--scenarios read_heavy,join_filter,mixed,heavy_body]"
+                    + " [--mode closed|open] [--threads N] [--rate N] [--warmup s] [--duration s]"
+                    + " [--jvm-flags \"" + DEFAULT_JVM_FLAGS + "\"] [--env KEY=VALUE,...] [--java java]"
+                    + " [--root .] [--startup-timeout s] [--sample s] [--cooldown s]"
+                    + " [--out jmeter/results/orchestrator] (other options are passed to the load generator)");
+            System.exit(2);
+            return;
+        }
+        orchestrator.run(variants, scenarios);
+    }
+
+    private void run(List<Variant> variants, List<Scenario> scenarios) throws IOException, InterruptedException {
+        Path runDir = root.resolve(LoadGenerator.option(options, "out", "jmeter/results/orchestrator"))
+                .resolve(LocalDateTime.now().format(TIMESTAMP));
+        Files.createDirectories(runDir);
+        long cooldown = Long.parseLong(LoadGenerator.option(options, "cooldown", "10"));
+
+        ResultTables tables = new ResultTables();
+        for (Scenario scenario : scenarios) {
+            for (Variant variant : variants) {
+                if (!variant.supports(scenario)) {
+                    System.out.printf("Skipping %s / %s: no writes in this variant%n", variant.module, scenario.id());
+                    continue;
+                }
+                try {
+                    tables.add(runCell(variant, scenario, runDir.resolve(variant.module + "-" + scenario.id())));
+                } catch (IOException | IllegalStateException e) {
+                    // One broken cell (build missing, failed start) must not cost the rest of the matrix
+                    System.err.printf("ERROR: %s / %s: %s%n", variant.module, scenario.id(), e.getMessage());
+                }
+                TimeUnit.SECONDS.sleep(cooldown);
+            }
+        }
+
+        String setup = String.format(Locale.ROOT, "Load: %s, %s; warm-up %d s, measured %d s. JVM: `%s`%s.",
+                LoadGenerator.option(options, "mode", "closed"),
+                options.containsKey("rate") ? options.get("rate") + " req/s" : LoadGenerator.option(options, "threads", "50") + " threads",
+                warmupSeconds, durationSeconds, String.join(" ", jvmFlags),
+                env.isEmpty() ? "" : ", env `" + LoadGenerator.option(options, "env", "") + "`");
+        tables.write(runDir, variants, scenarios, setup);
+        System.out.println(tables.markdown(variants, scenarios, setup));
+        System.out.println("Results: " + runDir);
+    }
+
+    private ResultTables.Cell runCell(Variant variant, Scenario scenario, Path dir)
+            throws IOException, InterruptedException {
+        Files.createDirectories(dir);
+        URI base = URI.create("http://localhost:" + variant.port);
+        if (healthy(base)) {
+            throw new IllegalStateException("port " + variant.port + " already answers; stop the running variant first");
+        }
+
+        System.out.printf("== %s / %s%n", variant.module, scenario.id());
+        Process process = launch(variant, dir.resolve("variant.log"));
+        try {
+            awaitHealthy(base, process);
+            Workload workload = new Workload(data, maxPage);
+
+            if (warmupSeconds > 0) {
+                System.out.printf("   warm-up %d s%n", warmupSeconds);
+                load(base, scenario, warmupSeconds, workload).run();
+            }
+
+            System.out.printf("   measured %d s%n", durationSeconds);
+            ResourceSamples resources = new ResourceSamples(client, base, sampleMillis);
+            resources.start();
+            LoadGenerator measured = load(base, scenario, durationSeconds, workload);
+            measured.run();
+            ResourceSamples.Summary summary = resources.stop();
+            resources.write(dir.resolve("resources.csv"));
+            measured.report(dir, variant.module, durationSeconds);
+
+            Histogram all = measured.stats().responseTimes(LatencyStats.ALL);
+            return new ResultTables.Cell(variant, scenario, all.getTotalCount(),
+                    measured.stats().errors(LatencyStats.ALL), all.getTotalCount() / (double) durationSeconds,
+                    all.getValueAtPercentile(50) / 1000.0, all.getValueAtPercentile(95) / 1000.0,
+                    all.getValueAtPercentile(99) / 1000.0, summary);
+        } finally {
+            stop(process);
+        }
+    }
+
+    /**
+     * A load generator for one phase; the orchestrator splits warm-up and
+     * measurement itself so it can scrape the variant in between.
+     */
+    private LoadGenerator load(URI base, Scenario scenario, long seconds, Workload workload) {
+        Map<String, String> phase = new HashMap<>(options);
+        phase.put("target", base.toString());
+        phase.put("scenario", scenario.id());
+        phase.put("warmup", "0");
+        phase.put("duration", Long.toString(seconds));
+        return new LoadGenerator(phase, workload);
+    }
+
+    private Process launch(Variant variant, Path log) throws IOException {
+        Path jar = variant.jar(root).toAbsolutePath();
+        if (!Files.isRegularFile(jar)) {
+            throw new IOException(jar + " not found; run mvn clean package first");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(LoadGenerator.option(options, "java", "java"));
+        command.addAll(jvmFlags);
+        command.add("-jar");
+        command.add(jar.toString());
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(jar.getParent().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        builder.environment().putAll(env);
+        return builder.start();
+    }
+
+    private void awaitHealthy(URI base, Process process) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + startupTimeout.toNanos();
+        while (!healthy(base)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("exited with code " + process.exitValue() + " during startup");
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("not healthy after " + startupTimeout.toSeconds() + " s");
+            }
+            TimeUnit.SECONDS.sleep(1);
+        }
+    }
+
+    private boolean healthy(URI base) throws InterruptedException {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(base.resolve("/actuator/health"))
+                    .timeout(Duration.ofSeconds(2))
+                    .GET()
+                    .build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // Graceful first so the variants run their shutdown hooks and close the pool
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static Map<String, String> parseEnv(String value) {
+        Map<String, String> env = new HashMap<>();
+        for (String pair : value.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("--env expects KEY=VALUE pairs, got " + pair);
+            }
+            env.put(pair.substring(0, eq).trim(), pair.substring(eq + 1).trim());
+        }
+        return env;
+    }
+}
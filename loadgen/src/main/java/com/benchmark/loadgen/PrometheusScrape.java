@@ -0,0 +1,88 @@
+package com.benchmark.loadgen;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * One read of a variant's /actuator/prometheus text exposition.
+ */
+final class PrometheusScrape {
+
+    private final long nanoTime;
+    private final List<String> lines;
+
+    private PrometheusScrape(long nanoTime, List<String> lines) {
+        this.nanoTime = nanoTime;
+        this.lines = lines;
+    }
+
+    static PrometheusScrape fetch(HttpClient client, URI base) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(base.resolve("/actuator/prometheus"))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET /actuator/prometheus answered " + response.statusCode());
+        }
+        return new PrometheusScrape(System.nanoTime(), response.body().lines().toList());
+    }
+
+    long nanoTime() {
+        return nanoTime;
+    }
+
+    /**
+     * Sum of every series of the metric whose labels contain all the given
+     * fragments (e.g. area="heap"); NaN when no series matches.
+     */
+    double sum(String name, String... labels) {
+        double sum = 0;
+        boolean found = false;
+        for (String line : lines) {
+            if (line.startsWith("#") || !line.startsWith(name)) {
+                continue;
+            }
+            int end = name.length();
+            if (line.length() <= end || (line.charAt(end) != '{' && line.charAt(end) != ' ')) {
+                continue;
+            }
+            if (!containsAll(line, labels)) {
+                continue;
+            }
+            double value = Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+            if (!Double.isNaN(value)) {
+                sum += value;
+                found = true;
+            }
+        }
+        return found ? sum : Double.NaN;
+    }
+
+    /**
+     * The first metric of the list that is present, summed as by {@link #sum}.
+     */
+    double first(String... names) {
+        for (String name : names) {
+            double value = sum(name);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static boolean containsAll(String line, String[] labels) {
+        for (String label : labels) {
+            if (!line.contains(label)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,12 @@
+package com.benchmark.loadgen;
+
+/**
+ * One request to send. label groups latencies per endpoint ("GET /items/{id}"),
+ * body is JSON or null.
+ */
+record RequestSpec(String label, String method, String path, String body) {
+
+    static RequestSpec get(String label, String path) {
+        return new RequestSpec(label, "GET", path, null);
+    }
+}
@@ -0,0 +1,140 @@
+package com.benchmark.loadgen;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Scrapes /actuator/prometheus at the start of the measured phase, every
+ * period during it and at its end. Gauges (CPU, heap, live threads, pool
+ * connections) are averaged over the samples and their peak kept; GC pause
+ * time is a counter, turned into ms of pause per second between samples.
+ */
+final class ResourceSamples {
+
+    private static final double MIB = 1024 * 1024;
+
+    private final HttpClient client;
+    private final URI base;
+    private final long periodMillis;
+    private final List<Sample> samples = new ArrayList<>();
+    private final List<PrometheusScrape> scrapes = new ArrayList<>();
+    private Thread sampler;
+
+    ResourceSamples(HttpClient client, URI base, long periodMillis) {
+        this.client = client;
+        this.base = base;
+        this.periodMillis = periodMillis;
+    }
+
+    /**
+     * One scrape reduced to the values the tables use.
+     */
+    record Sample(double seconds, double cpuPercent, double heapMb, double gcMsPerSecond,
+                  double threads, double poolActive, double poolMax) {
+    }
+
+    /**
+     * Averages and peaks over the measured phase; NaN for a metric the variant does not export.
+     */
+    record Summary(double cpuAvg, double cpuPeak, double heapAvg, double heapPeak,
+                   double gcAvg, double gcPeak, double gcPauses, double gcPauseMs,
+                   double threadsAvg, double threadsPeak, double poolAvg, double poolPeak, double poolMax) {
+    }
+
+    void start() throws IOException, InterruptedException {
+        add(PrometheusScrape.fetch(client, base));
+        sampler = Thread.ofVirtual().name("resource-sampler").start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(periodMillis);
+                    add(PrometheusScrape.fetch(client, base));
+                } catch (InterruptedException e) {
+                    return;
+                } catch (IOException e) {
+                    // A variant saturated by the load may miss a scrape; keep sampling
+                }
+            }
+        });
+    }
+
+    Summary stop() throws IOException, InterruptedException {
+        sampler.interrupt();
+        sampler.join();
+        add(PrometheusScrape.fetch(client, base));
+
+        synchronized (this) {
+            PrometheusScrape before = scrapes.get(0);
+            PrometheusScrape after = scrapes.get(scrapes.size() - 1);
+            return new Summary(
+                    avg(Sample::cpuPercent), peak(Sample::cpuPercent),
+                    avg(Sample::heapMb), peak(Sample::heapMb),
+                    avg(Sample::gcMsPerSecond), peak(Sample::gcMsPerSecond),
+                    after.sum("jvm_gc_pause_seconds_count") - before.sum("jvm_gc_pause_seconds_count"),
+                    (after.sum("jvm_gc_pause_seconds_sum") - before.sum("jvm_gc_pause_seconds_sum")) * 1000,
+                    avg(Sample::threads), peak(Sample::threads),
+                    avg(Sample::poolActive), peak(Sample::poolActive), peak(Sample::poolMax));
+        }
+    }
+
+    synchronized void write(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("Seconds,CpuPercent,HeapMb,GcMsPerSecond,Threads,PoolActive,PoolMax");
+        for (Sample s : samples) {
+            lines.add(String.format(Locale.ROOT, "%.1f,%.1f,%.1f,%.2f,%.0f,%.0f,%.0f",
+                    s.seconds(), s.cpuPercent(), s.heapMb(), s.gcMsPerSecond(), s.threads(), s.poolActive(), s.poolMax()));
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    private synchronized void add(PrometheusScrape scrape) {
+        // No rate yet on the first scrape
+        double gcMsPerSecond = Double.NaN;
+        if (!scrapes.isEmpty()) {
+            PrometheusScrape previous = scrapes.get(scrapes.size() - 1);
+            double seconds = (scrape.nanoTime() - previous.nanoTime()) / 1e9;
+            double pause = scrape.sum("jvm_gc_pause_seconds_sum") - previous.sum("jvm_gc_pause_seconds_sum");
+            gcMsPerSecond = Double.isNaN(pause) ? Double.NaN : pause * 1000 / seconds;
+        }
+        double seconds = scrapes.isEmpty() ? 0 : (scrape.nanoTime() - scrapes.get(0).nanoTime()) / 1e9;
+        scrapes.add(scrape);
+        samples.add(new Sample(
+                seconds,
+                scrape.sum("process_cpu_usage") * 100,
+                scrape.sum("jvm_memory_used_bytes", "area=\"heap\"") / MIB,
+                gcMsPerSecond,
+                scrape.sum("jvm_threads_live_threads"),
+                scrape.first("hikaricp_connections_active", "r2dbc_pool_acquired_connections"),
+                scrape.first("hikaricp_connections_max", "r2dbc_pool_max_allocated_connections")));
+    }
+
+    private double avg(ToDoubleFunction<Sample> metric) {
+        double sum = 0;
+        int count = 0;
+        for (Sample s : values(metric)) {
+            sum += metric.applyAsDouble(s);
+            count++;
+        }
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    private double peak(ToDoubleFunction<Sample> metric) {
+        double peak = Double.NaN;
+        for (Sample s : values(metric)) {
+            double value = metric.applyAsDouble(s);
+            peak = Double.isNaN(peak) ? value : Math.max(peak, value);
+        }
+        return peak;
+    }
+
+    private List<Sample> values(ToDoubleFunction<Sample> metric) {
+        return samples.stream().filter(s -> !Double.isNaN(metric.applyAsDouble(s))).toList();
+    }
+}
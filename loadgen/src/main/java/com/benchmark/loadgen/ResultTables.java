@@ -0,0 +1,132 @@
+package com.benchmark.loadgen;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The orchestrator's results: one CSV row per variant and scenario, and the
+ * T2 (latency/throughput) and T3 (JVM resources) tables of
+ * BENCHMARK_TABLES_FILLED.md in Markdown.
+ */
+final class ResultTables {
+
+    static final String CSV_HEADER = "Variant,Scenario,Samples,Errors,ErrorRate,Throughput,P50,P95,P99,"
+            + "CpuAvg,CpuPeak,HeapAvgMb,HeapPeakMb,GcMsPerSecAvg,GcMsPerSecPeak,GcPauses,GcPauseMs,"
+            + "ThreadsAvg,ThreadsPeak,PoolActiveAvg,PoolActivePeak,PoolMax";
+
+    /**
+     * Latencies in ms, measured phase only.
+     */
+    record Cell(Variant variant, Scenario scenario, long samples, long errors, double throughput,
+                double p50, double p95, double p99, ResourceSamples.Summary resources) {
+
+        double errorRate() {
+            return 100.0 * errors / Math.max(1, samples);
+        }
+    }
+
+    private final Map<String, Cell> cells = new LinkedHashMap<>();
+
+    void add(Cell cell) {
+        cells.put(key(cell.variant(), cell.scenario()), cell);
+    }
+
+    private Cell get(Variant variant, Scenario scenario) {
+        return cells.get(key(variant, scenario));
+    }
+
+    private static String key(Variant variant, Scenario scenario) {
+        return variant.name() + "/" + scenario.id();
+    }
+
+    /**
+     * Writes results.csv and results.md into the run directory.
+     *
+     * @param setup one line describing the load and JVM settings, printed above the tables
+     */
+    void write(Path dir, List<Variant> variants, List<Scenario> scenarios, String setup) throws IOException {
+        List<String> csv = new ArrayList<>();
+        csv.add(CSV_HEADER);
+        for (Cell c : cells.values()) {
+            ResourceSamples.Summary r = c.resources();
+            csv.add(String.join(",", c.variant().name(), c.scenario().id(),
+                    Long.toString(c.samples()), Long.toString(c.errors()), plain(c.errorRate(), 2), plain(c.throughput(), 2),
+                    plain(c.p50(), 3), plain(c.p95(), 3), plain(c.p99(), 3),
+                    plain(r.cpuAvg(), 1), plain(r.cpuPeak(), 1), plain(r.heapAvg(), 0), plain(r.heapPeak(), 0),
+                    plain(r.gcAvg(), 2), plain(r.gcPeak(), 2), plain(r.gcPauses(), 0), plain(r.gcPauseMs(), 1),
+                    plain(r.threadsAvg(), 0), plain(r.threadsPeak(), 0),
+                    plain(r.poolAvg(), 1), plain(r.poolPeak(), 0), plain(r.poolMax(), 0)));
+        }
+        Files.write(dir.resolve("results.csv"), csv, StandardCharsets.UTF_8);
+        Files.writeString(dir.resolve("results.md"), markdown(variants, scenarios, setup), StandardCharsets.UTF_8);
+    }
+
+    String markdown(List<Variant> variants, List<Scenario> scenarios, String setup) {
+        StringBuilder md = new StringBuilder();
+        md.append("# Benchmark results\n\n").append(setup).append("\n\n");
+
+        md.append("## T2 — Results per scenario and variant\n\n| Scenario | Measure |");
+        variants.forEach(v -> md.append(' ').append(v.label()).append(" |"));
+        md.append("\n|----------|---------|");
+        variants.forEach(v -> md.append("---|"));
+        md.append('\n');
+        for (Scenario s : scenarios) {
+            row(md, s, "RPS", variants, c -> shown(c.throughput(), 2));
+            row(md, s, "p50 (ms)", variants, c -> shown(c.p50(), 2));
+            row(md, s, "p95 (ms)", variants, c -> shown(c.p95(), 2));
+            row(md, s, "p99 (ms)", variants, c -> shown(c.p99(), 2));
+            row(md, s, "Err %", variants, c -> shown(c.errorRate(), 2) + "%");
+        }
+
+        md.append("\n## T3 — JVM resources (Prometheus)\n");
+        for (Scenario s : scenarios) {
+            md.append("\n### ").append(s.id()).append("\n\n")
+                    .append("| Variant | CPU proc. (%) avg/peak | Heap (MB) avg/peak | GC time (ms/s) avg/peak"
+                            + " | GC pauses (count / total ms) | Threads avg/peak | Pool (active avg/peak / max) |\n")
+                    .append("|---------|---|---|---|---|---|---|\n");
+            for (Variant v : variants) {
+                Cell c = get(v, s);
+                if (c == null) {
+                    md.append("| ").append(v.label()).append(" | n/a | n/a | n/a | n/a | n/a | n/a |\n");
+                    continue;
+                }
+                ResourceSamples.Summary r = c.resources();
+                md.append("| ").append(v.label())
+                        .append(" | ").append(shown(r.cpuAvg(), 1)).append('/').append(shown(r.cpuPeak(), 1)).append('%')
+                        .append(" | ").append(shown(r.heapAvg(), 0)).append('/').append(shown(r.heapPeak(), 0)).append(" MB")
+                        .append(" | ").append(shown(r.gcAvg(), 2)).append('/').append(shown(r.gcPeak(), 2)).append(" ms/s")
+                        .append(" | ").append(shown(r.gcPauses(), 0)).append(" / ").append(shown(r.gcPauseMs(), 0)).append(" ms")
+                        .append(" | ").append(shown(r.threadsAvg(), 0)).append('/').append(shown(r.threadsPeak(), 0))
+                        .append(" | ").append(shown(r.poolAvg(), 1)).append('/').append(shown(r.poolPeak(), 0))
+                        .append(" / ").append(shown(r.poolMax(), 0)).append(" |\n");
+            }
+        }
+        return md.toString();
+    }
+
+    private void row(StringBuilder md, Scenario s, String measure, List<Variant> variants,
+                     Function<Cell, String> value) {
+        md.append("| ").append(s.id()).append(" | ").append(measure).append(" |");
+        for (Variant v : variants) {
+            Cell c = get(v, s);
+            md.append(' ').append(c == null ? "n/a" : value.apply(c)).append(" |");
+        }
+        md.append('\n');
+    }
+
+    private static String plain(double value, int digits) {
+        return Double.isNaN(value) ? "" : String.format(Locale.ROOT, "%." + digits + "f", value);
+    }
+
+    private static String shown(double value, int digits) {
+        return Double.isNaN(value) ? "n/a" : String.format(Locale.ROOT, "%." + digits + "f", value);
+    }
+}
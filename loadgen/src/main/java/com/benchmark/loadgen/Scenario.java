@@ -0,0 +1,109 @@
+package com.benchmark.loadgen;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The documented load mixes (README "Load Scenarios", BENCHMARK_GUIDE.md),
+ * drawn per request from a uniform roll in [0, 100).
+ */
+enum Scenario {
+
+    /**
+     * 50% GET /items, 20% GET /items?categoryId, 20% GET /categories/{id}/items, 10% GET /categories.
+     */
+    READ_HEAVY {
+        @Override
+        RequestSpec next(Workload w, ThreadLocalRandom random) {
+            int roll = random.nextInt(100);
+            if (roll < 50) {
+                return RequestSpec.get("GET /items", "/items?page=" + w.page(random) + "&size=50");
+            }
+            if (roll < 70) {
+                return RequestSpec.get("GET /items?categoryId",
+                        "/items?categoryId=" + w.categoryId(random) + "&page=" + w.page(random) + "&size=20");
+            }
+            if (roll < 90) {
+                return RequestSpec.get("GET /categories/{id}/items",
+                        "/categories/" + w.categoryId(random) + "/items?page=" + w.page(random) + "&size=20");
+            }
+            return RequestSpec.get("GET /categories", "/categories?page=" + w.page(random) + "&size=20");
+        }
+    },
+
+    /**
+     * 70% GET /items?categoryId, 30% GET /items/{id}.
+     */
+    JOIN_FILTER {
+        @Override
+        RequestSpec next(Workload w, ThreadLocalRandom random) {
+            if (random.nextInt(100) < 70) {
+                return RequestSpec.get("GET /items?categoryId",
+                        "/items?categoryId=" + w.categoryId(random) + "&page=" + w.page(random) + "&size=20");
+            }
+            return RequestSpec.get("GET /items/{id}", "/items/" + w.itemId(random));
+        }
+    },
+
+    /**
+     * 40% GET /items, 20% POST /items, 10% PUT /items/{id}, 10% DELETE /items/{id},
+     * 10% POST /categories, 10% PUT /categories/{id}.
+     */
+    MIXED {
+        @Override
+        RequestSpec next(Workload w, ThreadLocalRandom random) {
+            int roll = random.nextInt(100);
+            if (roll < 40) {
+                return RequestSpec.get("GET /items", "/items?page=" + w.page(random) + "&size=20");
+            }
+            if (roll < 60) {
+                return new RequestSpec(Workload.CREATE_ITEM, "POST", "/items", w.itemPayload(random, 0));
+            }
+            if (roll < 70) {
+                return new RequestSpec("PUT /items/{id}", "PUT", "/items/" + w.itemId(random),
+                        w.itemPayload(random, 0));
+            }
+            if (roll < 80) {
+                return new RequestSpec("DELETE /items/{id}", "DELETE", "/items/" + w.deletableItemId(random), null);
+            }
+            if (roll < 90) {
+                return new RequestSpec("POST /categories", "POST", "/categories", w.categoryPayload(random));
+            }
+            return new RequestSpec("PUT /categories/{id}", "PUT", "/categories/" + w.categoryId(random),
+                    w.categoryPayload(random));
+        }
+    },
+
+    /**
+     * 50% POST /items, 50% PUT /items/{id}, 5 KB bodies.
+     */
+    HEAVY_BODY {
+        @Override
+        RequestSpec next(Workload w, ThreadLocalRandom random) {
+            if (random.nextBoolean()) {
+                return new RequestSpec(Workload.CREATE_ITEM, "POST", "/items", w.itemPayload(random, HEAVY_BODY_BYTES));
+            }
+            return new RequestSpec("PUT /items/{id}", "PUT", "/items/" + w.itemId(random),
+                    w.itemPayload(random, HEAVY_BODY_BYTES));
+        }
+    };
+
+    static final int HEAVY_BODY_BYTES = 5 * 1024;
+
+    abstract RequestSpec next(Workload w, ThreadLocalRandom random);
+
+    /**
+     * Whether the mix creates, updates or deletes rows.
+     */
+    boolean writes() {
+        return this == MIXED || this == HEAVY_BODY;
+    }
+
+    static Scenario parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    String id() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,63 @@
+package com.benchmark.loadgen;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The JMeter CSV data sets (jmeter/*.csv): one column with a header line,
+ * payloads as quoted CSV fields with doubled inner quotes.
+ */
+final class TestData {
+
+    final long[] itemIds;
+    final long[] categoryIds;
+    final String[] itemPayloads;
+    final String[] categoryPayloads;
+
+    private TestData(long[] itemIds, long[] categoryIds, String[] itemPayloads, String[] categoryPayloads) {
+        this.itemIds = itemIds;
+        this.categoryIds = categoryIds;
+        this.itemPayloads = itemPayloads;
+        this.categoryPayloads = categoryPayloads;
+    }
+
+    static TestData load(Path dir) throws IOException {
+        return new TestData(
+                ids(dir.resolve("item_ids.csv")),
+                ids(dir.resolve("category_ids.csv")),
+                column(dir.resolve("item_payloads_1kb.csv")),
+                column(dir.resolve("category_payloads.csv")));
+    }
+
+    private static long[] ids(Path file) throws IOException {
+        String[] values = column(file);
+        long[] ids = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            ids[i] = Long.parseLong(values[i].trim());
+        }
+        return ids;
+    }
+
+    private static String[] column(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        String[] values = lines.stream()
+                .skip(1)
+                .filter(line -> !line.isBlank())
+                .map(TestData::unquote)
+                .toArray(String[]::new);
+        if (values.length == 0) {
+            throw new IOException("No rows in " + file);
+        }
+        return values;
+    }
+
+    private static String unquote(String field) {
+        if (field.length() >= 2 && field.startsWith("\"") && field.endsWith("\"")) {
+            return field.substring(1, field.length() - 1).replace("\"\"", "\"");
+        }
+        return field;
+    }
+}
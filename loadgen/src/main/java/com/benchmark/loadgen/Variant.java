@@ -0,0 +1,53 @@
+package com.benchmark.loadgen;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * The five variants as the orchestrator launches them: module, executable
+ * jar built by mvn package, and the port the variant listens on.
+ */
+enum Variant {
+
+    A("variant-a-jaxrs", 8081, "Jersey"),
+    B("variant-b-jdbc", 8084, "Jersey + JDBC"),
+    C("variant-c-springmvc", 8082, "@RestController"),
+    D("variant-d-springdata", 8083, "Spring Data REST"),
+    E("variant-e-webflux", 8085, "WebFlux + R2DBC");
+
+    private static final String VERSION = "1.0.0-SNAPSHOT";
+
+    final String module;
+    final int port;
+    final String title;
+
+    Variant(String module, int port, String title) {
+        this.module = module;
+        this.port = port;
+        this.title = title;
+    }
+
+    /**
+     * A and B put their dependencies in target/lib next to the jar (Class-Path
+     * manifest entries); C, D and E are Spring Boot fat jars.
+     */
+    Path jar(Path root) {
+        return root.resolve(module).resolve("target").resolve(module + "-" + VERSION + ".jar");
+    }
+
+    /**
+     * B serves reads only; D takes HAL association links in write bodies,
+     * which the payload data sets do not have.
+     */
+    boolean supports(Scenario scenario) {
+        return !scenario.writes() || (this != B && this != D);
+    }
+
+    String label() {
+        return name() + " : " + title;
+    }
+
+    static Variant parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
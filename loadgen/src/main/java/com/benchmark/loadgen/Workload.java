@@ -0,0 +1,90 @@
+package com.benchmark.loadgen;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Request parameters drawn from the test data, plus the little state writes
+ * need: SKUs and category codes are made unique per request (the CSV values
+ * repeat and would turn most writes into 409s), and DELETE targets items this
+ * run created, so it does not keep hitting ids that are already gone.
+ */
+final class Workload {
+
+    static final String CREATE_ITEM = "POST /items";
+
+    private static final Pattern SKU = Pattern.compile("\"sku\"\\s*:\\s*\"[^\"]*\"");
+    private static final Pattern CODE = Pattern.compile("\"code\"\\s*:\\s*\"[^\"]*\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final TestData data;
+    private final int maxPage;
+    // Keeps keys unique across runs against the same database
+    private final String runTag = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Queue<Long> created = new ConcurrentLinkedQueue<>();
+
+    Workload(TestData data, int maxPage) {
+        this.data = data;
+        this.maxPage = maxPage;
+    }
+
+    long itemId(ThreadLocalRandom random) {
+        return data.itemIds[random.nextInt(data.itemIds.length)];
+    }
+
+    long categoryId(ThreadLocalRandom random) {
+        return data.categoryIds[random.nextInt(data.categoryIds.length)];
+    }
+
+    int page(ThreadLocalRandom random) {
+        return random.nextInt(maxPage);
+    }
+
+    /**
+     * @param padTo minimum body size in bytes, reached with insignificant
+     *              whitespace so every variant's DTO still binds it; 0 for none
+     */
+    String itemPayload(ThreadLocalRandom random, int padTo) {
+        String payload = replace(SKU, data.itemPayloads[random.nextInt(data.itemPayloads.length)],
+                "\"sku\": \"" + uniqueKey() + "\"");
+        int missing = padTo - payload.length();
+        if (missing <= 0) {
+            return payload;
+        }
+        int end = payload.lastIndexOf('}');
+        return payload.substring(0, end) + " ".repeat(missing) + payload.substring(end);
+    }
+
+    String categoryPayload(ThreadLocalRandom random) {
+        return replace(CODE, data.categoryPayloads[random.nextInt(data.categoryPayloads.length)],
+                "\"code\": \"" + uniqueKey() + "\"");
+    }
+
+    long deletableItemId(ThreadLocalRandom random) {
+        Long id = created.poll();
+        return id != null ? id : itemId(random);
+    }
+
+    void onResponse(RequestSpec request, int status, String body) {
+        if (request.label().equals(CREATE_ITEM) && status / 100 == 2 && body != null) {
+            Matcher id = ID.matcher(body);
+            if (id.find()) {
+                created.add(Long.parseLong(id.group(1)));
+            }
+        }
+    }
+
+    // At most 2 + 8 + 1 + 13 characters: fits category code (32) and SKU (64)
+    private String uniqueKey() {
+        return "LG" + runTag + "-" + Long.toString(sequence.incrementAndGet(), 36);
+    }
+
+    private static String replace(Pattern field, String payload, String replacement) {
+        return field.matcher(payload).replaceFirst(Matcher.quoteReplacement(replacement));
+    }
+}
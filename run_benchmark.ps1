@@ -4,7 +4,7 @@
 
 param(
     [Parameter(Mandatory=$true)]
-    [ValidateSet('A', 'C', 'D')]
+    [ValidateSet('A', 'B', 'C', 'D', 'E')]
     [string]$variant,
     
     [Parameter(Mandatory=$true)]
@@ -19,8 +19,10 @@ param(
 # Set port based on variant
 $port = switch ($variant) {
     'A' { 8081 }
+    'B' { 8084 }
     'C' { 8082 }
     'D' { 8083 }
+    'E' { 8085 }
 }
 
 # Set test plan based on scenario
@@ -112,18 +112,26 @@ $allOk = $true
 # Check JARs
 Write-Host "      Checking built artifacts..." -ForegroundColor Gray
 $jarA = Test-Path "variant-a-jaxrs\target\variant-a-jaxrs-1.0.0-SNAPSHOT.jar"
+$jarB = Test-Path "variant-b-jdbc\target\variant-b-jdbc-1.0.0-SNAPSHOT.jar"
 $jarC = Test-Path "variant-c-springmvc\target\variant-c-springmvc-1.0.0-SNAPSHOT.jar"
 $jarD = Test-Path "variant-d-springdata\target\variant-d-springdata-1.0.0-SNAPSHOT.jar"
+$jarE = Test-Path "variant-e-webflux\target\variant-e-webflux-1.0.0-SNAPSHOT.jar"
 
 if ($jarA) { Write-Host "        [OK] Variant A JAR exists" -ForegroundColor Green }
 else { Write-Host "        [MISSING] Variant A JAR" -ForegroundColor Red; $allOk = $false }
 
+if ($jarB) { Write-Host "        [OK] Variant B JAR exists" -ForegroundColor Green }
+else { Write-Host "        [MISSING] Variant B JAR" -ForegroundColor Red; $allOk = $false }
+
 if ($jarC) { Write-Host "        [OK] Variant C JAR exists" -ForegroundColor Green }
 else { Write-Host "        [MISSING] Variant C JAR" -ForegroundColor Red; $allOk = $false }
 
 if ($jarD) { Write-Host "        [OK] Variant D JAR exists" -ForegroundColor Green }
 else { Write-Host "        [MISSING] Variant D JAR" -ForegroundColor Red; $allOk = $false }
 
+if ($jarE) { Write-Host "        [OK] Variant E JAR exists" -ForegroundColor Green }
+else { Write-Host "        [MISSING] Variant E JAR" -ForegroundColor Red; $allOk = $false }
+
 # Check Docker services
 Write-Host "      Checking Docker services..." -ForegroundColor Gray
 try {
@@ -162,8 +170,10 @@ if ($allOk) {
     Write-Host "`nNext Steps:" -ForegroundColor Yellow
     Write-Host "  1. Start a variant:" -ForegroundColor White
     Write-Host "     Variant A (JAX-RS):      java -jar variant-a-jaxrs\target\variant-a-jaxrs-1.0.0-SNAPSHOT.jar" -ForegroundColor Gray
+    Write-Host "     Variant B (JDBC):        java -jar variant-b-jdbc\target\variant-b-jdbc-1.0.0-SNAPSHOT.jar" -ForegroundColor Gray
     Write-Host "     Variant C (Spring MVC):  mvn -pl variant-c-springmvc spring-boot:run" -ForegroundColor Gray
     Write-Host "     Variant D (Spring Data): mvn -pl variant-d-springdata spring-boot:run" -ForegroundColor Gray
+    Write-Host "     Variant E (WebFlux):     mvn -pl variant-e-webflux spring-boot:run" -ForegroundColor Gray
     
     Write-Host "`n  2. Access monitoring:" -ForegroundColor White
     Write-Host "     Grafana:    http://localhost:3000 (admin/admin)" -ForegroundColor Gray
@@ -172,8 +182,10 @@ if ($allOk) {
     
     Write-Host "`n  3. Test endpoints:" -ForegroundColor White
     Write-Host "     curl http://localhost:8081/actuator/health  # Variant A" -ForegroundColor Gray
+    Write-Host "     curl http://localhost:8084/actuator/health  # Variant B" -ForegroundColor Gray
     Write-Host "     curl http://localhost:8082/actuator/health  # Variant C" -ForegroundColor Gray
     Write-Host "     curl http://localhost:8083/actuator/health  # Variant D" -ForegroundColor Gray
+    Write-Host "     curl http://localhost:8085/actuator/health  # Variant E" -ForegroundColor Gray
     
     Write-Host "`n  4. Run load tests:" -ForegroundColor White
     Write-Host "     cd jmeter" -ForegroundColor Gray
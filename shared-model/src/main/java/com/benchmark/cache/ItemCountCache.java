@@ -0,0 +1,121 @@
+package com.benchmark.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches the global and per-category item counts used for page totals,
+ * so list endpoints do not run SELECT COUNT(*) before every page query.
+ *
+ * Writes that go through the API adjust cached counts in place; the TTL
+ * bounds drift from rows written elsewhere (psql, another instance). A count
+ * loaded while such a write was in flight is not stored, as in ResponseCache:
+ * the load takes a write stamp first and only puts if no write came since.
+ */
+public class ItemCountCache {
+
+    private static final Long ALL_ITEMS = -1L;
+
+    private final ConcurrentHashMap<Long, Entry> counts = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final long ttlNanos;
+
+    public ItemCountCache(long ttlSeconds) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    public long countAll(LongSupplier loader) {
+        return get(ALL_ITEMS, loader);
+    }
+
+    public long countByCategory(Long categoryId, LongSupplier loader) {
+        return get(categoryId, loader);
+    }
+
+    public void itemAdded(Long categoryId) {
+        adjust(ALL_ITEMS, 1);
+        adjust(categoryId, 1);
+    }
+
+    public void itemRemoved(Long categoryId) {
+        adjust(ALL_ITEMS, -1);
+        adjust(categoryId, -1);
+    }
+
+    public void itemMoved(Long fromCategoryId, Long toCategoryId) {
+        if (fromCategoryId != null && fromCategoryId.equals(toCategoryId)) {
+            return;
+        }
+        adjust(fromCategoryId, -1);
+        adjust(toCategoryId, 1);
+    }
+
+    /**
+     * A category delete cascades to an unknown number of items,
+     * so drop both affected counts instead of adjusting them.
+     */
+    public void categoryRemoved(Long categoryId) {
+        writes.incrementAndGet();
+        counts.remove(categoryId);
+        counts.remove(ALL_ITEMS);
+    }
+
+    public void clear() {
+        writes.incrementAndGet();
+        counts.clear();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    private long get(Long key, LongSupplier loader) {
+        long now = System.nanoTime();
+        Entry entry = counts.get(key);
+        if (entry != null && now - entry.loadedAt < ttlNanos) {
+            hits.increment();
+            return entry.count.get();
+        }
+
+        misses.increment();
+        long stamp = writes.get();
+        long value = loader.getAsLong();
+        if (writes.get() != stamp) {
+            return value;
+        }
+        Entry loaded = new Entry(new AtomicLong(value), now);
+        counts.put(key, loaded);
+        // A write that committed meanwhile may have adjusted the previous entry
+        if (writes.get() != stamp) {
+            counts.remove(key, loaded);
+        }
+        return value;
+    }
+
+    private void adjust(Long key, long delta) {
+        if (key == null) {
+            return;
+        }
+        writes.incrementAndGet();
+        Entry entry = counts.get(key);
+        if (entry != null) {
+            entry.count.addAndGet(delta);
+        }
+    }
+
+    private record Entry(AtomicLong count, long loadedAt) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.benchmark.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoded bodies of hot item list pages (GET /items, /categories/{id}/items),
+ * plain and gzip, so a repeated page skips the queries, the mapping and the
+ * encoding. Bounded by total bytes with Caffeine's W-TinyLFU policy.
+ *
+ * Entries are keyed by the category they list (null when the page spans all
+ * categories). After a committed write touching a category, that category's
+ * pages and all cross-category pages are removed. A page rendered while such
+ * a write was in flight is not stored: callers take a {@link #stamp()}
+ * before loading and pass it to {@link #put}.
+ */
+public class ResponseCache {
+
+    private static final Pattern CATEGORY_ITEMS = Pattern.compile("categories/([^/]+)/items");
+
+    private final Cache<Key, Entry> cache;
+    private final AtomicLong writes = new AtomicLong();
+
+    public ResponseCache(long maxBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Entry entry) -> entry.weight())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param categoryId the listed category, or null for a page over all categories
+     * @param request    path, canonical query and anything else the body depends on (Accept)
+     */
+    public record Key(Long categoryId, String request) {
+    }
+
+    public record Entry(byte[] body, byte[] gzip, String contentType, String etag) {
+
+        int weight() {
+            return body.length + gzip.length;
+        }
+    }
+
+    /**
+     * Key for a GET on a cacheable list endpoint, or null for any other request:
+     * items (with or without categoryId) and categories/{id}/items, path given
+     * without the leading slash. Query parameters are sorted so their order
+     * does not split entries; the Accept header selects the representation.
+     */
+    public static Key keyFor(String path, Map<String, ? extends List<String>> query, String accept) {
+        String categoryParam;
+        Matcher byCategory = CATEGORY_ITEMS.matcher(path);
+        if (path.equals("items")) {
+            List<String> values = query.get("categoryId");
+            categoryParam = values == null || values.isEmpty() ? null : values.get(0);
+        } else if (byCategory.matches()) {
+            categoryParam = byCategory.group(1);
+        } else {
+            return null;
+        }
+        Long categoryId = categoryParam != null ? parseId(categoryParam) : null;
+        if (categoryParam != null && categoryId == null) {
+            // 400 from the endpoint, nothing to cache
+            return null;
+        }
+
+        StringBuilder request = new StringBuilder(path);
+        new TreeMap<>(query).forEach((name, values) -> {
+            for (String value : values) {
+                request.append('\n').append(name).append('=').append(value);
+            }
+        });
+        request.append("\nAccept: ").append(accept);
+        return new Key(categoryId, request.toString());
+    }
+
+    public Entry get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Write counter to read before loading a page and hand back to {@link #put}.
+     */
+    public long stamp() {
+        return writes.get();
+    }
+
+    public void put(Key key, long stamp, byte[] body, String contentType, String etag) {
+        if (writes.get() != stamp) {
+            return;
+        }
+        cache.put(key, new Entry(body, gzip(body), contentType, etag));
+        // A write that committed meanwhile may have scanned before this put
+        if (writes.get() != stamp) {
+            cache.invalidate(key);
+        }
+    }
+
+    public void categoriesChanged(Long... categoryIds) {
+        categoriesChanged(Arrays.asList(categoryIds));
+    }
+
+    public void categoriesChanged(Collection<Long> categoryIds) {
+        Set<Long> ids = categoryIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        writes.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.categoryId() == null || ids.contains(key.categoryId()));
+    }
+
+    public void clear() {
+        writes.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * The underlying cache, for hit/miss and eviction metrics.
+     */
+    public Cache<Key, Entry> cache() {
+        return cache;
+    }
+
+    public long bytesHeld() {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
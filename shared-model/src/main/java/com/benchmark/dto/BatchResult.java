@@ -0,0 +1,65 @@
+package com.benchmark.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.ConstraintViolation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of a batch write: one row per submitted element, in request order,
+ * carrying an HTTP-like status (201/200 written, 400/404/409 rejected).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResult {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<Row> results;
+
+    public static BatchResult of(List<Row> results) {
+        int succeeded = (int) results.stream().filter(Row::isSuccess).count();
+        return new BatchResult(results.size(), succeeded, results.size() - succeeded, results);
+    }
+
+    public static Row ok(int index, int status, Long id) {
+        return new Row(index, status, id, null);
+    }
+
+    public static Row error(int index, int status, String error) {
+        return new Row(index, status, null, error);
+    }
+
+    /**
+     * Compact "field: message" list of Bean Validation failures, stable across runs.
+     */
+    public static String describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.joining(", "));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Row {
+        private int index;
+        private int status;
+        private Long id;
+        private String error;
+
+        boolean isSuccess() {
+            return status < 300;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.benchmark.dto;
 
+import com.benchmark.proto.CategoryFields;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -13,7 +14,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class CategoryDTO {
+public class CategoryDTO implements CategoryFields {
     
     private Long id;
     
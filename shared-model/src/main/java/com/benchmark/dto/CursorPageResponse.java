@@ -0,0 +1,43 @@
+package com.benchmark.dto;
+
+import com.benchmark.proto.CursorPageFields;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> implements CursorPageFields {
+    
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean last;
+    
+    /**
+     * Builds a keyset page from a result fetched with size + 1 rows:
+     * the extra row only signals that another page exists and is dropped.
+     * Callers reject sizes outside KeysetCursor.isValidSize with 400 first.
+     */
+    public static <T> CursorPageResponse<T> of(List<T> rows, int size, ToLongFunction<T> idExtractor) {
+        if (size < 1) {
+            throw new IllegalArgumentException(KeysetCursor.INVALID_SIZE);
+        }
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext
+                ? KeysetCursor.encode(idExtractor.applyAsLong(content.get(content.size() - 1)))
+                : null;
+        
+        return new CursorPageResponse<>(
+            content,
+            size,
+            nextCursor,
+            !hasNext
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package com.benchmark.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row counts of one bulk import. received = invalid + unknownCategory
+ * + duplicates + inserted + updated.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+
+    private long received;
+    private long invalid;
+    private long unknownCategory;
+    // Earlier rows with the same SKU in the input; the last one wins
+    private long duplicates;
+    private long inserted;
+    private long updated;
+    private long elapsedMs;
+    private long rowsPerSecond;
+}
@@ -1,5 +1,6 @@
 package com.benchmark.dto;
 
+import com.benchmark.proto.ItemFields;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -13,7 +14,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class ItemDTO {
+public class ItemDTO implements ItemFields {
     
     private Long id;
     
@@ -0,0 +1,54 @@
+package com.benchmark.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset (seek) pagination over item ids.
+ * Encodes the last id of a page so the next page can be read with
+ * "WHERE id > :afterId ORDER BY id" instead of an OFFSET scan.
+ * A plain numeric id is also accepted so clients can start from "?after=0".
+ */
+public final class KeysetCursor {
+
+    /** Largest keyset page a client may ask for, as Variant D's max-page-size */
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final String INVALID_SIZE = "size must be between 1 and " + MAX_PAGE_SIZE;
+
+    private static final String PREFIX = "id:";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * A keyset page reads size + 1 rows and takes its cursor from the last
+     * one kept, so it needs at least one row.
+     */
+    public static boolean isValidSize(int size) {
+        return size >= 1 && size <= MAX_PAGE_SIZE;
+    }
+
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            throw new IllegalArgumentException("Cursor must not be empty");
+        }
+        try {
+            if (cursor.chars().allMatch(Character::isDigit)) {
+                return Long.parseLong(cursor);
+            }
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and Base64 errors both land here
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
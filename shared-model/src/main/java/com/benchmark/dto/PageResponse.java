@@ -1,5 +1,6 @@
 package com.benchmark.dto;
 
+import com.benchmark.proto.PageFields;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,23 +10,52 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class PageResponse<T> {
+public class PageResponse<T> implements PageFields {
     
     private List<T> content;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
-    private boolean first;
+    // Null in slice mode (withTotal=false) and then omitted from the JSON
+    private Long totalElements;
+    private Integer totalPages;
+    private Boolean hasNext;
     private boolean last;
+    private boolean first;
+    
+    public static <T> PageResponse<T> of(List<T> content, int page, int size, long totalElements) {
+        int totalPages = (int) Math.ceil((double) totalElements / size);
+        boolean last = page >= totalPages - 1;
+        boolean first = page == 0;
+        
+        return new PageResponse<>(
+            content,
+            page,
+            size,
+            totalElements,
+            totalPages,
+            null,
+            last,
+            first
+        );
+    }
     
-    public PageResponse(List<T> content, int page, int size, long totalElements) {
-        this.content = content;
-        this.page = page;
-        this.size = size;
-        this.totalElements = totalElements;
-        this.totalPages = (int) Math.ceil((double) totalElements / size);
-        this.first = page == 0;
-        this.last = page >= totalPages - 1;
+    /**
+     * Slice-style page without a total: built from a result fetched with
+     * size + 1 rows, where the extra row only signals that a next page exists.
+     */
+    public static <T> PageResponse<T> slice(List<T> rows, int page, int size) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        
+        return new PageResponse<>(
+            content,
+            page,
+            size,
+            null,
+            null,
+            hasNext,
+            !hasNext,
+            page == 0
+        );
     }
 }
@@ -0,0 +1,31 @@
+package com.benchmark.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of PATCH /items/{id}/stock: a signed change to the item's stock.
+ * The response echoes it with the item id and, on a durable ack, the stock
+ * after the flush that applied (or, on 409, rejected) it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockDelta {
+
+    private Long itemId;
+
+    // Bounded so a flush's net delta per item stays far from int overflow
+    @NotNull
+    @Min(-1_000_000)
+    @Max(1_000_000)
+    private Integer delta;
+
+    private Integer stock;
+}
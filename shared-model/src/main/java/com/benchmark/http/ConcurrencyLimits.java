@@ -0,0 +1,58 @@
+package com.benchmark.http;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One AdaptiveLimiter per endpoint class, so a burst of list pages cannot
+ * starve single-row reads or writes. Only the item and category routes are
+ * limited; actuator and metrics endpoints always pass.
+ */
+public class ConcurrencyLimits {
+
+    public static final String RETRY_AFTER_SECONDS = "1";
+
+    public enum EndpointClass {
+        /** GET of one item or category by id */
+        READ,
+        /** Any other GET: pages, keyset pages, category items, export */
+        LIST,
+        /** POST, PUT, PATCH, DELETE */
+        WRITE;
+
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Map<EndpointClass, AdaptiveLimiter> limiters = new EnumMap<>(EndpointClass.class);
+
+    public ConcurrencyLimits(int initialLimit, int minLimit, int maxLimit) {
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            limiters.put(endpointClass, new AdaptiveLimiter(initialLimit, minLimit, maxLimit));
+        }
+    }
+
+    public AdaptiveLimiter get(EndpointClass endpointClass) {
+        return limiters.get(endpointClass);
+    }
+
+    /**
+     * @param path request path relative to the application, with or without the leading slash
+     * @return null for paths that are not limited
+     */
+    public static EndpointClass classify(String method, String path) {
+        String[] segments = (path.startsWith("/") ? path.substring(1) : path).split("/");
+        String root = segments[0];
+        if (!"items".equals(root) && !"categories".equals(root)) {
+            return null;
+        }
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return EndpointClass.WRITE;
+        }
+        boolean byId = segments.length == 2 && !segments[1].isEmpty()
+                && segments[1].chars().allMatch(Character::isDigit);
+        return byId ? EndpointClass.READ : EndpointClass.LIST;
+    }
+}
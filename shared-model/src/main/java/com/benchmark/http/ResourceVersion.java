@@ -0,0 +1,100 @@
+package com.benchmark.http;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Version of a response for conditional GET. Folds the ids and updated_at
+ * timestamps behind the payload (and anything else that shows in it, such as
+ * a page total) into a weak ETag, and keeps the latest timestamp for
+ * Last-Modified. Built from a timestamp-only query, so a matching
+ * If-None-Match can be answered before any entity is loaded or serialized.
+ */
+public final class ResourceVersion {
+
+    // FNV-1a over 64-bit values
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private long hash = OFFSET_BASIS;
+    private LocalDateTime lastModified;
+    private String representation;
+
+    /**
+     * Version of the rows of a JPQL projection such as
+     * "SELECT i.id, i.updatedAt, c.updatedAt ...", in result order.
+     */
+    public static ResourceVersion ofRows(List<Object[]> rows) {
+        ResourceVersion version = new ResourceVersion();
+        for (Object[] row : rows) {
+            version.addRow(row);
+        }
+        return version;
+    }
+
+    public ResourceVersion addRow(Object[] row) {
+        for (Object column : row) {
+            if (column instanceof LocalDateTime timestamp) {
+                add(timestamp);
+            } else if (column instanceof Number number) {
+                add(number.longValue());
+            } else {
+                add(0L);
+            }
+        }
+        return this;
+    }
+
+    public ResourceVersion add(long value) {
+        hash = (hash ^ value) * PRIME;
+        return this;
+    }
+
+    public ResourceVersion add(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return add(0L);
+        }
+        if (lastModified == null || timestamp.isAfter(lastModified)) {
+            lastModified = timestamp;
+        }
+        add(timestamp.toEpochSecond(ZoneOffset.UTC));
+        return add(timestamp.getNano());
+    }
+
+    /**
+     * Names the negotiated media type the tag is for: the same rows encoded
+     * as JSON and as protobuf are different representations and must not
+     * share a validator.
+     */
+    public ResourceVersion representation(String mediaType) {
+        this.representation = mediaType;
+        return this;
+    }
+
+    /**
+     * Opaque tag value, without quotes or the weak prefix.
+     */
+    public String tag() {
+        String tag = Long.toHexString(hash);
+        return representation == null ? tag : tag + "-" + representation;
+    }
+
+    public String weakETag() {
+        return "W/\"" + tag() + "\"";
+    }
+
+    /**
+     * Latest updated_at seen (stored as server local time), or null for an empty result.
+     */
+    public Instant lastModified() {
+        return lastModified == null ? null : lastModified.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    public long lastModifiedMillis() {
+        Instant instant = lastModified();
+        return instant == null ? -1 : instant.toEpochMilli();
+    }
+}
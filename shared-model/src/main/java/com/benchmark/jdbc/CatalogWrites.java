@@ -0,0 +1,116 @@
+package com.benchmark.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Item and category writes without a read before the write: one statement
+ * per item update/delete and category update/delete (CatalogWritesTest).
+ * A missing row shows up as an empty RETURNING result or a zero row count,
+ * an unknown category as a foreign key violation (SQLState 23503).
+ * Runs inside the caller's transaction; the callers evict the second level cache.
+ */
+public final class CatalogWrites {
+
+    public static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    // The CTE locks the row and keeps its previous category for the count cache;
+    // the LEFT JOIN brings back the code and name of the new category, or nulls
+    // when it does not exist, in which case the foreign key check fails the UPDATE
+    private static final String UPDATE_ITEM =
+            "WITH old AS (SELECT id, category_id FROM item WHERE id = ? FOR UPDATE)"
+            + " UPDATE item i SET sku = ?, name = ?, price = ?, stock = ?, category_id = ?, updated_at = NOW()"
+            + " FROM old LEFT JOIN category c ON c.id = ?"
+            + " WHERE i.id = old.id"
+            + " RETURNING old.category_id, i.updated_at, c.code, c.name";
+
+    private static final String DELETE_ITEM =
+            "DELETE FROM item WHERE id = ? RETURNING category_id";
+
+    private static final String UPDATE_CATEGORY =
+            "UPDATE category SET code = ?, name = ?, updated_at = NOW() WHERE id = ? RETURNING updated_at";
+
+    // Set-based: the items go in a data-modifying CTE of the same statement, not one
+    // DELETE per row through the cascade; the NO ACTION foreign key is checked at the
+    // end of the statement, after both deletes
+    private static final String DELETE_CATEGORY =
+            "WITH items AS (DELETE FROM item WHERE category_id = ?)"
+            + " DELETE FROM category WHERE id = ?";
+
+    /**
+     * Item row after an update, with the category it left and the one it is now in.
+     */
+    public record ItemUpdate(long previousCategoryId, LocalDateTime updatedAt,
+                             String categoryCode, String categoryName) {
+    }
+
+    private CatalogWrites() {
+    }
+
+    /**
+     * @return null when no item has this id
+     */
+    public static ItemUpdate updateItem(Connection connection, long id, String sku, String name,
+                                        BigDecimal price, int stock, long categoryId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(UPDATE_ITEM)) {
+            ps.setLong(1, id);
+            ps.setString(2, sku);
+            ps.setString(3, name);
+            ps.setBigDecimal(4, price);
+            ps.setInt(5, stock);
+            ps.setLong(6, categoryId);
+            ps.setLong(7, categoryId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                return new ItemUpdate(rs.getLong(1), rs.getObject(2, LocalDateTime.class),
+                        rs.getString(3), rs.getString(4));
+            }
+        }
+    }
+
+    /**
+     * @return the category the item was in, null when no item has this id
+     */
+    public static Long deleteItem(Connection connection, long id) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(DELETE_ITEM)) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    /**
+     * @return the new updated_at, null when no category has this id
+     */
+    public static LocalDateTime updateCategory(Connection connection, long id, String code, String name)
+            throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(UPDATE_CATEGORY)) {
+            ps.setString(1, code);
+            ps.setString(2, name);
+            ps.setLong(3, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getObject(1, LocalDateTime.class) : null;
+            }
+        }
+    }
+
+    /**
+     * Deletes the category and its items.
+     *
+     * @return false when no category has this id
+     */
+    public static boolean deleteCategory(Connection connection, long id) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(DELETE_CATEGORY)) {
+            ps.setLong(1, id);
+            ps.setLong(2, id);
+            return ps.executeUpdate() > 0;
+        }
+    }
+}
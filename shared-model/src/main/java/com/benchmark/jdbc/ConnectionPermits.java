@@ -0,0 +1,47 @@
+package com.benchmark.jdbc;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fair semaphore sized to the connection pool. With virtual threads every
+ * request gets its own thread, so thousands can race for 20 connections;
+ * making them park here (a virtual-thread friendly wait) keeps them out of
+ * the pool's internal hand-off and keeps carrier threads free.
+ */
+public class ConnectionPermits {
+
+    private final Semaphore permits;
+    private final long timeoutMillis;
+
+    public ConnectionPermits(int poolSize, long timeoutMillis) {
+        this.permits = new Semaphore(poolSize, true);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + timeoutMillis + "ms waiting for a connection permit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a connection permit", e);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int available() {
+        return permits.availablePermits();
+    }
+
+    public int queued() {
+        return permits.getQueueLength();
+    }
+}
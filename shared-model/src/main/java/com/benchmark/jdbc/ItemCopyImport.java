@@ -0,0 +1,108 @@
+package com.benchmark.jdbc;
+
+import com.benchmark.dto.ImportResult;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Bulk item import: the request body is piped through COPY into a
+ * transaction-scoped staging table, filtered with set-based statements,
+ * then upserted into item by SKU in a single INSERT ... ON CONFLICT.
+ * Runs inside the caller's transaction (auto-commit must be off).
+ */
+public final class ItemCopyImport {
+
+    public enum Format { CSV, NDJSON }
+
+    // line keeps input order so the last row wins among duplicate SKUs
+    private static final String CREATE_STAGING =
+            "CREATE TEMP TABLE item_import (line BIGSERIAL, sku TEXT, name TEXT, price NUMERIC,"
+            + " stock INT, category_id BIGINT, updated_at TIMESTAMP) ON COMMIT DROP";
+
+    // Same column layout as database/items.csv
+    private static final String COPY_CSV =
+            "COPY item_import (sku, name, price, stock, category_id, updated_at)"
+            + " FROM STDIN WITH (FORMAT csv, HEADER %s)";
+
+    // One JSON document per line; quote and delimiter are control characters
+    // that never occur in JSON text, so each line lands verbatim in doc
+    private static final String CREATE_STAGING_JSON =
+            "CREATE TEMP TABLE item_import_json (doc JSONB) ON COMMIT DROP";
+    private static final String COPY_NDJSON =
+            "COPY item_import_json (doc) FROM STDIN WITH (FORMAT csv, QUOTE E'\\x01', DELIMITER E'\\x02')";
+    private static final String UNPACK_NDJSON =
+            "INSERT INTO item_import (sku, name, price, stock, category_id, updated_at)"
+            + " SELECT doc->>'sku', doc->>'name', (doc->>'price')::numeric, (doc->>'stock')::int,"
+            + " COALESCE(doc->>'category_id', doc->>'categoryId')::bigint,"
+            + " COALESCE(doc->>'updated_at', doc->>'updatedAt')::timestamp"
+            + " FROM item_import_json WHERE doc IS NOT NULL";
+
+    // Mirrors the column sizes and the ItemDTO Bean Validation constraints
+    private static final String DELETE_INVALID =
+            "DELETE FROM item_import WHERE sku IS NULL OR btrim(sku) = '' OR length(sku) > 64"
+            + " OR name IS NULL OR btrim(name) = '' OR length(name) > 128"
+            + " OR price IS NULL OR price < 0 OR price >= 100000000"
+            + " OR stock IS NULL OR stock < 0 OR category_id IS NULL";
+
+    private static final String DELETE_UNKNOWN_CATEGORY =
+            "DELETE FROM item_import s WHERE NOT EXISTS (SELECT 1 FROM category c WHERE c.id = s.category_id)";
+
+    // xmax = 0 only on freshly inserted tuples; new ids come from the column default
+    private static final String UPSERT =
+            "WITH upserted AS ("
+            + " INSERT INTO item (sku, name, price, stock, category_id, updated_at)"
+            + " SELECT DISTINCT ON (sku) sku, name, price, stock, category_id, COALESCE(updated_at, NOW())"
+            + " FROM item_import ORDER BY sku, line DESC"
+            + " ON CONFLICT (sku) DO UPDATE SET name = EXCLUDED.name, price = EXCLUDED.price,"
+            + " stock = EXCLUDED.stock, category_id = EXCLUDED.category_id, updated_at = EXCLUDED.updated_at"
+            + " RETURNING (xmax = 0) AS inserted)"
+            + " SELECT COUNT(*) FILTER (WHERE inserted), COUNT(*) FILTER (WHERE NOT inserted) FROM upserted";
+
+    private ItemCopyImport() {
+    }
+
+    /**
+     * @param header CSV only: whether the first line is a header to skip
+     */
+    public static ImportResult run(Connection connection, InputStream in, Format format, boolean header)
+            throws SQLException, IOException {
+        long start = System.nanoTime();
+        CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+
+        try (Statement st = connection.createStatement()) {
+            st.execute(CREATE_STAGING);
+
+            long received;
+            if (format == Format.CSV) {
+                received = copy.copyIn(String.format(COPY_CSV, header), in);
+            } else {
+                st.execute(CREATE_STAGING_JSON);
+                copy.copyIn(COPY_NDJSON, in);
+                received = st.executeUpdate(UNPACK_NDJSON);
+            }
+
+            long invalid = st.executeUpdate(DELETE_INVALID);
+            long unknownCategory = st.executeUpdate(DELETE_UNKNOWN_CATEGORY);
+
+            long inserted;
+            long updated;
+            try (ResultSet rs = st.executeQuery(UPSERT)) {
+                rs.next();
+                inserted = rs.getLong(1);
+                updated = rs.getLong(2);
+            }
+
+            long duplicates = received - invalid - unknownCategory - inserted - updated;
+            long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            return new ImportResult(received, invalid, unknownCategory, duplicates,
+                    inserted, updated, elapsedMs, received * 1000 / elapsedMs);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.benchmark.jdbc;
+
+import java.sql.SQLException;
+
+/**
+ * Per-request JDBC accounting: statements sent, rows read or written and the
+ * time spent inside the driver, collected by {@link QueryCountingDataSource}
+ * on the thread that opened the scope, or that continues it through
+ * {@link #resume}. Statements run on other threads (startup, streamed bodies
+ * written after the scope closed) are not counted.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Opens the scope of one request on the calling thread.
+     *
+     * @param budget statements allowed, 0 for no budget
+     * @param strict fail the statement that goes over the budget instead of only flagging it
+     */
+    public static Stats begin(int budget, boolean strict) {
+        Stats stats = new Stats(budget, strict);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Closes the scope opened by {@link #begin} and returns its totals, or null
+     * when none was open.
+     */
+    public static Stats end() {
+        Stats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * Continues on the calling thread a scope opened, then ended, on another
+     * one, e.g. when the request moves to an executor; close with {@link #end}.
+     */
+    public static void resume(Stats stats) {
+        if (stats != null) {
+            CURRENT.set(stats);
+        }
+    }
+
+    static Stats current() {
+        return CURRENT.get();
+    }
+
+    public static final class Stats {
+
+        private final int budget;
+        private final boolean strict;
+        private int statements;
+        private long rows;
+        private long nanos;
+
+        Stats(int budget, boolean strict) {
+            this.budget = budget;
+            this.strict = strict;
+        }
+
+        public int statements() {
+            return statements;
+        }
+
+        public long rows() {
+            return rows;
+        }
+
+        public long nanos() {
+            return nanos;
+        }
+
+        public int budget() {
+            return budget;
+        }
+
+        public boolean overBudget() {
+            return budget > 0 && statements > budget;
+        }
+
+        void beforeStatement(String sql) throws SQLException {
+            statements++;
+            if (strict && overBudget()) {
+                throw new BudgetExceededException(budget, sql);
+            }
+        }
+
+        void afterStatement(long elapsedNanos, long rowCount) {
+            nanos += elapsedNanos;
+            rows += rowCount;
+        }
+
+        void addRows(long rowCount) {
+            rows += rowCount;
+        }
+    }
+
+    /**
+     * Raised in strict mode by the first statement past the request's budget,
+     * before it reaches the database.
+     */
+    public static class BudgetExceededException extends SQLException {
+
+        public BudgetExceededException(int budget, String sql) {
+            super("Statement budget of " + budget + " exceeded by: " + sql);
+        }
+    }
+}
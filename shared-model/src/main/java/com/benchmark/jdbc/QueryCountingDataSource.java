@@ -0,0 +1,161 @@
+package com.benchmark.jdbc;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * DataSource whose connections report every executed statement, its update
+ * count or the rows its result set yields, and the time spent in execute to
+ * the {@link QueryCounter} scope of the calling thread. Without an open scope
+ * calls go straight through.
+ */
+public class QueryCountingDataSource implements DataSource {
+
+    private final DataSource target;
+
+    public QueryCountingDataSource(DataSource target) {
+        this.target = target;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(target.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(target.getConnection(username, password));
+    }
+
+    /**
+     * Wraps a connection obtained elsewhere (a Hibernate connection provider).
+     */
+    public static Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "createStatement" -> counting((Statement) result, method.getReturnType(), null);
+                        case "prepareStatement", "prepareCall" ->
+                                counting((Statement) result, method.getReturnType(), (String) args[0]);
+                        default -> result;
+                    };
+                });
+    }
+
+    /**
+     * @param sql the prepared SQL, null for plain statements (taken from the execute call)
+     */
+    private static Object counting(Statement statement, Class<?> type, String sql) {
+        return Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    QueryCounter.Stats stats = QueryCounter.current();
+                    if (stats == null) {
+                        return invoke(statement, method, args);
+                    }
+                    String name = method.getName();
+                    if (name.startsWith("execute")) {
+                        stats.beforeStatement(args != null && args.length > 0 && args[0] instanceof String s ? s : sql);
+                        long start = System.nanoTime();
+                        Object result = invoke(statement, method, args);
+                        stats.afterStatement(System.nanoTime() - start, updateCount(result));
+                        return result instanceof ResultSet rs ? counting(rs, stats) : result;
+                    }
+                    Object result = invoke(statement, method, args);
+                    return result instanceof ResultSet rs ? counting(rs, stats) : result;
+                });
+    }
+
+    private static ResultSet counting(ResultSet resultSet, QueryCounter.Stats stats) {
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> {
+                    Object result = invoke(resultSet, method, args);
+                    if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                        stats.addRows(1);
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Rows written by executeUpdate / executeBatch; SUCCESS_NO_INFO entries count as 0.
+     */
+    private static long updateCount(Object result) {
+        long rows = 0;
+        if (result instanceof Integer count) {
+            rows = Math.max(0, count);
+        } else if (result instanceof Long count) {
+            rows = Math.max(0, count);
+        } else if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += Math.max(0, count);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += Math.max(0, count);
+            }
+        }
+        return rows;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return target.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        target.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        target.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return target.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return target.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,278 @@
+package com.benchmark.jdbc;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * Coalesces stock deltas for hot items. Deltas land in a striped map
+ * (one lock per stripe, so concurrent callers on different items do not
+ * contend) and are summed per item; a single flusher thread applies the
+ * net deltas every interval, or sooner once maxPending deltas are queued,
+ * in one UPDATE ... FROM unnest(ids, deltas) per flush, so a burst on one
+ * SKU takes its row lock once instead of once per request.
+ *
+ * Stock never goes negative: an item whose net delta would take it below
+ * zero is retried delta by delta in arrival order, each guarded by
+ * stock + delta >= 0, so the increments and the decrements that fit still
+ * apply. The stock column is an int: an item whose stock would pass
+ * Integer.MAX_VALUE is retried the same way and the deltas that do not fit
+ * answer OUT_OF_RANGE, leaving the rest of the flush untouched. Futures
+ * complete after the flush committed and the caches were told (durable
+ * ack), so a client holding the answer reads the new stock; callers
+ * that do not wait on them get async-ack semantics, where deltas still
+ * buffered are lost if the process dies.
+ */
+public class StockDeltaBuffer implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(StockDeltaBuffer.class.getName());
+
+    public enum Status { APPLIED, NOT_FOUND, INSUFFICIENT_STOCK, OUT_OF_RANGE }
+
+    /**
+     * @param stock the item's stock after the flush, null when not found
+     */
+    public record Outcome(Status status, Integer stock) {
+    }
+
+    /**
+     * An item whose stock changed in a flush, for cache invalidation.
+     */
+    public record Applied(long itemId, long categoryId) {
+    }
+
+    // Net delta per item, summed as bigint; rows whose stock would leave the int
+    // range [0, Integer.MAX_VALUE] are left out of RETURNING instead of failing the statement
+    private static final String APPLY_NET =
+            "UPDATE item i SET stock = i.stock + d.delta, updated_at = NOW()"
+            + " FROM unnest(?::bigint[], ?::bigint[]) AS d(id, delta)"
+            + " WHERE i.id = d.id AND i.stock + d.delta BETWEEN 0 AND " + Integer.MAX_VALUE
+            + " RETURNING i.id, i.category_id, i.stock";
+
+    private static final String APPLY_ONE =
+            "UPDATE item SET stock = stock + ?::bigint, updated_at = NOW()"
+            + " WHERE id = ? AND stock + ?::bigint BETWEEN 0 AND " + Integer.MAX_VALUE
+            + " RETURNING category_id, stock";
+
+    private static final String CURRENT_STOCK = "SELECT stock FROM item WHERE id = ?";
+
+    private record Delta(int delta, CompletableFuture<Outcome> ack) {
+    }
+
+    private static final class Pending {
+        long net;
+        final List<Delta> deltas = new ArrayList<>(2);
+    }
+
+    private static final class Stripe {
+        Map<Long, Pending> pending = new HashMap<>();
+    }
+
+    private final DataSource dataSource;
+    private final int maxPending;
+    private final Consumer<List<Applied>> afterFlush;
+    private final Stripe[] stripes;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * @param afterFlush called on the flusher thread with the items changed by each committed flush,
+     *                   before the futures of that flush complete
+     */
+    public StockDeltaBuffer(DataSource dataSource, long intervalMillis, int maxPending,
+                            Consumer<List<Applied>> afterFlush) {
+        this.dataSource = dataSource;
+        this.maxPending = maxPending;
+        this.afterFlush = afterFlush;
+        this.stripes = new Stripe[Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "stock-delta-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a delta; the future completes once the flush that applied (or
+     * rejected) it has committed.
+     */
+    public CompletableFuture<Outcome> add(long itemId, int delta) {
+        CompletableFuture<Outcome> ack = new CompletableFuture<>();
+        Stripe stripe = stripes[Long.hashCode(itemId * 0x9E3779B97F4A7C15L) & (stripes.length - 1)];
+        synchronized (stripe) {
+            Pending pending = stripe.pending.computeIfAbsent(itemId, id -> new Pending());
+            pending.net += delta;
+            pending.deltas.add(new Delta(delta, ack));
+        }
+        if (queued.incrementAndGet() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flush);
+        }
+        return ack;
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    private void flush() {
+        flushRequested.set(false);
+        Map<Long, Pending> batch = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            Map<Long, Pending> taken;
+            synchronized (stripe) {
+                if (stripe.pending.isEmpty()) {
+                    continue;
+                }
+                taken = stripe.pending;
+                stripe.pending = new HashMap<>();
+            }
+            batch.putAll(taken);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        queued.addAndGet(-batch.values().stream().mapToInt(p -> p.deltas.size()).sum());
+
+        Map<Delta, Outcome> outcomes = new HashMap<>();
+        List<Applied> applied = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                apply(connection, batch, outcomes, applied);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException | RuntimeException e) {
+            logger.log(Level.SEVERE, "Stock delta flush of " + batch.size() + " items failed", e);
+            batch.values().forEach(p -> p.deltas.forEach(d -> d.ack().completeExceptionally(e)));
+            return;
+        }
+
+        // Evict before acking: a client that got its 200 must not read the old stock from a cache
+        if (!applied.isEmpty()) {
+            try {
+                afterFlush.accept(applied);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Stock delta flush callback failed", e);
+            }
+        }
+        outcomes.forEach((delta, outcome) -> delta.ack().complete(outcome));
+    }
+
+    private static void apply(Connection connection, Map<Long, Pending> batch,
+                              Map<Delta, Outcome> outcomes, List<Applied> applied) throws SQLException {
+        // Ascending ids: concurrent writers locking several items take the locks in the same order
+        List<Map.Entry<Long, Pending>> entries = new ArrayList<>(batch.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+        Long[] ids = new Long[entries.size()];
+        Long[] deltas = new Long[entries.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = entries.get(i).getKey();
+            deltas[i] = entries.get(i).getValue().net;
+        }
+
+        Map<Long, Pending> rejected = new HashMap<>(batch);
+        Array idArray = connection.createArrayOf("bigint", ids);
+        Array deltaArray = connection.createArrayOf("bigint", deltas);
+        try (PreparedStatement st = connection.prepareStatement(APPLY_NET)) {
+            st.setArray(1, idArray);
+            st.setArray(2, deltaArray);
+            try (ResultSet rs = st.executeQuery()) {
+                while (rs.next()) {
+                    Pending pending = rejected.remove(rs.getLong(1));
+                    applied.add(new Applied(rs.getLong(1), rs.getLong(2)));
+                    Outcome outcome = new Outcome(Status.APPLIED, rs.getInt(3));
+                    pending.deltas.forEach(d -> outcomes.put(d, outcome));
+                }
+            }
+        } finally {
+            idArray.free();
+            deltaArray.free();
+        }
+
+        for (Map.Entry<Long, Pending> entry : rejected.entrySet()) {
+            applyOneByOne(connection, entry.getKey(), entry.getValue(), outcomes, applied);
+        }
+    }
+
+    /**
+     * Unknown item, or a net delta that would take the stock below zero or past Integer.MAX_VALUE.
+     */
+    private static void applyOneByOne(Connection connection, long itemId, Pending pending,
+                                      Map<Delta, Outcome> outcomes, List<Applied> applied) throws SQLException {
+        Integer stock = currentStock(connection, itemId);
+        if (stock == null) {
+            pending.deltas.forEach(d -> outcomes.put(d, new Outcome(Status.NOT_FOUND, null)));
+            return;
+        }
+        Long categoryId = null;
+        try (PreparedStatement st = connection.prepareStatement(APPLY_ONE)) {
+            for (Delta delta : pending.deltas) {
+                st.setInt(1, delta.delta());
+                st.setLong(2, itemId);
+                st.setInt(3, delta.delta());
+                try (ResultSet rs = st.executeQuery()) {
+                    if (rs.next()) {
+                        categoryId = rs.getLong(1);
+                        stock = rs.getInt(2);
+                        outcomes.put(delta, new Outcome(Status.APPLIED, stock));
+                    } else {
+                        Status status = (long) stock + delta.delta() < 0
+                                ? Status.INSUFFICIENT_STOCK
+                                : Status.OUT_OF_RANGE;
+                        outcomes.put(delta, new Outcome(status, stock));
+                    }
+                }
+            }
+        }
+        if (categoryId != null) {
+            applied.add(new Applied(itemId, categoryId));
+        }
+    }
+
+    private static Integer currentStock(Connection connection, long itemId) throws SQLException {
+        try (PreparedStatement st = connection.prepareStatement(CURRENT_STOCK)) {
+            st.setLong(1, itemId);
+            try (ResultSet rs = st.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Stops the flusher after a last flush of what is queued.
+     */
+    @Override
+    public void close() {
+        flusher.execute(this::flush);
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
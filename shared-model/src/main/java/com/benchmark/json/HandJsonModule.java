@@ -0,0 +1,62 @@
+package com.benchmark.json;
+
+import com.benchmark.proto.CategoryFields;
+import com.benchmark.proto.ItemFields;
+import com.benchmark.proto.PageFields;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Hand-written serializers replacing Jackson's reflective bean serializers
+ * when HAND_JSON_WRITERS=true. Registered against the field interfaces the
+ * DTOs implement, so one module serves Variant A's, Variant C's and the
+ * shared-model DTOs alike.
+ */
+public class HandJsonModule extends SimpleModule {
+
+    public HandJsonModule() {
+        super("HandJsonModule");
+        addSerializer(new ItemSerializer());
+        addSerializer(new CategorySerializer());
+        addSerializer(new PageSerializer());
+    }
+
+    static class ItemSerializer extends StdSerializer<ItemFields> {
+        ItemSerializer() {
+            super(ItemFields.class);
+        }
+
+        @Override
+        public void serialize(ItemFields dto, JsonGenerator g, SerializerProvider provider) throws IOException {
+            JsonWriters.writeItem(g, dto.getId(), dto.getSku(), dto.getName(), dto.getPrice(), dto.getStock(),
+                    dto.getCategoryId(), dto.getCategoryCode(), dto.getCategoryName(), dto.getUpdatedAt());
+        }
+    }
+
+    static class CategorySerializer extends StdSerializer<CategoryFields> {
+        CategorySerializer() {
+            super(CategoryFields.class);
+        }
+
+        @Override
+        public void serialize(CategoryFields dto, JsonGenerator g, SerializerProvider provider) throws IOException {
+            JsonWriters.writeCategory(g, dto.getId(), dto.getCode(), dto.getName(), dto.getUpdatedAt());
+        }
+    }
+
+    static class PageSerializer extends StdSerializer<PageFields> {
+        PageSerializer() {
+            super(PageFields.class);
+        }
+
+        @Override
+        public void serialize(PageFields page, JsonGenerator g, SerializerProvider provider) throws IOException {
+            JsonWriters.writePage(g, provider, page.getContent(), page.getPage(), page.getSize(),
+                    page.getTotalElements(), page.getTotalPages(), page.getHasNext(), page.isLast(), page.isFirst());
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.benchmark.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Field-by-field JSON writers for the item, category and page DTOs, shared by
+ * the hand-written serializers of each variant (HAND_JSON_WRITERS=true).
+ * Output is byte-identical to the bean serializer configured with
+ * JavaTimeModule, WRITE_DATES_AS_TIMESTAMPS disabled and NON_NULL inclusion:
+ * same property order, null properties omitted, ISO-8601 local timestamps.
+ * Field names are pre-encoded, prices and timestamps are written from a
+ * char buffer without going through an intermediate String.
+ */
+public final class JsonWriters {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString SKU = new SerializedString("sku");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString PRICE = new SerializedString("price");
+    private static final SerializedString STOCK = new SerializedString("stock");
+    private static final SerializedString CATEGORY_ID = new SerializedString("categoryId");
+    private static final SerializedString CATEGORY_CODE = new SerializedString("categoryCode");
+    private static final SerializedString CATEGORY_NAME = new SerializedString("categoryName");
+    private static final SerializedString CODE = new SerializedString("code");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString PAGE = new SerializedString("page");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializedString HAS_NEXT = new SerializedString("hasNext");
+    private static final SerializedString LAST = new SerializedString("last");
+    private static final SerializedString FIRST = new SerializedString("first");
+
+    // "-99999999.99" and "+10000-12-31T23:59:59.999999999" both fit
+    private static final int BUFFER_SIZE = 32;
+
+    private JsonWriters() {
+    }
+
+    public static void writeItem(JsonGenerator g, Long id, String sku, String name, BigDecimal price,
+                                 Integer stock, Long categoryId, String categoryCode, String categoryName,
+                                 LocalDateTime updatedAt) throws IOException {
+        char[] buf = new char[BUFFER_SIZE];
+        g.writeStartObject();
+        if (id != null) {
+            g.writeFieldName(ID);
+            g.writeNumber(id);
+        }
+        if (sku != null) {
+            g.writeFieldName(SKU);
+            g.writeString(sku);
+        }
+        if (name != null) {
+            g.writeFieldName(NAME);
+            g.writeString(name);
+        }
+        if (price != null) {
+            g.writeFieldName(PRICE);
+            writeDecimal(g, price, buf);
+        }
+        if (stock != null) {
+            g.writeFieldName(STOCK);
+            g.writeNumber(stock);
+        }
+        if (categoryId != null) {
+            g.writeFieldName(CATEGORY_ID);
+            g.writeNumber(categoryId);
+        }
+        if (categoryCode != null) {
+            g.writeFieldName(CATEGORY_CODE);
+            g.writeString(categoryCode);
+        }
+        if (categoryName != null) {
+            g.writeFieldName(CATEGORY_NAME);
+            g.writeString(categoryName);
+        }
+        if (updatedAt != null) {
+            g.writeFieldName(UPDATED_AT);
+            writeDateTime(g, updatedAt, buf);
+        }
+        g.writeEndObject();
+    }
+
+    public static void writeCategory(JsonGenerator g, Long id, String code, String name,
+                                     LocalDateTime updatedAt) throws IOException {
+        g.writeStartObject();
+        if (id != null) {
+            g.writeFieldName(ID);
+            g.writeNumber(id);
+        }
+        if (code != null) {
+            g.writeFieldName(CODE);
+            g.writeString(code);
+        }
+        if (name != null) {
+            g.writeFieldName(NAME);
+            g.writeString(name);
+        }
+        if (updatedAt != null) {
+            g.writeFieldName(UPDATED_AT);
+            writeDateTime(g, updatedAt, new char[BUFFER_SIZE]);
+        }
+        g.writeEndObject();
+    }
+
+    /**
+     * Page envelope; the content elements go through the provider's
+     * serializer for their class, looked up once per run of equal classes.
+     */
+    public static void writePage(JsonGenerator g, SerializerProvider provider, List<?> content,
+                                 int page, int size, Long totalElements, Integer totalPages,
+                                 Boolean hasNext, boolean last, boolean first) throws IOException {
+        g.writeStartObject();
+        if (content != null) {
+            g.writeFieldName(CONTENT);
+            writeContent(g, provider, content);
+        }
+        g.writeFieldName(PAGE);
+        g.writeNumber(page);
+        g.writeFieldName(SIZE);
+        g.writeNumber(size);
+        if (totalElements != null) {
+            g.writeFieldName(TOTAL_ELEMENTS);
+            g.writeNumber(totalElements);
+        }
+        if (totalPages != null) {
+            g.writeFieldName(TOTAL_PAGES);
+            g.writeNumber(totalPages);
+        }
+        if (hasNext != null) {
+            g.writeFieldName(HAS_NEXT);
+            g.writeBoolean(hasNext);
+        }
+        g.writeFieldName(LAST);
+        g.writeBoolean(last);
+        g.writeFieldName(FIRST);
+        g.writeBoolean(first);
+        g.writeEndObject();
+    }
+
+    private static void writeContent(JsonGenerator g, SerializerProvider provider, List<?> content)
+            throws IOException {
+        g.writeStartArray(content, content.size());
+        Class<?> type = null;
+        JsonSerializer<Object> serializer = null;
+        for (Object element : content) {
+            if (element == null) {
+                g.writeNull();
+                continue;
+            }
+            if (element.getClass() != type) {
+                type = element.getClass();
+                serializer = provider.findValueSerializer(type);
+            }
+            serializer.serialize(element, g, provider);
+        }
+        g.writeEndArray();
+    }
+
+    /**
+     * Same text as BigDecimal.toString() for scales 0..6 (always plain
+     * notation there), digits taken from the unscaled long.
+     */
+    static void writeDecimal(JsonGenerator g, BigDecimal value, char[] buf) throws IOException {
+        int scale = value.scale();
+        BigInteger unscaled = value.unscaledValue();
+        if (scale < 0 || scale > 6 || unscaled.bitLength() > 62) {
+            g.writeNumber(value);
+            return;
+        }
+        long digits = unscaled.longValue();
+        boolean negative = digits < 0;
+        if (negative) {
+            digits = -digits;
+        }
+
+        int pos = buf.length;
+        for (int i = 0; i < scale; i++) {
+            buf[--pos] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+        if (scale > 0) {
+            buf[--pos] = '.';
+        }
+        do {
+            buf[--pos] = (char) ('0' + digits % 10);
+            digits /= 10;
+        } while (digits != 0);
+        if (negative) {
+            buf[--pos] = '-';
+        }
+        g.writeNumber(buf, pos, buf.length - pos);
+    }
+
+    /**
+     * Same text as DateTimeFormatter.ISO_LOCAL_DATE_TIME (the JavaTimeModule
+     * default): seconds always present, fraction only when non-zero and
+     * without trailing zeros. Years outside 0..9999 use the formatter.
+     */
+    static void writeDateTime(JsonGenerator g, LocalDateTime value, char[] buf) throws IOException {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            g.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+        int pos = 0;
+        pos = digits(buf, pos, year, 4);
+        buf[pos++] = '-';
+        pos = digits(buf, pos, value.getMonthValue(), 2);
+        buf[pos++] = '-';
+        pos = digits(buf, pos, value.getDayOfMonth(), 2);
+        buf[pos++] = 'T';
+        pos = digits(buf, pos, value.getHour(), 2);
+        buf[pos++] = ':';
+        pos = digits(buf, pos, value.getMinute(), 2);
+        buf[pos++] = ':';
+        pos = digits(buf, pos, value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano != 0) {
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            buf[pos++] = '.';
+            pos = digits(buf, pos, nano, width);
+        }
+        g.writeString(buf, 0, pos);
+    }
+
+    private static int digits(char[] buf, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -12,15 +16,22 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "item", indexes = {
     @Index(name = "idx_item_category", columnList = "category_id"),
+    @Index(name = "idx_item_category_id", columnList = "category_id, id"),
     @Index(name = "idx_item_updated_at", columnList = "updated_at")
 })
+// Read-mostly: no soft locks on update, a concurrent read may briefly see the old row
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Item {
 
+    // Pooled sequence: ids are assigned without a round trip per row,
+    // so inserts can go out as JDBC batches (IDENTITY disables batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "item_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -44,9 +55,13 @@ public class Item {
     @Column(name = "stock", nullable = false)
     private Integer stock;
 
+    // Kept out of equals/hashCode/toString: touching the lazy proxy there
+    // would load the category (and through Category.items, its whole item list)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     @NotNull
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Category category;
 
     @Column(name = "updated_at", nullable = false)
@@ -0,0 +1,13 @@
+package com.benchmark.proto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Properties of a category DTO, as encoded into the Category message.
+ */
+public interface CategoryFields {
+    Long getId();
+    String getCode();
+    String getName();
+    LocalDateTime getUpdatedAt();
+}
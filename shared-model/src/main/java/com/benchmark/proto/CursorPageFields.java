@@ -0,0 +1,13 @@
+package com.benchmark.proto;
+
+import java.util.List;
+
+/**
+ * Properties of a keyset page, as encoded into the ItemCursorPage message.
+ */
+public interface CursorPageFields {
+    List<?> getContent();
+    int getSize();
+    String getNextCursor();
+    boolean isLast();
+}
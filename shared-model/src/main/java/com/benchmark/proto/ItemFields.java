@@ -0,0 +1,19 @@
+package com.benchmark.proto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Properties of an item DTO, as encoded into the Item message.
+ */
+public interface ItemFields {
+    Long getId();
+    String getSku();
+    String getName();
+    BigDecimal getPrice();
+    Integer getStock();
+    Long getCategoryId();
+    String getCategoryCode();
+    String getCategoryName();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,17 @@
+package com.benchmark.proto;
+
+import java.util.List;
+
+/**
+ * Properties of an offset page, as encoded into the ItemPage and CategoryPage messages.
+ */
+public interface PageFields {
+    List<?> getContent();
+    int getPage();
+    int getSize();
+    Long getTotalElements();
+    Integer getTotalPages();
+    Boolean getHasNext();
+    boolean isLast();
+    boolean isFirst();
+}
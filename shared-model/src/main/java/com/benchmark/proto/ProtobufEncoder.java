@@ -0,0 +1,195 @@
+package com.benchmark.proto;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes the DTOs in the wire format of the messages in benchmark.proto,
+ * straight from their getters: no generated message classes, no builders.
+ * Nested messages are length-prefixed, so each element's size is computed
+ * just before it is written. Null values are left out; non-optional
+ * scalars are also left out when they hold the proto3 default.
+ */
+public final class ProtobufEncoder {
+
+    public static final String MEDIA_TYPE = "application/x-protobuf";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private ProtobufEncoder() {
+    }
+
+    public static boolean supports(Class<?> type) {
+        return ItemFields.class.isAssignableFrom(type)
+                || CategoryFields.class.isAssignableFrom(type)
+                || PageFields.class.isAssignableFrom(type)
+                || CursorPageFields.class.isAssignableFrom(type);
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@link #supports} is false for the value's class
+     *                                  or a page holds something other than items or categories
+     */
+    public static void write(Object value, OutputStream out) throws IOException {
+        CodedOutputStream cos = CodedOutputStream.newInstance(out, BUFFER_SIZE);
+        if (value instanceof ItemFields item) {
+            writeItem(cos, item, text(item.getPrice()), text(item.getUpdatedAt()));
+        } else if (value instanceof CategoryFields category) {
+            writeCategory(cos, category, text(category.getUpdatedAt()));
+        } else if (value instanceof PageFields page) {
+            writeContent(cos, page.getContent());
+            writeInt32(cos, 2, page.getPage());
+            writeInt32(cos, 3, page.getSize());
+            if (page.getTotalElements() != null) {
+                cos.writeInt64(4, page.getTotalElements());
+            }
+            if (page.getTotalPages() != null) {
+                cos.writeInt32(5, page.getTotalPages());
+            }
+            if (page.getHasNext() != null) {
+                cos.writeBool(6, page.getHasNext());
+            }
+            writeBool(cos, 7, page.isLast());
+            writeBool(cos, 8, page.isFirst());
+        } else if (value instanceof CursorPageFields page) {
+            writeContent(cos, page.getContent());
+            writeInt32(cos, 2, page.getSize());
+            if (page.getNextCursor() != null) {
+                cos.writeString(3, page.getNextCursor());
+            }
+            writeBool(cos, 4, page.isLast());
+        } else {
+            throw new IllegalArgumentException("No protobuf message for " + value.getClass().getName());
+        }
+        cos.flush();
+    }
+
+    // Field 1 of every page message: repeated Item or repeated Category
+    private static void writeContent(CodedOutputStream cos, List<?> content) throws IOException {
+        if (content == null) {
+            return;
+        }
+        for (Object element : content) {
+            if (element instanceof ItemFields item) {
+                String price = text(item.getPrice());
+                String updatedAt = text(item.getUpdatedAt());
+                cos.writeTag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                cos.writeUInt32NoTag(itemSize(item, price, updatedAt));
+                writeItem(cos, item, price, updatedAt);
+            } else if (element instanceof CategoryFields category) {
+                String updatedAt = text(category.getUpdatedAt());
+                cos.writeTag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                cos.writeUInt32NoTag(categorySize(category, updatedAt));
+                writeCategory(cos, category, updatedAt);
+            } else {
+                throw new IllegalArgumentException("No protobuf message for page element "
+                        + (element == null ? "null" : element.getClass().getName()));
+            }
+        }
+    }
+
+    private static void writeItem(CodedOutputStream cos, ItemFields item, String price, String updatedAt)
+            throws IOException {
+        if (item.getId() != null) {
+            cos.writeInt64(1, item.getId());
+        }
+        writeString(cos, 2, item.getSku());
+        writeString(cos, 3, item.getName());
+        writeString(cos, 4, price);
+        if (item.getStock() != null) {
+            writeInt32(cos, 5, item.getStock());
+        }
+        if (item.getCategoryId() != null && item.getCategoryId() != 0) {
+            cos.writeInt64(6, item.getCategoryId());
+        }
+        if (item.getCategoryCode() != null) {
+            cos.writeString(7, item.getCategoryCode());
+        }
+        if (item.getCategoryName() != null) {
+            cos.writeString(8, item.getCategoryName());
+        }
+        writeString(cos, 9, updatedAt);
+    }
+
+    private static int itemSize(ItemFields item, String price, String updatedAt) {
+        int size = 0;
+        if (item.getId() != null) {
+            size += CodedOutputStream.computeInt64Size(1, item.getId());
+        }
+        size += stringSize(2, item.getSku());
+        size += stringSize(3, item.getName());
+        size += stringSize(4, price);
+        if (item.getStock() != null && item.getStock() != 0) {
+            size += CodedOutputStream.computeInt32Size(5, item.getStock());
+        }
+        if (item.getCategoryId() != null && item.getCategoryId() != 0) {
+            size += CodedOutputStream.computeInt64Size(6, item.getCategoryId());
+        }
+        if (item.getCategoryCode() != null) {
+            size += CodedOutputStream.computeStringSize(7, item.getCategoryCode());
+        }
+        if (item.getCategoryName() != null) {
+            size += CodedOutputStream.computeStringSize(8, item.getCategoryName());
+        }
+        size += stringSize(9, updatedAt);
+        return size;
+    }
+
+    private static void writeCategory(CodedOutputStream cos, CategoryFields category, String updatedAt)
+            throws IOException {
+        if (category.getId() != null) {
+            cos.writeInt64(1, category.getId());
+        }
+        writeString(cos, 2, category.getCode());
+        writeString(cos, 3, category.getName());
+        writeString(cos, 4, updatedAt);
+    }
+
+    private static int categorySize(CategoryFields category, String updatedAt) {
+        int size = 0;
+        if (category.getId() != null) {
+            size += CodedOutputStream.computeInt64Size(1, category.getId());
+        }
+        size += stringSize(2, category.getCode());
+        size += stringSize(3, category.getName());
+        size += stringSize(4, updatedAt);
+        return size;
+    }
+
+    private static void writeString(CodedOutputStream cos, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            cos.writeString(field, value);
+        }
+    }
+
+    private static int stringSize(int field, String value) {
+        return value != null && !value.isEmpty() ? CodedOutputStream.computeStringSize(field, value) : 0;
+    }
+
+    private static void writeInt32(CodedOutputStream cos, int field, int value) throws IOException {
+        if (value != 0) {
+            cos.writeInt32(field, value);
+        }
+    }
+
+    private static void writeBool(CodedOutputStream cos, int field, boolean value) throws IOException {
+        if (value) {
+            cos.writeBool(field, true);
+        }
+    }
+
+    private static String text(BigDecimal value) {
+        return value != null ? value.toPlainString() : null;
+    }
+
+    private static String text(LocalDateTime value) {
+        return value != null ? value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.benchmark.spring;
+
+import com.benchmark.http.AdaptiveLimiter;
+import com.benchmark.http.ConcurrencyLimits;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adaptive concurrency limits per endpoint class (app.concurrency-limit.enabled,
+ * set by CONCURRENCY_LIMIT=true), enforced by ConcurrencyLimitFilter.
+ * Variants C and D pull it in with @Import; Variant A has its own Jersey filter.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public ConcurrencyLimits concurrencyLimits(
+            @Value("${app.concurrency-limit.initial:20}") int initial,
+            @Value("${app.concurrency-limit.min:4}") int min,
+            @Value("${app.concurrency-limit.max:200}") int max) {
+        return new ConcurrencyLimits(initial, min, max);
+    }
+
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(ConcurrencyLimits limits) {
+        return new ConcurrencyLimitFilter(limits);
+    }
+
+    /**
+     * http.concurrency.limit / .inflight gauges and http.concurrency.rejected,
+     * tagged endpoint=read|list|write.
+     */
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(ConcurrencyLimits limits) {
+        return registry -> {
+            for (ConcurrencyLimits.EndpointClass endpointClass : ConcurrencyLimits.EndpointClass.values()) {
+                AdaptiveLimiter limiter = limits.get(endpointClass);
+                Gauge.builder("http.concurrency.limit", limiter, AdaptiveLimiter::limit)
+                        .description("Current adaptive concurrency limit")
+                        .tag("endpoint", endpointClass.tag())
+                        .register(registry);
+                Gauge.builder("http.concurrency.inflight", limiter, AdaptiveLimiter::inFlight)
+                        .description("Requests holding a concurrency permit")
+                        .tag("endpoint", endpointClass.tag())
+                        .register(registry);
+                FunctionCounter.builder("http.concurrency.rejected", limiter, AdaptiveLimiter::rejected)
+                        .description("Requests shed with 503 at the concurrency limit")
+                        .tag("endpoint", endpointClass.tag())
+                        .register(registry);
+            }
+        };
+    }
+}
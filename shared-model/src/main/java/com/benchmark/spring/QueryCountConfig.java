@@ -0,0 +1,44 @@
+package com.benchmark.spring;
+
+import com.benchmark.jdbc.QueryCountingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request statement accounting (app.query-count.enabled, set by QUERY_COUNT=true).
+ * Wraps the DataSource so its connections report to the QueryCounter scope
+ * QueryCountFilter opens around each request; with app.query-count.strict the
+ * statement past the request's budget fails and the request answers 500.
+ * Variants C and D pull it in with @Import; Variant A has its own Jersey filter.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-count.enabled", havingValue = "true")
+public class QueryCountConfig {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof QueryCountingDataSource) {
+                    return bean;
+                }
+                return new QueryCountingDataSource(dataSource);
+            }
+        };
+    }
+
+    @Bean
+    public QueryCountFilter queryCountFilter(
+            MeterRegistry registry,
+            @Value("${app.query-count.budget:0}") int budget,
+            @Value("${app.query-count.strict:false}") boolean strict) {
+        return new QueryCountFilter(registry, budget, strict);
+    }
+}
@@ -0,0 +1,163 @@
+package com.benchmark.spring;
+
+import com.benchmark.jdbc.QueryCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statements, rows and JDBC time of each request: X-Query-Count / X-Query-Rows /
+ * X-Query-Time-Ms response headers and jdbc.request.* meters per route.
+ * The headers are set when the response commits, so they cover what ran
+ * before the first body byte; the meters also cover lazy loads made while
+ * the body was rendered. A request may declare its statement budget in
+ * X-Query-Budget (default app.query-count.budget, 0 = none).
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String BUDGET_HEADER = "X-Query-Budget";
+
+    static final double[] STATEMENT_SLOS = { 1, 2, 3, 5, 10, 20, 50, 100 };
+
+    private final MeterRegistry registry;
+    private final int defaultBudget;
+    private final boolean strict;
+
+    public QueryCountFilter(MeterRegistry registry, int defaultBudget, boolean strict) {
+        this.registry = registry;
+        this.defaultBudget = defaultBudget;
+        this.strict = strict;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter.Stats stats = QueryCounter.begin(budget(request), strict);
+        CountHeaders wrapper = new CountHeaders(response, stats);
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            QueryCounter.end();
+            wrapper.writeHeaders();
+            record(request, response.getStatus(), stats);
+        }
+    }
+
+    private int budget(HttpServletRequest request) {
+        String declared = request.getHeader(BUDGET_HEADER);
+        if (declared != null) {
+            try {
+                return Integer.parseInt(declared.trim());
+            } catch (NumberFormatException ignored) {
+                // keep the default budget
+            }
+        }
+        return defaultBudget;
+    }
+
+    private void record(HttpServletRequest request, int status, QueryCounter.Stats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : status == 404 ? "NOT_FOUND" : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+        DistributionSummary.builder("jdbc.request.statements")
+                .description("JDBC statements executed per HTTP request")
+                .tags(tags)
+                .serviceLevelObjectives(STATEMENT_SLOS)
+                .register(registry)
+                .record(stats.statements());
+        DistributionSummary.builder("jdbc.request.rows")
+                .description("Rows read or written per HTTP request")
+                .tags(tags)
+                .register(registry)
+                .record(stats.rows());
+        Timer.builder("jdbc.request.time")
+                .description("Time spent executing statements per HTTP request")
+                .tags(tags)
+                .register(registry)
+                .record(stats.nanos(), TimeUnit.NANOSECONDS);
+        if (stats.overBudget()) {
+            Counter.builder("jdbc.request.over.budget")
+                    .description("Requests that executed more statements than their budget")
+                    .tags(tags)
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    /**
+     * Writes the counters into the headers right before the response commits.
+     */
+    private static final class CountHeaders extends HttpServletResponseWrapper {
+
+        private final QueryCounter.Stats stats;
+        private boolean written;
+
+        CountHeaders(HttpServletResponse response, QueryCounter.Stats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader("X-Query-Count", Integer.toString(stats.statements()));
+            setHeader("X-Query-Rows", Long.toString(stats.rows()));
+            setHeader("X-Query-Time-Ms", String.format("%.3f", stats.nanos() / 1e6));
+            if (stats.overBudget()) {
+                setHeader("X-Query-Budget-Exceeded", Integer.toString(stats.budget()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.benchmark.spring;
+
+import com.benchmark.jdbc.ConnectionPermits;
+import com.benchmark.jdbc.PermitDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Virtual-thread execution mode (spring.threads.virtual.enabled, set by VIRTUAL_THREADS=true).
+ * Boot already runs Tomcat requests on virtual threads in that mode; this adds
+ * the semaphore in front of the Hikari pool so request threads park on it.
+ * Variants C and D pull it in with @Import; Variant A uses PermitHikariConnectionProvider.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor permitDataSourcePostProcessor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:20}") int poolSize,
+            @Value("${spring.datasource.hikari.connection-timeout:30000}") long timeoutMillis,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof PermitDataSource) {
+                    return bean;
+                }
+                ConnectionPermits permits = new ConnectionPermits(poolSize, timeoutMillis);
+                meterRegistry.ifAvailable(registry -> {
+                    Gauge.builder("jdbc.connection.permits.available", permits, ConnectionPermits::available)
+                            .description("Free connection permits in front of the Hikari pool")
+                            .register(registry);
+                    Gauge.builder("jdbc.connection.permits.queued", permits, ConnectionPermits::queued)
+                            .description("Threads parked waiting for a connection permit")
+                            .register(registry);
+                });
+                return new PermitDataSource(dataSource, permits);
+            }
+        };
+    }
+}
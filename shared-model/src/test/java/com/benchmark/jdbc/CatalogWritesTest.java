@@ -0,0 +1,191 @@
+package com.benchmark.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Integration test against the benchmark database (schema.sql): every
+ * CatalogWrites operation sends exactly one statement, as counted by
+ * QueryCountingDataSource. TEST_DB_URL / TEST_DB_USER / TEST_DB_PASSWORD
+ * default to the variants' localhost:5600/benchmark; the tests are skipped
+ * when it is not reachable. Fixture rows live in a transaction rolled back
+ * after each test.
+ */
+class CatalogWritesTest {
+
+    private static final String URL =
+            System.getenv().getOrDefault("TEST_DB_URL", "jdbc:postgresql://localhost:5600/benchmark");
+    private static final String USER = System.getenv().getOrDefault("TEST_DB_USER", "postgres");
+    private static final String PASSWORD = System.getenv().getOrDefault("TEST_DB_PASSWORD", "postgres");
+
+    private static DataSource dataSource;
+
+    private Connection connection;
+    private long categoryId;
+    private long otherCategoryId;
+    private long itemId;
+
+    @FunctionalInterface
+    private interface Write<T> {
+        T run() throws SQLException;
+    }
+
+    @BeforeAll
+    static void connect() {
+        PGSimpleDataSource postgres = new PGSimpleDataSource();
+        postgres.setURL(URL);
+        postgres.setUser(USER);
+        postgres.setPassword(PASSWORD);
+        try (Connection probe = postgres.getConnection()) {
+            assumeTrue(probe.isValid(5), "PostgreSQL not usable at " + URL);
+        } catch (SQLException e) {
+            assumeTrue(false, "PostgreSQL not reachable at " + URL + ": " + e.getMessage());
+        }
+        dataSource = new QueryCountingDataSource(postgres);
+    }
+
+    @BeforeEach
+    void insertFixture() throws SQLException {
+        connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        categoryId = insertCategory();
+        otherCategoryId = insertCategory();
+        itemId = insertItem(categoryId);
+    }
+
+    @AfterEach
+    void rollback() throws SQLException {
+        QueryCounter.end();
+        if (connection != null) {
+            connection.rollback();
+            connection.close();
+        }
+    }
+
+    @Test
+    void updateItemIsOneStatement() throws SQLException {
+        CatalogWrites.ItemUpdate update = once(() -> CatalogWrites.updateItem(connection, itemId,
+                "IT-" + System.nanoTime(), "Renamed", new BigDecimal("12.50"), 7, otherCategoryId));
+
+        assertNotNull(update);
+        assertEquals(categoryId, update.previousCategoryId());
+        assertNotNull(update.updatedAt());
+        assertNotNull(update.categoryCode());
+    }
+
+    @Test
+    void updateMissingItemIsOneStatement() throws SQLException {
+        assertNull(once(() -> CatalogWrites.updateItem(connection, -1, "IT-missing", "Missing",
+                BigDecimal.ONE, 1, categoryId)));
+    }
+
+    @Test
+    void updateItemIntoUnknownCategoryFailsInOneStatement() {
+        QueryCounter.Stats stats = QueryCounter.begin(0, false);
+        SQLException e = assertThrows(SQLException.class, () -> CatalogWrites.updateItem(connection, itemId,
+                "IT-" + System.nanoTime(), "Orphan", BigDecimal.ONE, 1, -1));
+        QueryCounter.end();
+
+        assertEquals(CatalogWrites.FOREIGN_KEY_VIOLATION, e.getSQLState());
+        assertEquals(1, stats.statements());
+    }
+
+    @Test
+    void deleteItemIsOneStatement() throws SQLException {
+        assertEquals(Long.valueOf(categoryId), once(() -> CatalogWrites.deleteItem(connection, itemId)));
+        assertNull(once(() -> CatalogWrites.deleteItem(connection, itemId)));
+    }
+
+    @Test
+    void updateCategoryIsOneStatement() throws SQLException {
+        assertNotNull(once(() -> CatalogWrites.updateCategory(connection, categoryId,
+                "IT-" + System.nanoTime(), "Renamed")));
+        assertNull(once(() -> CatalogWrites.updateCategory(connection, -1, "IT-missing", "Missing")));
+    }
+
+    @Test
+    void deleteCategoryWithItemsIsOneStatement() throws SQLException {
+        insertItem(categoryId);
+
+        assertTrue(once(() -> CatalogWrites.deleteCategory(connection, categoryId)));
+        assertEquals(0, count("SELECT COUNT(*) FROM item WHERE category_id = ?", categoryId));
+        assertEquals(0, count("SELECT COUNT(*) FROM category WHERE id = ?", categoryId));
+    }
+
+    @Test
+    void deleteMissingCategoryIsOneStatement() throws SQLException {
+        assertFalse(once(() -> CatalogWrites.deleteCategory(connection, -1)));
+    }
+
+    /**
+     * Runs the write in its own QueryCounter scope and asserts it sent one statement.
+     */
+    private static <T> T once(Write<T> write) throws SQLException {
+        QueryCounter.Stats stats = QueryCounter.begin(0, false);
+        T result;
+        try {
+            result = write.run();
+        } finally {
+            QueryCounter.end();
+        }
+        assertEquals(1, stats.statements(), "statements sent");
+        return result;
+    }
+
+    // Fixture statements run outside a QueryCounter scope and are not counted
+    private long insertCategory() throws SQLException {
+        String code = "IT-" + System.nanoTime();
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO category (code, name) VALUES (?, ?) RETURNING id")) {
+            ps.setString(1, code);
+            ps.setString(2, "Integration test " + code);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private long insertItem(long category) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO item (sku, name, price, stock, category_id) VALUES (?, ?, ?, ?, ?) RETURNING id")) {
+            ps.setString(1, "IT-" + System.nanoTime());
+            ps.setString(2, "Integration test item");
+            ps.setBigDecimal(3, new BigDecimal("9.99"));
+            ps.setInt(4, 10);
+            ps.setLong(5, category);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private long count(String sql, long id) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+}
@@ -1,8 +1,25 @@
 package com.benchmark.varianta;
 
+import com.benchmark.cache.ItemCountCache;
+import com.benchmark.cache.ResponseCache;
+import com.benchmark.http.AdaptiveLimiter;
+import com.benchmark.http.ConcurrencyLimits;
+import com.benchmark.jdbc.ConnectionPermits;
+import com.benchmark.jdbc.PermitDataSource;
+import com.benchmark.jdbc.StockDeltaBuffer;
+import com.benchmark.model.Item;
+import com.benchmark.varianta.config.DatabaseExecutor;
 import com.benchmark.varianta.config.JerseyConfig;
+import com.benchmark.varianta.config.PermitHikariConnectionProvider;
+import com.benchmark.varianta.config.QueryCountingConnectionProvider;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
 import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
 import io.micrometer.core.instrument.binder.jvm.*;
 import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
 import io.micrometer.prometheus.PrometheusConfig;
@@ -11,20 +28,57 @@ import io.prometheus.client.CollectorRegistry;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
 import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.HibernateMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.cache.CacheManager;
+import javax.sql.DataSource;
 import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.concurrent.Executors;
 
 public class VariantAApplication {
     
     private static final Logger logger = LoggerFactory.getLogger(VariantAApplication.class);
     private static final String BASE_URI = "http://0.0.0.0:8081/";
+    private static final String COUNT_CACHE = System.getenv().getOrDefault("COUNT_CACHE", "false");
+    private static final String COUNT_CACHE_TTL_SECONDS = System.getenv().getOrDefault("COUNT_CACHE_TTL_SECONDS", "60");
+    private static final String VIRTUAL_THREADS = System.getenv().getOrDefault("VIRTUAL_THREADS", "false");
+    private static final String L2_CACHE = System.getenv().getOrDefault("L2_CACHE", "false");
+    private static final String RESPONSE_CACHE = System.getenv().getOrDefault("RESPONSE_CACHE", "false");
+    private static final String RESPONSE_CACHE_MAX_MB = System.getenv().getOrDefault("RESPONSE_CACHE_MAX_MB", "64");
+    private static final String HIBERNATE_STATISTICS = System.getenv().getOrDefault("HIBERNATE_STATISTICS", "false");
+    private static final String QUERY_COUNT = System.getenv().getOrDefault("QUERY_COUNT", "false");
+    private static final String STOCK_FLUSH_INTERVAL_MS = System.getenv().getOrDefault("STOCK_FLUSH_INTERVAL_MS", "5");
+    private static final String STOCK_FLUSH_MAX_PENDING = System.getenv().getOrDefault("STOCK_FLUSH_MAX_PENDING", "500");
+    private static final String CONCURRENCY_LIMIT = System.getenv().getOrDefault("CONCURRENCY_LIMIT", "false");
+    private static final String CONCURRENCY_LIMIT_INITIAL = System.getenv().getOrDefault("CONCURRENCY_LIMIT_INITIAL", "20");
+    private static final String CONCURRENCY_LIMIT_MIN = System.getenv().getOrDefault("CONCURRENCY_LIMIT_MIN", "4");
+    private static final String CONCURRENCY_LIMIT_MAX = System.getenv().getOrDefault("CONCURRENCY_LIMIT_MAX", "200");
+    // Grizzly transport sizing, 0 keeps Grizzly's defaults (selectors = cores, workers = 2 x cores)
+    private static final String GRIZZLY_SELECTORS = System.getenv().getOrDefault("GRIZZLY_SELECTORS", "0");
+    private static final String GRIZZLY_WORKERS = System.getenv().getOrDefault("GRIZZLY_WORKERS", "0");
     
     private static EntityManagerFactory emf;
     private static MeterRegistry meterRegistry;
+    private static ItemCountCache itemCountCache;
+    private static ResponseCache responseCache;
+    private static StockDeltaBuffer stockDeltaBuffer;
+    private static DatabaseExecutor databaseExecutor;
+    private static ConcurrencyLimits concurrencyLimits;
     
     public static EntityManagerFactory getEntityManagerFactory() {
         return emf;
@@ -34,11 +88,55 @@ public class VariantAApplication {
         return meterRegistry;
     }
     
+    /**
+     * Whether connections report to the request's QueryCounter (QUERY_COUNT=true).
+     */
+    public static boolean isQueryCounting() {
+        return "true".equalsIgnoreCase(QUERY_COUNT);
+    }
+    
+    /**
+     * Cached item counts for page totals, or null when COUNT_CACHE=false.
+     */
+    public static ItemCountCache getItemCountCache() {
+        return itemCountCache;
+    }
+    
+    /**
+     * Encoded item list pages, or null unless RESPONSE_CACHE=true.
+     */
+    public static ResponseCache getResponseCache() {
+        return responseCache;
+    }
+    
+    /**
+     * Coalesced stock deltas behind PATCH /items/{id}/stock.
+     */
+    public static StockDeltaBuffer getStockDeltaBuffer() {
+        return stockDeltaBuffer;
+    }
+    
+    /**
+     * Runs the resources' database work, inline or on its own pool (ASYNC_DB=true).
+     */
+    public static DatabaseExecutor getDatabaseExecutor() {
+        return databaseExecutor;
+    }
+    
+    /**
+     * Adaptive limits per endpoint class, or null unless CONCURRENCY_LIMIT=true.
+     */
+    public static ConcurrencyLimits getConcurrencyLimits() {
+        return concurrencyLimits;
+    }
+    
     public static void main(String[] args) {
         try {
             // Initialize Prometheus metrics
             CollectorRegistry collectorRegistry = new CollectorRegistry();
             meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT, collectorRegistry, Clock.SYSTEM);
+            // Same common tags as management.metrics.tags in the Spring variants
+            meterRegistry.config().commonTags("application", "variant-a-jaxrs", "variant", "A");
             
             // Bind JVM metrics
             new ClassLoaderMetrics().bindTo(meterRegistry);
@@ -49,15 +147,114 @@ public class VariantAApplication {
             
             logger.info("Prometheus metrics initialized");
             
+            // Initialize item count cache for page totals
+            if ("true".equalsIgnoreCase(COUNT_CACHE)) {
+                itemCountCache = new ItemCountCache(Long.parseLong(COUNT_CACHE_TTL_SECONDS));
+                bindCountCacheMetrics(itemCountCache, meterRegistry);
+                logger.info("Item count cache enabled (ttl={}s)", COUNT_CACHE_TTL_SECONDS);
+            }
+            
+            // Initialize encoded list page cache
+            if ("true".equalsIgnoreCase(RESPONSE_CACHE)) {
+                responseCache = new ResponseCache(Long.parseLong(RESPONSE_CACHE_MAX_MB) * 1024 * 1024);
+                bindResponseCacheMetrics(responseCache, meterRegistry);
+                logger.info("Response cache enabled (max={} MB)", RESPONSE_CACHE_MAX_MB);
+            }
+            
+            boolean virtualThreads = "true".equalsIgnoreCase(VIRTUAL_THREADS);
+            boolean queryCounting = isQueryCounting();
+            
             // Initialize JPA EntityManagerFactory
-            emf = Persistence.createEntityManagerFactory("benchmark-pu");
+            Map<String, Object> jpaOverrides = new HashMap<>();
+            if (virtualThreads) {
+                // Park virtual threads on a semaphore instead of inside the pool
+                jpaOverrides.put("hibernate.connection.provider_class", PermitHikariConnectionProvider.class.getName());
+            } else if (queryCounting) {
+                jpaOverrides.put("hibernate.connection.provider_class", QueryCountingConnectionProvider.class.getName());
+            }
+            if (queryCounting) {
+                // Statements, rows and JDBC time per request (QueryCountFilter)
+                jpaOverrides.put(QueryCountingConnectionProvider.ENABLED, "true");
+            }
+            boolean secondLevelCache = "true".equalsIgnoreCase(L2_CACHE);
+            if (secondLevelCache) {
+                jpaOverrides.put("hibernate.cache.use_second_level_cache", "true");
+            }
+            boolean hibernateStatistics = "true".equalsIgnoreCase(HIBERNATE_STATISTICS);
+            if (hibernateStatistics) {
+                jpaOverrides.put("hibernate.generate_statistics", "true");
+            }
+            emf = Persistence.createEntityManagerFactory("benchmark-pu", jpaOverrides);
             logger.info("EntityManagerFactory initialized");
+            bindHikariMetrics(emf, meterRegistry);
+            if (hibernateStatistics) {
+                HibernateMetrics.monitor(meterRegistry, emf.unwrap(SessionFactoryImplementor.class), "entityManagerFactory");
+                logger.info("Hibernate statistics enabled");
+            }
+            if (virtualThreads) {
+                bindConnectionPermitMetrics(PermitHikariConnectionProvider.getPermits(), meterRegistry);
+            }
+            if (secondLevelCache) {
+                bindSecondLevelCacheMetrics(emf, meterRegistry);
+                logger.info("Hibernate second level cache enabled");
+            }
+            
+            // Stock deltas are written with plain SQL: evict the touched items and their pages.
+            // On virtual threads the flusher takes the same ConnectionPermits as the provider
+            DataSource dataSource = emf.unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+                    .getService(ConnectionProvider.class).unwrap(DataSource.class);
+            if (virtualThreads) {
+                dataSource = new PermitDataSource(dataSource, PermitHikariConnectionProvider.getPermits());
+            }
+            stockDeltaBuffer = new StockDeltaBuffer(dataSource, Long.parseLong(STOCK_FLUSH_INTERVAL_MS),
+                    Integer.parseInt(STOCK_FLUSH_MAX_PENDING), applied -> {
+                        applied.forEach(a -> emf.getCache().evict(Item.class, a.itemId()));
+                        if (responseCache != null) {
+                            Set<Long> categoryIds = applied.stream()
+                                    .map(StockDeltaBuffer.Applied::categoryId)
+                                    .collect(Collectors.toSet());
+                            responseCache.categoriesChanged(categoryIds);
+                        }
+                    });
+            bindStockDeltaMetrics(stockDeltaBuffer, meterRegistry);
+            
+            // Database work off the Grizzly workers, one thread per pooled connection by default
+            databaseExecutor = new DatabaseExecutor(hikariPoolSize(emf), meterRegistry);
+            if (databaseExecutor.isAsync()) {
+                logger.info("Async database executor enabled ({} threads)", databaseExecutor.threads());
+            }
+            
+            // Load shedding per endpoint class (ConcurrencyLimitFilter)
+            if ("true".equalsIgnoreCase(CONCURRENCY_LIMIT)) {
+                concurrencyLimits = new ConcurrencyLimits(Integer.parseInt(CONCURRENCY_LIMIT_INITIAL),
+                        Integer.parseInt(CONCURRENCY_LIMIT_MIN), Integer.parseInt(CONCURRENCY_LIMIT_MAX));
+                bindConcurrencyLimitMetrics(concurrencyLimits, meterRegistry);
+                logger.info("Adaptive concurrency limits enabled (initial={}, min={}, max={})",
+                        CONCURRENCY_LIMIT_INITIAL, CONCURRENCY_LIMIT_MIN, CONCURRENCY_LIMIT_MAX);
+            }
             
             // Configure Jersey
             ResourceConfig config = new JerseyConfig();
             
-            // Start HTTP server
-            HttpServer server = GrizzlyHttpServerFactory.createHttpServer(URI.create(BASE_URI), config);
+            // Create HTTP server, swap the worker pool before starting it
+            HttpServer server = GrizzlyHttpServerFactory.createHttpServer(URI.create(BASE_URI), config, false);
+            int selectors = Integer.parseInt(GRIZZLY_SELECTORS);
+            int workers = Integer.parseInt(GRIZZLY_WORKERS);
+            for (NetworkListener listener : server.getListeners()) {
+                TCPNIOTransport transport = listener.getTransport();
+                if (selectors > 0) {
+                    transport.setSelectorRunnersCount(selectors);
+                }
+                if (virtualThreads) {
+                    transport.setWorkerThreadPool(Executors.newVirtualThreadPerTaskExecutor());
+                } else if (workers > 0) {
+                    transport.setWorkerThreadPoolConfig(ThreadPoolConfig.defaultConfig()
+                            .setCorePoolSize(workers)
+                            .setMaxPoolSize(workers));
+                }
+            }
+            server.start();
+            logger.info("Execution mode: {} threads", virtualThreads ? "virtual" : "platform");
             
             logger.info("========================================");
             logger.info("Variant A - JAX-RS (Jersey) Started");
@@ -71,6 +268,8 @@ public class VariantAApplication {
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 logger.info("Shutting down server...");
                 server.shutdownNow();
+                stockDeltaBuffer.close();
+                databaseExecutor.close();
                 if (emf != null && emf.isOpen()) {
                     emf.close();
                 }
@@ -85,4 +284,99 @@ public class VariantAApplication {
             System.exit(1);
         }
     }
+    
+    /**
+     * Exports hit/miss, put and eviction counters of each Category/Item region
+     * (cache_gets_total{result="hit|miss"}, cache_evictions_total).
+     */
+    private static void bindSecondLevelCacheMetrics(EntityManagerFactory emf, MeterRegistry registry) {
+        RegionFactory regionFactory = emf.unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+        if (regionFactory instanceof JCacheRegionFactory jcacheRegionFactory) {
+            CacheManager cacheManager = jcacheRegionFactory.getCacheManager();
+            for (String name : cacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, cacheManager.getCache(name));
+            }
+        }
+    }
+    
+    /**
+     * hikaricp_connections_* gauges and acquire/usage timers, tagged with the
+     * pool name as in the Spring variants. The pool is built by Hibernate from string
+     * properties, so the tracker factory is attached once it is running.
+     */
+    private static void bindHikariMetrics(EntityManagerFactory emf, MeterRegistry registry) {
+        ConnectionProvider provider = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(ConnectionProvider.class);
+        if (provider != null && provider.isUnwrappableAs(HikariDataSource.class)) {
+            provider.unwrap(HikariDataSource.class).setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+    }
+    
+    private static int hikariPoolSize(EntityManagerFactory emf) {
+        ConnectionProvider provider = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(ConnectionProvider.class);
+        return provider.unwrap(HikariDataSource.class).getMaximumPoolSize();
+    }
+    
+    private static void bindStockDeltaMetrics(StockDeltaBuffer buffer, MeterRegistry registry) {
+        Gauge.builder("stock.delta.queued", buffer, StockDeltaBuffer::queued)
+                .description("Stock deltas waiting for the next flush")
+                .register(registry);
+    }
+    
+    /**
+     * http.concurrency.limit / .inflight gauges and http.concurrency.rejected
+     * counter, tagged endpoint=read|list|write; same names as in C and D.
+     */
+    private static void bindConcurrencyLimitMetrics(ConcurrencyLimits limits, MeterRegistry registry) {
+        for (ConcurrencyLimits.EndpointClass endpointClass : ConcurrencyLimits.EndpointClass.values()) {
+            AdaptiveLimiter limiter = limits.get(endpointClass);
+            Gauge.builder("http.concurrency.limit", limiter, AdaptiveLimiter::limit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("endpoint", endpointClass.tag())
+                    .register(registry);
+            Gauge.builder("http.concurrency.inflight", limiter, AdaptiveLimiter::inFlight)
+                    .description("Requests holding a concurrency permit")
+                    .tag("endpoint", endpointClass.tag())
+                    .register(registry);
+            FunctionCounter.builder("http.concurrency.rejected", limiter, AdaptiveLimiter::rejected)
+                    .description("Requests shed with 503 at the concurrency limit")
+                    .tag("endpoint", endpointClass.tag())
+                    .register(registry);
+        }
+    }
+    
+    private static void bindConnectionPermitMetrics(ConnectionPermits permits, MeterRegistry registry) {
+        Gauge.builder("jdbc.connection.permits.available", permits, ConnectionPermits::available)
+                .description("Free connection permits in front of the Hikari pool")
+                .register(registry);
+        Gauge.builder("jdbc.connection.permits.queued", permits, ConnectionPermits::queued)
+                .description("Threads parked waiting for a connection permit")
+                .register(registry);
+    }
+    
+    private static void bindCountCacheMetrics(ItemCountCache cache, MeterRegistry registry) {
+        FunctionCounter.builder("item.count.cache.requests", cache, ItemCountCache::hitCount)
+                .tag("result", "hit")
+                .description("Page total lookups served from the item count cache")
+                .register(registry);
+        FunctionCounter.builder("item.count.cache.requests", cache, ItemCountCache::missCount)
+                .tag("result", "miss")
+                .description("Page total lookups that ran a COUNT query")
+                .register(registry);
+        Gauge.builder("item.count.cache.size", cache, ItemCountCache::size)
+                .description("Cached item counts (global + per category)")
+                .register(registry);
+    }
+    
+    /**
+     * cache_gets_total{cache="responses",result="hit|miss"}, evictions, and the bytes held.
+     */
+    private static void bindResponseCacheMetrics(ResponseCache cache, MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.cache(), "responses");
+        Gauge.builder("response.cache.bytes", cache, ResponseCache::bytesHeld)
+                .description("Plain and gzip bytes held by the response cache")
+                .baseUnit("bytes")
+                .register(registry);
+    }
 }
@@ -0,0 +1,62 @@
+package com.benchmark.varianta.config;
+
+import com.benchmark.http.AdaptiveLimiter;
+import com.benchmark.http.ConcurrencyLimits;
+import com.benchmark.varianta.VariantAApplication;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Sheds load in front of the item and category resources when
+ * CONCURRENCY_LIMIT=true: past the adaptive limit of its endpoint class
+ * (read, list, write) a request is answered 503 with Retry-After instead of
+ * queueing for a connection. Runs after ResponseCacheFilter, so cache hits
+ * take no permit; the permit is released, and its latency sampled, when the
+ * response filters run.
+ */
+@Provider
+@Priority(Priorities.USER + 100)
+public class ConcurrencyLimitFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String PERMIT = ConcurrencyLimitFilter.class.getName() + ".permit";
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        ConcurrencyLimits limits = VariantAApplication.getConcurrencyLimits();
+        if (limits == null) {
+            return;
+        }
+        ConcurrencyLimits.EndpointClass endpointClass =
+                ConcurrencyLimits.classify(request.getMethod(), request.getUriInfo().getPath());
+        if (endpointClass == null) {
+            return;
+        }
+        AdaptiveLimiter.Permit permit = limits.get(endpointClass).tryAcquire();
+        if (permit == null) {
+            request.abortWith(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, ConcurrencyLimits.RETRY_AFTER_SECONDS)
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .entity("{\"error\":\"Concurrency limit reached\"}")
+                    .build());
+            return;
+        }
+        request.setProperty(PERMIT, permit);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        AdaptiveLimiter.Permit permit = (AdaptiveLimiter.Permit) request.getProperty(PERMIT);
+        if (permit != null) {
+            request.removeProperty(PERMIT);
+            permit.release();
+        }
+    }
+}
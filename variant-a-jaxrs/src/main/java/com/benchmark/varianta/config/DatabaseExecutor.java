@@ -0,0 +1,153 @@
+package com.benchmark.varianta.config;
+
+import com.benchmark.jdbc.QueryCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.glassfish.jersey.process.internal.RequestContext;
+import org.glassfish.jersey.process.internal.RequestScope;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Where the item and category resources run their database work.
+ * <p>
+ * ASYNC_DB=false (default): inline on the Grizzly worker, as before.
+ * ASYNC_DB=true: the request is suspended and the work queued on a fixed pool
+ * sized to the Hikari pool (DB_EXECUTOR_THREADS, 0 = pool size), so a worker
+ * never blocks on a connection checkout. The queue holds DB_EXECUTOR_QUEUE
+ * requests; past that a request is answered 503 with Retry-After at once, and
+ * one still unanswered after DB_TIMEOUT_MS gets the same 503.
+ */
+public class DatabaseExecutor implements AutoCloseable {
+
+    private static final String ASYNC_DB = System.getenv().getOrDefault("ASYNC_DB", "false");
+    private static final String DB_EXECUTOR_THREADS = System.getenv().getOrDefault("DB_EXECUTOR_THREADS", "0");
+    private static final String DB_EXECUTOR_QUEUE = System.getenv().getOrDefault("DB_EXECUTOR_QUEUE", "100");
+    private static final String DB_TIMEOUT_MS = System.getenv().getOrDefault("DB_TIMEOUT_MS", "5000");
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final Counter rejected;
+    private final Counter timeouts;
+
+    /**
+     * @param poolSize Hikari maximum pool size, the default thread count
+     */
+    public DatabaseExecutor(int poolSize, MeterRegistry registry) {
+        timeoutMs = Long.parseLong(DB_TIMEOUT_MS);
+        if (!"true".equalsIgnoreCase(ASYNC_DB)) {
+            executor = null;
+            rejected = null;
+            timeouts = null;
+            return;
+        }
+
+        int threads = Integer.parseInt(DB_EXECUTOR_THREADS);
+        if (threads <= 0) {
+            threads = poolSize;
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Integer.parseInt(DB_EXECUTOR_QUEUE)),
+                task -> {
+                    Thread thread = new Thread(task, "db-executor-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.prestartAllCoreThreads();
+
+        // executor_active_threads, executor_queued_tasks, executor_seconds, ... {name="db"}
+        new ExecutorServiceMetrics(executor, "db", Tags.empty()).bindTo(registry);
+        rejected = Counter.builder("db.executor.rejected")
+                .description("Requests answered 503 because the database executor queue was full")
+                .register(registry);
+        timeouts = Counter.builder("db.executor.timeouts")
+                .description("Requests answered 503 after DB_TIMEOUT_MS")
+                .register(registry);
+    }
+
+    public boolean isAsync() {
+        return executor != null;
+    }
+
+    public int threads() {
+        return executor != null ? executor.getCorePoolSize() : 0;
+    }
+
+    /**
+     * Resumes the suspended request with the response of work: on the calling
+     * thread in synchronous mode, otherwise on the executor inside the request
+     * scope, so request-scoped injections (the EntityManager) keep working.
+     * An exception from work is mapped like one thrown by the resource method.
+     */
+    public void run(AsyncResponse async, RequestScope scope, Supplier<Response> work) {
+        if (executor == null) {
+            async.resume(work.get());
+            return;
+        }
+
+        async.setTimeoutHandler(timedOut -> {
+            timeouts.increment();
+            timedOut.resume(unavailable("Request timed out"));
+        });
+        async.setTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+
+        // Keeps the scope open until the task ran, even once the worker has returned
+        RequestContext context = scope.referenceCurrent();
+        // Statement accounting follows the request onto the executor thread
+        QueryCounter.Stats queryStats = QueryCounter.end();
+        try {
+            executor.execute(() -> {
+                try {
+                    // Timed out while queued: the 503 is out, skip the database
+                    if (async.isDone()) {
+                        return;
+                    }
+                    QueryCounter.resume(queryStats);
+                    scope.runInScope(context, () -> {
+                        try {
+                            async.resume(work.get());
+                        } catch (RuntimeException e) {
+                            async.resume(e);
+                        }
+                    });
+                } finally {
+                    QueryCounter.end();
+                    context.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            context.release();
+            rejected.increment();
+            async.resume(unavailable("Database executor saturated"));
+        }
+    }
+
+    private static Response unavailable(String error) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .type(MediaType.APPLICATION_JSON_TYPE)
+                .entity("{\"error\":\"" + error + "\"}")
+                .build();
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
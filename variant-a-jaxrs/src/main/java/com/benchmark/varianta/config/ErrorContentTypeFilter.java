@@ -0,0 +1,27 @@
+package com.benchmark.varianta.config;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Error bodies are built as JSON strings ("{\"error\":...}"). When the
+ * negotiated type is a binary one, label them application/json instead of
+ * sending JSON text as CBOR, Smile or protobuf.
+ */
+@Provider
+public class ErrorContentTypeFilter implements ContainerResponseFilter {
+    
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        MediaType type = response.getMediaType();
+        if (response.getEntity() instanceof String && type != null
+                && !type.isCompatible(MediaType.APPLICATION_JSON_TYPE)
+                && !"text".equals(type.getType())) {
+            response.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_TYPE);
+        }
+    }
+}
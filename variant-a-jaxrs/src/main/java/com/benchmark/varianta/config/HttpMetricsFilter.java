@@ -0,0 +1,99 @@
+package com.benchmark.varianta.config;
+
+import com.benchmark.varianta.VariantAApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.ext.Provider;
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.uri.UriTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * http.server.requests timers per route, with the tags Spring Boot puts on
+ * the same meter in C and D (method, uri, status, outcome, exception), a
+ * percentile histogram and the SLO buckets set in their application.yml.
+ * uri is the matched route template (/items/{id}), never the raw path.
+ *
+ * Pre-matching and first in line, so the sample also covers the filters
+ * that answer without a resource (conditional GET, response cache) and 404s.
+ * Error bodies are mapped to responses before this filter sees them, so
+ * exception is always "none".
+ */
+@Provider
+@PreMatching
+@Priority(0)
+public class HttpMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+    
+    static final Duration[] SLOS = {
+        Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50),
+        Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1)
+    };
+    
+    private static final String SAMPLE = HttpMetricsFilter.class.getName() + ".sample";
+    
+    @Override
+    public void filter(ContainerRequestContext request) {
+        MeterRegistry registry = VariantAApplication.getMeterRegistry();
+        if (registry != null) {
+            request.setProperty(SAMPLE, Timer.start(registry));
+        }
+    }
+    
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Timer.Sample sample = (Timer.Sample) request.getProperty(SAMPLE);
+        if (sample == null) {
+            return;
+        }
+        int status = response.getStatus();
+        sample.stop(Timer.builder("http.server.requests")
+                .description("HTTP server request latency per route")
+                .tags(Tags.of(
+                        "method", request.getMethod(),
+                        "uri", uri(request, status),
+                        "status", Integer.toString(status),
+                        "outcome", Outcome.forStatus(status).name(),
+                        "exception", "none"))
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(SLOS)
+                .register(VariantAApplication.getMeterRegistry()));
+    }
+    
+    /**
+     * Route template as Spring MVC reports it: REDIRECTION / NOT_FOUND when
+     * nothing matched, root for "/".
+     */
+    static String uri(ContainerRequestContext request, int status) {
+        if (status / 100 == 3) {
+            return "REDIRECTION";
+        }
+        List<UriTemplate> templates = ((ExtendedUriInfo) request.getUriInfo()).getMatchedTemplates();
+        if (templates.isEmpty()) {
+            return status == 404 ? "NOT_FOUND" : "UNKNOWN";
+        }
+        // Innermost template first
+        StringBuilder route = new StringBuilder();
+        for (int i = templates.size() - 1; i >= 0; i--) {
+            String template = templates.get(i).getTemplate();
+            if (!template.startsWith("/") && (route.length() == 0 || route.charAt(route.length() - 1) != '/')) {
+                route.append('/');
+            }
+            route.append(template);
+        }
+        String uri = route.toString().replaceAll("/{2,}", "/");
+        if (uri.length() > 1 && uri.endsWith("/")) {
+            uri = uri.substring(0, uri.length() - 1);
+        }
+        return uri.equals("/") ? "root" : uri;
+    }
+}
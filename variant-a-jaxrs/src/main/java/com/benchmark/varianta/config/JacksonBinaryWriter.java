@@ -0,0 +1,51 @@
+package com.benchmark.varianta.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * CBOR and Smile bodies for the DTOs, from mappers configured like the JSON
+ * one. The hand-written JSON serializers are not registered here: they
+ * format prices and timestamps as text, which the binary encodings avoid.
+ */
+@Provider
+@Produces({JacksonBinaryWriter.CBOR, JacksonBinaryWriter.SMILE})
+public class JacksonBinaryWriter implements MessageBodyWriter<Object> {
+    
+    public static final String CBOR = "application/cbor";
+    public static final String SMILE = "application/x-jackson-smile";
+    
+    private static final MediaType CBOR_TYPE = MediaType.valueOf(CBOR);
+    
+    // Jersey closes the entity stream itself
+    private final ObjectWriter cborWriter = JerseyConfig.ObjectMapperProvider.configure(new CBORMapper())
+            .writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private final ObjectWriter smileWriter = JerseyConfig.ObjectMapperProvider.configure(new SmileMapper())
+            .writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        // Error bodies are pre-rendered JSON strings (see ErrorContentTypeFilter)
+        return type != String.class;
+    }
+    
+    @Override
+    public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations,
+                        MediaType mediaType, MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException {
+        ObjectWriter writer = mediaType.isCompatible(CBOR_TYPE) ? cborWriter : smileWriter;
+        writer.writeValue(entityStream, value);
+    }
+}
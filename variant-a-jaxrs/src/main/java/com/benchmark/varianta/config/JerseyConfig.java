@@ -1,14 +1,18 @@
 package com.benchmark.varianta.config;
 
+import com.benchmark.json.HandJsonModule;
 import com.benchmark.varianta.resource.CategoryResource;
 import com.benchmark.varianta.resource.ItemResource;
 import com.benchmark.varianta.resource.MetricsResource;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
 import jakarta.ws.rs.ext.ContextResolver;
 import jakarta.ws.rs.ext.Provider;
+import org.glassfish.jersey.internal.inject.AbstractBinder;
 import org.glassfish.jersey.jackson.JacksonFeature;
+import org.glassfish.jersey.process.internal.RequestScoped;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.ServerProperties;
 
@@ -20,10 +24,37 @@ public class JerseyConfig extends ResourceConfig {
         register(ItemResource.class);
         register(MetricsResource.class);
         
+        // Request-scoped EntityManager, read-only for GET (READ_ONLY_GETS=true)
+        register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bindFactory(RequestEntityManager.class)
+                        .to(EntityManager.class)
+                        .in(RequestScoped.class);
+            }
+        });
+        
+        // Per-route http.server.requests timers
+        register(HttpMetricsFilter.class);
+        
+        // Statements per request (QUERY_COUNT=true)
+        register(QueryCountFilter.class);
+        
         // Register Jackson for JSON
         register(JacksonFeature.class);
         register(ObjectMapperProvider.class);
         
+        // Binary representations negotiated on Accept
+        register(JacksonBinaryWriter.class);
+        register(ProtobufWriter.class);
+        register(ErrorContentTypeFilter.class);
+        
+        // Encoded list pages (RESPONSE_CACHE=true)
+        register(ResponseCacheFilter.class);
+        
+        // Load shedding per endpoint class, after the cache (CONCURRENCY_LIMIT=true)
+        register(ConcurrencyLimitFilter.class);
+        
         // Register Bean Validation
         register(org.glassfish.jersey.server.validation.ValidationFeature.class);
         
@@ -36,13 +67,30 @@ public class JerseyConfig extends ResourceConfig {
     
     @Provider
     public static class ObjectMapperProvider implements ContextResolver<ObjectMapper> {
+        // Hand-written serializers for the DTOs instead of Jackson's bean serializers
+        private static final String HAND_JSON_WRITERS = System.getenv().getOrDefault("HAND_JSON_WRITERS", "false");
+        
         private final ObjectMapper mapper;
         
         public ObjectMapperProvider() {
-            mapper = new ObjectMapper();
+            this("true".equalsIgnoreCase(HAND_JSON_WRITERS));
+        }
+        
+        public ObjectMapperProvider(boolean handWriters) {
+            mapper = configure(new ObjectMapper());
+            if (handWriters) {
+                mapper.registerModule(new HandJsonModule());
+            }
+        }
+        
+        /**
+         * Settings shared with the CBOR and Smile mappers of JacksonBinaryWriter.
+         */
+        static ObjectMapper configure(ObjectMapper mapper) {
             mapper.registerModule(new JavaTimeModule());
             mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
             mapper.setSerializationInclusion(com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL);
+            return mapper;
         }
         
         @Override
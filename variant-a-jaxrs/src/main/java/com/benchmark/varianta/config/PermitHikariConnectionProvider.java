@@ -0,0 +1,49 @@
+package com.benchmark.varianta.config;
+
+import com.benchmark.jdbc.ConnectionPermits;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * HikariCP connection provider that guards the pool with {@link ConnectionPermits}.
+ * Selected by VariantAApplication when request handling runs on virtual threads;
+ * connections are still counted when QUERY_COUNT=true.
+ */
+public class PermitHikariConnectionProvider extends QueryCountingConnectionProvider {
+    
+    private static volatile ConnectionPermits permits;
+    
+    public static ConnectionPermits getPermits() {
+        return permits;
+    }
+    
+    @Override
+    public void configure(Map<String, Object> props) {
+        super.configure(props);
+        int poolSize = Integer.parseInt(String.valueOf(props.getOrDefault("hibernate.hikari.maximumPoolSize", "20")));
+        long timeout = Long.parseLong(String.valueOf(props.getOrDefault("hibernate.hikari.connectionTimeout", "30000")));
+        permits = new ConnectionPermits(poolSize, timeout);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        permits.acquire();
+        try {
+            return super.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    @Override
+    public void closeConnection(Connection conn) throws SQLException {
+        try {
+            super.closeConnection(conn);
+        } finally {
+            permits.release();
+        }
+    }
+}
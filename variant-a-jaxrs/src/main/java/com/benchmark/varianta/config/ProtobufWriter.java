@@ -0,0 +1,34 @@
+package com.benchmark.varianta.config;
+
+import com.benchmark.proto.ProtobufEncoder;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * application/x-protobuf bodies for the item and category DTOs and their
+ * pages, in the messages of shared-model's benchmark.proto.
+ */
+@Provider
+@Produces(ProtobufEncoder.MEDIA_TYPE)
+public class ProtobufWriter implements MessageBodyWriter<Object> {
+    
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return ProtobufEncoder.supports(type);
+    }
+    
+    @Override
+    public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations,
+                        MediaType mediaType, MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException {
+        ProtobufEncoder.write(value, entityStream);
+    }
+}
@@ -0,0 +1,102 @@
+package com.benchmark.varianta.config;
+
+import com.benchmark.jdbc.QueryCounter;
+import com.benchmark.varianta.VariantAApplication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statements, rows and JDBC time of each request when QUERY_COUNT=true:
+ * X-Query-Count / X-Query-Rows / X-Query-Time-Ms response headers and
+ * jdbc.request.* meters per route. A request may declare its statement budget
+ * in X-Query-Budget (default QUERY_BUDGET, 0 = none); with QUERY_COUNT_STRICT=true
+ * the statement past it fails and the request answers 500.
+ */
+@Provider
+@PreMatching
+@Priority(1)
+public class QueryCountFilter implements ContainerRequestFilter, ContainerResponseFilter {
+    
+    public static final String BUDGET_HEADER = "X-Query-Budget";
+    
+    private static final String STATS = QueryCountFilter.class.getName() + ".stats";
+    
+    private static final String QUERY_BUDGET = System.getenv().getOrDefault("QUERY_BUDGET", "0");
+    private static final String QUERY_COUNT_STRICT = System.getenv().getOrDefault("QUERY_COUNT_STRICT", "false");
+    
+    static final double[] STATEMENT_SLOS = { 1, 2, 3, 5, 10, 20, 50, 100 };
+    
+    private final int defaultBudget = Integer.parseInt(QUERY_BUDGET);
+    private final boolean strict = "true".equalsIgnoreCase(QUERY_COUNT_STRICT);
+    
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (!VariantAApplication.isQueryCounting()) {
+            return;
+        }
+        String declared = request.getHeaderString(BUDGET_HEADER);
+        int budget = defaultBudget;
+        if (declared != null) {
+            try {
+                budget = Integer.parseInt(declared.trim());
+            } catch (NumberFormatException ignored) {
+                // keep the default budget
+            }
+        }
+        request.setProperty(STATS, QueryCounter.begin(budget, strict));
+    }
+    
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        // The request may have moved to the database executor (ASYNC_DB=true)
+        QueryCounter.end();
+        QueryCounter.Stats stats = (QueryCounter.Stats) request.getProperty(STATS);
+        if (stats == null) {
+            return;
+        }
+        MultivaluedMap<String, Object> headers = response.getHeaders();
+        headers.putSingle("X-Query-Count", stats.statements());
+        headers.putSingle("X-Query-Rows", stats.rows());
+        headers.putSingle("X-Query-Time-Ms", String.format("%.3f", stats.nanos() / 1e6));
+        
+        MeterRegistry registry = VariantAApplication.getMeterRegistry();
+        Tags tags = Tags.of("method", request.getMethod(), "uri", HttpMetricsFilter.uri(request, response.getStatus()));
+        DistributionSummary.builder("jdbc.request.statements")
+                .description("JDBC statements executed per HTTP request")
+                .tags(tags)
+                .serviceLevelObjectives(STATEMENT_SLOS)
+                .register(registry)
+                .record(stats.statements());
+        DistributionSummary.builder("jdbc.request.rows")
+                .description("Rows read or written per HTTP request")
+                .tags(tags)
+                .register(registry)
+                .record(stats.rows());
+        Timer.builder("jdbc.request.time")
+                .description("Time spent executing statements per HTTP request")
+                .tags(tags)
+                .register(registry)
+                .record(stats.nanos(), TimeUnit.NANOSECONDS);
+        if (stats.overBudget()) {
+            headers.putSingle("X-Query-Budget-Exceeded", stats.budget());
+            Counter.builder("jdbc.request.over.budget")
+                    .description("Requests that executed more statements than their budget")
+                    .tags(tags)
+                    .register(registry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.benchmark.varianta.config;
+
+import com.benchmark.jdbc.QueryCountingDataSource;
+import org.hibernate.hikaricp.internal.HikariCPConnectionProvider;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * HikariCP connection provider handing out connections that report to the
+ * request's QueryCounter scope when {@value #ENABLED} is true.
+ * Selected by VariantAApplication when QUERY_COUNT=true.
+ */
+public class QueryCountingConnectionProvider extends HikariCPConnectionProvider {
+    
+    public static final String ENABLED = "benchmark.query_count";
+    
+    private boolean counting;
+    
+    @Override
+    public void configure(Map<String, Object> props) {
+        super.configure(props);
+        counting = Boolean.parseBoolean(String.valueOf(props.get(ENABLED)));
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return counting ? QueryCountingDataSource.counting(connection) : connection;
+    }
+}
@@ -0,0 +1,65 @@
+package com.benchmark.varianta.config;
+
+import com.benchmark.varianta.VariantAApplication;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import org.glassfish.jersey.internal.inject.DisposableSupplier;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+
+/**
+ * One EntityManager per request, injected into the resources as
+ * Provider&lt;EntityManager&gt; and closed when the request scope ends,
+ * after the response (including a streamed export) has been written.
+ * <p>
+ * With READ_ONLY_GETS=true (default) a GET or HEAD gets a read-only session:
+ * entities load without dirty-checking snapshots, FlushMode.MANUAL skips the
+ * flush before each query, and the work runs in a transaction on a connection
+ * marked setReadOnly(true), which the driver opens with BEGIN READ ONLY.
+ * There is nothing to commit, so that transaction is rolled back at the end.
+ */
+public class RequestEntityManager implements DisposableSupplier<EntityManager> {
+
+    private static final String READ_ONLY_GETS = System.getenv().getOrDefault("READ_ONLY_GETS", "true");
+
+    private final Provider<ContainerRequest> request;
+
+    @Inject
+    public RequestEntityManager(Provider<ContainerRequest> request) {
+        this.request = request;
+    }
+
+    @Override
+    public EntityManager get() {
+        EntityManager em = VariantAApplication.getEntityManagerFactory().createEntityManager();
+        if (isReadOnly(request.get().getMethod())) {
+            Session session = em.unwrap(Session.class);
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            // begin() switches auto-commit off; the driver only sends BEGIN with the first statement
+            em.getTransaction().begin();
+            session.doWork(connection -> connection.setReadOnly(true));
+        }
+        return em;
+    }
+
+    @Override
+    public void dispose(EntityManager em) {
+        try {
+            EntityTransaction tx = em.getTransaction();
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+        } finally {
+            em.close();
+        }
+    }
+
+    static boolean isReadOnly(String method) {
+        return "true".equalsIgnoreCase(READ_ONLY_GETS)
+                && ("GET".equals(method) || "HEAD".equals(method));
+    }
+}
@@ -0,0 +1,133 @@
+package com.benchmark.varianta.config;
+
+import com.benchmark.cache.ResponseCache;
+import com.benchmark.varianta.VariantAApplication;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Serves GET /items and /categories/{id}/items from the ResponseCache when
+ * RESPONSE_CACHE=true: a hit is answered before the resource method runs,
+ * gzip-encoded when the client accepts it. On a miss, a 200 body is copied
+ * while Jersey writes it and stored once complete.
+ */
+@Provider
+public class ResponseCacheFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+    
+    private static final String KEY = ResponseCacheFilter.class.getName() + ".key";
+    private static final String STAMP = ResponseCacheFilter.class.getName() + ".stamp";
+    private static final String CONTENT_TYPE = ResponseCacheFilter.class.getName() + ".contentType";
+    private static final String ETAG = ResponseCacheFilter.class.getName() + ".etag";
+    
+    @Override
+    public void filter(ContainerRequestContext request) {
+        ResponseCache cache = VariantAApplication.getResponseCache();
+        if (cache == null || !"GET".equals(request.getMethod())) {
+            return;
+        }
+        ResponseCache.Key key = ResponseCache.keyFor(request.getUriInfo().getPath(),
+                request.getUriInfo().getQueryParameters(), request.getHeaderString(HttpHeaders.ACCEPT));
+        if (key == null) {
+            return;
+        }
+        
+        ResponseCache.Entry entry = cache.get(key);
+        if (entry != null) {
+            request.abortWith(hit(request, entry));
+            return;
+        }
+        request.setProperty(KEY, key);
+        request.setProperty(STAMP, cache.stamp());
+    }
+    
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (request.getProperty(KEY) == null) {
+            return;
+        }
+        if (response.getStatus() != Response.Status.OK.getStatusCode() || response.getMediaType() == null) {
+            request.removeProperty(KEY);
+            return;
+        }
+        request.setProperty(CONTENT_TYPE, response.getMediaType().toString());
+        request.setProperty(ETAG, response.getHeaderString(HttpHeaders.ETAG));
+    }
+    
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        ResponseCache.Key key = (ResponseCache.Key) context.getProperty(KEY);
+        if (key == null) {
+            context.proceed();
+            return;
+        }
+        
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        OutputStream out = context.getOutputStream();
+        context.setOutputStream(new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                copy.write(b);
+            }
+            
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                copy.write(b, off, len);
+            }
+        });
+        context.proceed();
+        
+        VariantAApplication.getResponseCache().put(key, (Long) context.getProperty(STAMP), copy.toByteArray(),
+                (String) context.getProperty(CONTENT_TYPE), (String) context.getProperty(ETAG));
+    }
+    
+    private static Response hit(ContainerRequestContext request, ResponseCache.Entry entry) {
+        // Same validators as the resource: writes that change the page also drop the entry
+        if (entry.etag() != null) {
+            Response.ResponseBuilder notModified = request.getRequest()
+                    .evaluatePreconditions(entityTag(entry.etag()));
+            if (notModified != null) {
+                return notModified.build();
+            }
+        }
+        
+        String acceptEncoding = request.getHeaderString(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        Response.ResponseBuilder builder = Response.ok(gzip ? entry.gzip() : entry.body(), entry.contentType())
+                .header(HttpHeaders.VARY, "Accept, Accept-Encoding")
+                .header("X-Response-Cache", "hit");
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        if (entry.etag() != null) {
+            builder.header(HttpHeaders.ETAG, entry.etag());
+        }
+        return builder.build();
+    }
+    
+    /**
+     * The stored ETag header back as an EntityTag: W/"value" or "value".
+     */
+    private static EntityTag entityTag(String header) {
+        boolean weak = header.startsWith("W/");
+        String quoted = weak ? header.substring(2) : header;
+        String value = quoted.length() >= 2 && quoted.startsWith("\"") && quoted.endsWith("\"")
+                ? quoted.substring(1, quoted.length() - 1)
+                : quoted;
+        return new EntityTag(value, weak);
+    }
+}
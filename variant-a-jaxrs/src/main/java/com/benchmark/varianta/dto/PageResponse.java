@@ -1,5 +1,6 @@
 package com.benchmark.varianta.dto;
 
+import com.benchmark.proto.PageFields;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,13 +10,15 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class PageResponse<T> {
+public class PageResponse<T> implements PageFields {
     
     private List<T> content;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    // Null in slice mode (withTotal=false) and then omitted from the JSON
+    private Long totalElements;
+    private Integer totalPages;
+    private Boolean hasNext;
     private boolean last;
     private boolean first;
     
@@ -30,8 +33,29 @@ public class PageResponse<T> {
             size,
             totalElements,
             totalPages,
+            null,
             last,
             first
         );
     }
+    
+    /**
+     * Slice-style page without a total: built from a result fetched with
+     * size + 1 rows, where the extra row only signals that a next page exists.
+     */
+    public static <T> PageResponse<T> slice(List<T> rows, int page, int size) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        
+        return new PageResponse<>(
+            content,
+            page,
+            size,
+            null,
+            null,
+            hasNext,
+            !hasNext,
+            page == 0
+        );
+    }
 }
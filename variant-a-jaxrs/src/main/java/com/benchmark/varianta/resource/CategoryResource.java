@@ -1,22 +1,37 @@
 package com.benchmark.varianta.resource;
 
+import com.benchmark.cache.ItemCountCache;
+import com.benchmark.cache.ResponseCache;
+import com.benchmark.http.ResourceVersion;
+import com.benchmark.jdbc.CatalogWrites;
 import com.benchmark.model.Category;
+import com.benchmark.model.Item;
+import com.benchmark.proto.ProtobufEncoder;
 import com.benchmark.varianta.VariantAApplication;
+import com.benchmark.varianta.config.JacksonBinaryWriter;
 import com.benchmark.varianta.dto.CategoryDTO;
-import com.benchmark.varianta.dto.ItemDTO;
 import com.benchmark.varianta.dto.PageResponse;
-import com.benchmark.model.Item;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.TypedQuery;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import org.glassfish.jersey.process.internal.RequestScope;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Path("/categories")
@@ -25,103 +40,167 @@ import java.util.stream.Collectors;
 public class CategoryResource {
     
     private static final Logger logger = LoggerFactory.getLogger(CategoryResource.class);
-    private static final String USE_JOIN_FETCH = System.getenv().getOrDefault("USE_JOIN_FETCH", "true");
+    private static final String SELECT_DTO =
+            "SELECT new com.benchmark.varianta.dto.CategoryDTO(c.id, c.code, c.name, c.updatedAt) FROM Category c";
+    
+    // Request-scoped, closed when the request ends (RequestEntityManager)
+    @Inject
+    private Provider<EntityManager> entityManager;
+    
+    @Inject
+    private RequestScope requestScope;
+    
+    /**
+     * Answers on the database executor when ASYNC_DB=true, inline otherwise.
+     */
+    private void run(AsyncResponse async, Supplier<Response> work) {
+        VariantAApplication.getDatabaseExecutor().run(async, requestScope, work);
+    }
     
     @GET
-    public Response getAll(
+    @Produces({MediaType.APPLICATION_JSON, ProtobufEncoder.MEDIA_TYPE,
+            JacksonBinaryWriter.CBOR, JacksonBinaryWriter.SMILE})
+    public void getAll(
             @QueryParam("page") @DefaultValue("0") int page,
-            @QueryParam("size") @DefaultValue("20") int size) {
+            @QueryParam("size") @DefaultValue("20") int size,
+            @Context Request request,
+            @Suspended AsyncResponse async) {
+        run(async, () -> getAll(page, size, request));
+    }
+    
+    private Response getAll(int page, int size, Request request) {
         
-        EntityManager em = VariantAApplication.getEntityManagerFactory().createEntityManager();
-        try {
-            // Get total count
-            Long total = em.createQuery("SELECT COUNT(c) FROM Category c", Long.class)
-                    .getSingleResult();
-            
-            // Get paginated results
-            TypedQuery<Category> query = em.createQuery("SELECT c FROM Category c", Category.class);
+        EntityManager em = entityManager.get();
+        // Get total count
+        Long total = em.createQuery("SELECT COUNT(c) FROM Category c", Long.class)
+                .getSingleResult();
+        
+        ResourceVersion version = null;
+        if (ConditionalGet.enabled()) {
+            // Timestamp-only rows of the same window, plus the total
+            version = ResourceVersion.ofRows(em.createQuery(
+                    "SELECT c.id, c.updatedAt FROM Category c ORDER BY c.id", Object[].class)
+                    .setFirstResult(page * size)
+                    .setMaxResults(size)
+                    .getResultList())
+                    .add(total);
+            Response notModified = ConditionalGet.notModified(request, version);
+            if (notModified != null) {
+                return notModified;
+            }
+        }
+        
+        // Get paginated results, projected or as entities (USE_DTO_PROJECTION);
+        // ordered like the version query only when it ran
+        String order = version != null ? " ORDER BY c.id" : "";
+        List<CategoryDTO> categories;
+        if (ItemResource.dtoProjection()) {
+            categories = em.createQuery(SELECT_DTO + order, CategoryDTO.class)
+                    .setFirstResult(page * size)
+                    .setMaxResults(size)
+                    .getResultList();
+        } else {
+            TypedQuery<Category> query = em.createQuery("SELECT c FROM Category c" + order, Category.class);
             query.setFirstResult(page * size);
             query.setMaxResults(size);
             
-            List<CategoryDTO> categories = query.getResultList().stream()
+            categories = query.getResultList().stream()
                     .map(CategoryDTO::fromEntity)
                     .collect(Collectors.toList());
-            
-            PageResponse<CategoryDTO> response = PageResponse.of(categories, page, size, total);
-            return Response.ok(response).build();
-            
-        } finally {
-            em.close();
         }
+        
+        PageResponse<CategoryDTO> response = PageResponse.of(categories, page, size, total);
+        return ConditionalGet.tagged(Response.ok(response), version).build();
     }
     
     @GET
     @Path("/{id}")
-    public Response getById(@PathParam("id") Long id) {
-        EntityManager em = VariantAApplication.getEntityManagerFactory().createEntityManager();
-        try {
-            Category category = em.find(Category.class, id);
-            if (category == null) {
+    @Produces({MediaType.APPLICATION_JSON, ProtobufEncoder.MEDIA_TYPE,
+            JacksonBinaryWriter.CBOR, JacksonBinaryWriter.SMILE})
+    public void getById(@PathParam("id") Long id, @Context Request request, @Suspended AsyncResponse async) {
+        run(async, () -> getById(id, request));
+    }
+    
+    private Response getById(Long id, Request request) {
+        EntityManager em = entityManager.get();
+        ResourceVersion version = null;
+        if (ConditionalGet.enabled()) {
+            List<Object[]> rows = em.createQuery(
+                    "SELECT c.id, c.updatedAt FROM Category c WHERE c.id = :id", Object[].class)
+                    .setParameter("id", id)
+                    .getResultList();
+            if (rows.isEmpty()) {
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity("{\"error\":\"Category not found\"}")
                         .build();
             }
-            
-            return Response.ok(CategoryDTO.fromEntity(category)).build();
-            
-        } finally {
-            em.close();
+            version = ResourceVersion.ofRows(rows);
+            Response notModified = ConditionalGet.notModified(request, version);
+            if (notModified != null) {
+                return notModified;
+            }
         }
+        
+        CategoryDTO category;
+        if (ItemResource.dtoProjection()) {
+            category = em.createQuery(SELECT_DTO + " WHERE c.id = :id", CategoryDTO.class)
+                    .setParameter("id", id)
+                    .getResultStream()
+                    .findFirst()
+                    .orElse(null);
+        } else {
+            Category entity = em.find(Category.class, id);
+            category = entity != null ? CategoryDTO.fromEntity(entity) : null;
+        }
+        if (category == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("{\"error\":\"Category not found\"}")
+                    .build();
+        }
+        
+        return ConditionalGet.tagged(Response.ok(category), version).build();
     }
     
     @GET
     @Path("/{id}/items")
-    public Response getItemsByCategory(
+    @Produces({MediaType.APPLICATION_JSON, ProtobufEncoder.MEDIA_TYPE,
+            JacksonBinaryWriter.CBOR, JacksonBinaryWriter.SMILE})
+    public void getItemsByCategory(
             @PathParam("id") Long id,
+            @QueryParam("after") String after,
             @QueryParam("page") @DefaultValue("0") int page,
-            @QueryParam("size") @DefaultValue("20") int size) {
+            @QueryParam("size") @DefaultValue("20") int size,
+            @QueryParam("withTotal") @DefaultValue("true") boolean withTotal,
+            @Context Request request,
+            @Suspended AsyncResponse async) {
+        run(async, () -> getItemsByCategory(id, after, page, size, withTotal, request));
+    }
+    
+    private Response getItemsByCategory(Long id, String after, int page, int size, boolean withTotal, Request request) {
         
-        EntityManager em = VariantAApplication.getEntityManagerFactory().createEntityManager();
-        try {
-            // Check if category exists
-            Category category = em.find(Category.class, id);
-            if (category == null) {
-                return Response.status(Response.Status.NOT_FOUND)
-                        .entity("{\"error\":\"Category not found\"}")
-                        .build();
-            }
-            
-            // Get total count
-            Long total = em.createQuery(
-                    "SELECT COUNT(i) FROM Item i WHERE i.category.id = :categoryId", Long.class)
-                    .setParameter("categoryId", id)
-                    .getSingleResult();
-            
-            // Get paginated results with optional JOIN FETCH
-            String jpql = "true".equalsIgnoreCase(USE_JOIN_FETCH)
-                    ? "SELECT i FROM Item i JOIN FETCH i.category WHERE i.category.id = :categoryId"
-                    : "SELECT i FROM Item i WHERE i.category.id = :categoryId";
-            
-            TypedQuery<Item> query = em.createQuery(jpql, Item.class);
-            query.setParameter("categoryId", id);
-            query.setFirstResult(page * size);
-            query.setMaxResults(size);
-            
-            List<ItemDTO> items = query.getResultList().stream()
-                    .map(ItemDTO::fromEntity)
-                    .collect(Collectors.toList());
-            
-            PageResponse<ItemDTO> response = PageResponse.of(items, page, size, total);
-            return Response.ok(response).build();
-            
-        } finally {
-            em.close();
+        EntityManager em = entityManager.get();
+        // Check if category exists
+        Category category = em.find(Category.class, id);
+        if (category == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("{\"error\":\"Category not found\"}")
+                    .build();
+        }
+        
+        if (after != null) {
+            return ItemResource.getAfter(id, after, size, em);
         }
+        
+        return ItemResource.getByCategory(id, page, size, withTotal, request, em);
     }
     
     @POST
-    public Response create(@Valid CategoryDTO dto) {
-        EntityManager em = VariantAApplication.getEntityManagerFactory().createEntityManager();
+    public void create(@Valid CategoryDTO dto, @Suspended AsyncResponse async) {
+        run(async, () -> create(dto));
+    }
+    
+    private Response create(CategoryDTO dto) {
+        EntityManager em = entityManager.get();
         EntityTransaction tx = em.getTransaction();
         
         try {
@@ -144,35 +223,41 @@ public class CategoryResource {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity("{\"error\":\"" + e.getMessage() + "\"}")
                     .build();
-        } finally {
-            em.close();
         }
     }
     
     @PUT
     @Path("/{id}")
-    public Response update(@PathParam("id") Long id, @Valid CategoryDTO dto) {
-        EntityManager em = VariantAApplication.getEntityManagerFactory().createEntityManager();
+    public void update(@PathParam("id") Long id, @Valid CategoryDTO dto, @Suspended AsyncResponse async) {
+        run(async, () -> update(id, dto));
+    }
+    
+    private Response update(Long id, CategoryDTO dto) {
+        EntityManager em = entityManager.get();
         EntityTransaction tx = em.getTransaction();
         
         try {
             tx.begin();
             
-            Category category = em.find(Category.class, id);
-            if (category == null) {
+            // One UPDATE ... RETURNING: no load before the write
+            LocalDateTime updatedAt = em.unwrap(Session.class).doReturningWork(connection ->
+                    CatalogWrites.updateCategory(connection, id, dto.getCode(), dto.getName()));
+            if (updatedAt == null) {
                 tx.rollback();
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity("{\"error\":\"Category not found\"}")
                         .build();
             }
-            
-            category.setCode(dto.getCode());
-            category.setName(dto.getName());
-            em.merge(category);
-            
             tx.commit();
             
-            return Response.ok(CategoryDTO.fromEntity(category)).build();
+            em.getEntityManagerFactory().getCache().evict(Category.class, id);
+            // Item pages embed the category code and name
+            ResponseCache responseCache = VariantAApplication.getResponseCache();
+            if (responseCache != null) {
+                responseCache.categoriesChanged(id);
+            }
+
+            return Response.ok(new CategoryDTO(id, dto.getCode(), dto.getName(), updatedAt)).build();
                     
         } catch (Exception e) {
             if (tx.isActive()) {
@@ -182,31 +267,45 @@ public class CategoryResource {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity("{\"error\":\"" + e.getMessage() + "\"}")
                     .build();
-        } finally {
-            em.close();
         }
     }
     
     @DELETE
     @Path("/{id}")
-    public Response delete(@PathParam("id") Long id) {
-        EntityManager em = VariantAApplication.getEntityManagerFactory().createEntityManager();
+    public void delete(@PathParam("id") Long id, @Suspended AsyncResponse async) {
+        run(async, () -> delete(id));
+    }
+    
+    private Response delete(Long id) {
+        EntityManager em = entityManager.get();
         EntityTransaction tx = em.getTransaction();
         
         try {
             tx.begin();
             
-            Category category = em.find(Category.class, id);
-            if (category == null) {
+            // Items and the category go in one statement instead of one DELETE per
+            // row through the Category.items cascade; a zero row count is a 404
+            boolean deleted = em.unwrap(Session.class).doReturningWork(connection ->
+                    CatalogWrites.deleteCategory(connection, id));
+            if (!deleted) {
                 tx.rollback();
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity("{\"error\":\"Category not found\"}")
                         .build();
             }
-            
-            em.remove(category);
             tx.commit();
             
+            em.getEntityManagerFactory().getCache().evict(Category.class, id);
+            em.getEntityManagerFactory().getCache().evict(Item.class);
+            ItemCountCache countCache = VariantAApplication.getItemCountCache();
+            if (countCache != null) {
+                countCache.categoryRemoved(id);
+            }
+            ResponseCache responseCache = VariantAApplication.getResponseCache();
+            if (responseCache != null) {
+                responseCache.categoriesChanged(id);
+            }
+            
             return Response.noContent().build();
                     
         } catch (Exception e) {
@@ -217,8 +316,6 @@ public class CategoryResource {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity("{\"error\":\"" + e.getMessage() + "\"}")
                     .build();
-        } finally {
-            em.close();
         }
     }
 }
@@ -0,0 +1,70 @@
+package com.benchmark.varianta.resource;
+
+import com.benchmark.http.ResourceVersion;
+import com.benchmark.proto.ProtobufEncoder;
+import com.benchmark.varianta.config.JacksonBinaryWriter;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Variant;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Weak ETag / Last-Modified handling shared by the resources.
+ * Off unless CONDITIONAL_GET=true: the version query is an extra statement
+ * on every GET. The tag names the negotiated media type and the responses
+ * carry Vary: Accept.
+ */
+final class ConditionalGet {
+    
+    private static final String CONDITIONAL_GET = System.getenv().getOrDefault("CONDITIONAL_GET", "false");
+    
+    // The @Produces list of the tagged resource methods, in the same order
+    private static final List<Variant> REPRESENTATIONS = Variant.mediaTypes(
+            MediaType.APPLICATION_JSON_TYPE,
+            MediaType.valueOf(ProtobufEncoder.MEDIA_TYPE),
+            MediaType.valueOf(JacksonBinaryWriter.CBOR),
+            MediaType.valueOf(JacksonBinaryWriter.SMILE)).build();
+    
+    private ConditionalGet() {
+    }
+    
+    static boolean enabled() {
+        return "true".equalsIgnoreCase(CONDITIONAL_GET);
+    }
+    
+    /**
+     * Ties the version to the representation negotiated from Accept, then
+     * evaluates the preconditions.
+     *
+     * @return a 304 response when If-None-Match / If-Modified-Since still match, otherwise null
+     */
+    static Response notModified(Request request, ResourceVersion version) {
+        Variant variant = request.selectVariant(REPRESENTATIONS);
+        version.representation((variant != null ? variant.getMediaType() : MediaType.APPLICATION_JSON_TYPE).toString());
+        EntityTag etag = new EntityTag(version.tag(), true);
+        Response.ResponseBuilder builder = version.lastModified() != null
+                ? request.evaluatePreconditions(Date.from(version.lastModified()), etag)
+                : request.evaluatePreconditions(etag);
+        return builder != null ? builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build() : null;
+    }
+    
+    /**
+     * Adds the validators to a 200 response; version is null when disabled.
+     */
+    static Response.ResponseBuilder tagged(Response.ResponseBuilder builder, ResourceVersion version) {
+        builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (version == null) {
+            return builder;
+        }
+        builder.tag(new EntityTag(version.tag(), true));
+        if (version.lastModified() != null) {
+            builder.lastModified(Date.from(version.lastModified()));
+        }
+        return builder;
+    }
+}
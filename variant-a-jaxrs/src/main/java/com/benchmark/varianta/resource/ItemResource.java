@@ -1,22 +1,73 @@
 package com.benchmark.varianta.resource;
 
+import com.benchmark.cache.ItemCountCache;
+import com.benchmark.cache.ResponseCache;
+import com.benchmark.dto.BatchResult;
+import com.benchmark.dto.ImportResult;
+import com.benchmark.dto.KeysetCursor;
+import com.benchmark.dto.StockDelta;
+import com.benchmark.http.ResourceVersion;
+import com.benchmark.jdbc.CatalogWrites;
+import com.benchmark.jdbc.ItemCopyImport;
+import com.benchmark.jdbc.StockDeltaBuffer;
 import com.benchmark.model.Category;
 import com.benchmark.model.Item;
+import com.benchmark.proto.ProtobufEncoder;
 import com.benchmark.varianta.VariantAApplication;
+import com.benchmark.varianta.config.JacksonBinaryWriter;
+import com.benchmark.dto.CursorPageResponse;
 import com.benchmark.varianta.dto.ItemDTO;
 import com.benchmark.varianta.dto.PageResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.TypedQuery;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.ext.Providers;
+import org.glassfish.jersey.process.internal.RequestScope;
+import org.hibernate.JDBCException;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Path("/items")
 @Produces(MediaType.APPLICATION_JSON)
@@ -25,94 +76,355 @@ public class ItemResource {
     
     private static final Logger logger = LoggerFactory.getLogger(ItemResource.class);
     private static final String USE_JOIN_FETCH = System.getenv().getOrDefault("USE_JOIN_FETCH", "true");
+    // true selects reads straight into ItemDTO; false (baseline) loads entities (JOIN FETCH or not) and copies them
+    private static final String USE_DTO_PROJECTION = System.getenv().getOrDefault("USE_DTO_PROJECTION", "false");
+    // Constructor-expression projection: no managed entity, persistence context entry or snapshot per row
+    private static final String SELECT_DTO = "SELECT new com.benchmark.varianta.dto.ItemDTO(i.id, i.sku, i.name,"
+            + " i.price, i.stock, c.id, c.code, c.name, i.updatedAt) FROM Item i JOIN i.category c";
+    private static final String BATCH_MAX_ROWS = System.getenv().getOrDefault("BATCH_MAX_ROWS", "1000");
+    // Longest a durable stock delta waits for its flush before answering 202 (still queued)
+    private static final String STOCK_ACK_TIMEOUT_MS = System.getenv().getOrDefault("STOCK_ACK_TIMEOUT_MS", "5000");
+    // Rows per flush/clear; each flush goes out in hibernate.jdbc.batch_size statements
+    private static final int BATCH_CHUNK = 100;
+    private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+    // Rows per round trip of the export cursor
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    
+    // Request-scoped, closed when the request ends (RequestEntityManager)
+    @Inject
+    private Provider<EntityManager> entityManager;
+    
+    @Inject
+    private RequestScope requestScope;
+    
+    /**
+     * Answers on the database executor when ASYNC_DB=true, inline otherwise.
+     */
+    private void run(AsyncResponse async, Supplier<Response> work) {
+        VariantAApplication.getDatabaseExecutor().run(async, requestScope, work);
+    }
     
     @GET
-    public Response getAll(
+    @Produces({MediaType.APPLICATION_JSON, ProtobufEncoder.MEDIA_TYPE,
+            JacksonBinaryWriter.CBOR, JacksonBinaryWriter.SMILE})
+    public void getAll(
             @QueryParam("categoryId") Long categoryId,
+            @QueryParam("after") String after,
             @QueryParam("page") @DefaultValue("0") int page,
-            @QueryParam("size") @DefaultValue("20") int size) {
+            @QueryParam("size") @DefaultValue("20") int size,
+            @QueryParam("withTotal") @DefaultValue("true") boolean withTotal,
+            @Context Request request,
+            @Suspended AsyncResponse async) {
+        run(async, () -> getAll(categoryId, after, page, size, withTotal, request));
+    }
+    
+    private Response getAll(Long categoryId, String after, int page, int size, boolean withTotal, Request request) {
         
-        EntityManager em = VariantAApplication.getEntityManagerFactory().createEntityManager();
-        try {
-            if (categoryId != null) {
-                return getByCategory(categoryId, page, size, em);
-            }
-            
-            // Get total count
-            Long total = em.createQuery("SELECT COUNT(i) FROM Item i", Long.class)
-                    .getSingleResult();
-            
-            // Get paginated results with optional JOIN FETCH
-            String jpql = "true".equalsIgnoreCase(USE_JOIN_FETCH)
-                    ? "SELECT i FROM Item i JOIN FETCH i.category"
-                    : "SELECT i FROM Item i";
-            
-            TypedQuery<Item> query = em.createQuery(jpql, Item.class);
-            query.setFirstResult(page * size);
-            query.setMaxResults(size);
-            
-            List<ItemDTO> items = query.getResultList().stream()
-                    .map(ItemDTO::fromEntity)
-                    .collect(Collectors.toList());
-            
-            PageResponse<ItemDTO> response = PageResponse.of(items, page, size, total);
-            return Response.ok(response).build();
-            
-        } finally {
-            em.close();
+        EntityManager em = entityManager.get();
+        if (after != null) {
+            return getAfter(categoryId, after, size, em);
         }
+        
+        if (categoryId != null) {
+            return getByCategory(categoryId, page, size, withTotal, request, em);
+        }
+        
+        TypedQuery<Object[]> versions = em.createQuery(
+                "SELECT i.id, i.updatedAt, c.updatedAt FROM Item i JOIN i.category c ORDER BY i.id",
+                Object[].class);
+        return toPage(em, "", Map.of(), versions, page, size, withTotal,
+                () -> countItems(null, em), request);
     }
     
-    private Response getByCategory(Long categoryId, int page, int size, EntityManager em) {
-        // Get total count
-        Long total = em.createQuery(
-                "SELECT COUNT(i) FROM Item i WHERE i.category.id = :categoryId", Long.class)
-                .setParameter("categoryId", categoryId)
-                .getSingleResult();
+    static Response getByCategory(Long categoryId, int page, int size, boolean withTotal,
+                                  Request request, EntityManager em) {
+        TypedQuery<Object[]> versions = em.createQuery(
+                "SELECT i.id, i.updatedAt, c.updatedAt FROM Item i JOIN i.category c"
+                        + " WHERE c.id = :categoryId ORDER BY i.id",
+                Object[].class);
+        versions.setParameter("categoryId", categoryId);
+        return toPage(em, " WHERE i.category.id = :categoryId", Map.of("categoryId", categoryId),
+                versions, page, size, withTotal, () -> countItems(categoryId, em), request);
+    }
+    
+    /**
+     * Runs an offset page query. With withTotal=false no COUNT is needed:
+     * one extra row is read instead to tell whether a next page exists.
+     * With conditional GET on, pages are ordered by id so the timestamp-only
+     * version query sees the same rows, and a matching If-None-Match returns
+     * 304 before the page is loaded; off, they stay unordered like B, D and E.
+     */
+    private static Response toPage(EntityManager em, String where, Map<String, Object> params,
+                                   TypedQuery<Object[]> versions, int page, int size, boolean withTotal,
+                                   LongSupplier total, Request request) {
+        Long totalElements = withTotal ? total.getAsLong() : null;
+        
+        ResourceVersion version = null;
+        if (ConditionalGet.enabled()) {
+            // One row past the page so a change in hasNext also changes the tag
+            versions.setFirstResult(page * size);
+            versions.setMaxResults(size + 1);
+            version = ResourceVersion.ofRows(versions.getResultList());
+            if (totalElements != null) {
+                version.add(totalElements);
+            }
+            Response notModified = ConditionalGet.notModified(request, version);
+            if (notModified != null) {
+                return notModified;
+            }
+        }
         
-        // Get paginated results with optional JOIN FETCH
-        String jpql = "true".equalsIgnoreCase(USE_JOIN_FETCH)
-                ? "SELECT i FROM Item i JOIN FETCH i.category WHERE i.category.id = :categoryId"
-                : "SELECT i FROM Item i WHERE i.category.id = :categoryId";
+        String order = version != null ? " ORDER BY i.id" : "";
+        List<ItemDTO> items = findItems(em, where + order, params, page * size, withTotal ? size : size + 1);
         
-        TypedQuery<Item> query = em.createQuery(jpql, Item.class);
-        query.setParameter("categoryId", categoryId);
-        query.setFirstResult(page * size);
-        query.setMaxResults(size);
+        PageResponse<ItemDTO> response = withTotal
+                ? PageResponse.of(items, page, size, totalElements)
+                : PageResponse.slice(items, page, size);
+        return ConditionalGet.tagged(Response.ok(response), version).build();
+    }
+    
+    /**
+     * Items matching the filter (written against i and i.category, with
+     * any ORDER BY): loaded as entities (JOIN FETCH per USE_JOIN_FETCH) and
+     * copied, or with USE_DTO_PROJECTION=true selected straight into ItemDTO.
+     */
+    private static List<ItemDTO> findItems(EntityManager em, String where, Map<String, Object> params,
+                                           int first, int max) {
+        if (dtoProjection()) {
+            TypedQuery<ItemDTO> query = em.createQuery(SELECT_DTO + where, ItemDTO.class);
+            params.forEach((name, value) -> query.setParameter(name, value));
+            return query.setFirstResult(first).setMaxResults(max).getResultList();
+        }
         
-        List<ItemDTO> items = query.getResultList().stream()
+        String select = "true".equalsIgnoreCase(USE_JOIN_FETCH)
+                ? "SELECT i FROM Item i JOIN FETCH i.category"
+                : "SELECT i FROM Item i";
+        TypedQuery<Item> query = em.createQuery(select + where, Item.class);
+        params.forEach((name, value) -> query.setParameter(name, value));
+        return query.setFirstResult(first).setMaxResults(max).getResultList().stream()
                 .map(ItemDTO::fromEntity)
                 .collect(Collectors.toList());
+    }
+    
+    static boolean dtoProjection() {
+        return "true".equalsIgnoreCase(USE_DTO_PROJECTION);
+    }
+    
+    /**
+     * Item count for page totals, served from the count cache when enabled.
+     */
+    private static long countItems(Long categoryId, EntityManager em) {
+        LongSupplier loader = categoryId == null
+                ? () -> em.createQuery("SELECT COUNT(i) FROM Item i", Long.class)
+                        .getSingleResult()
+                : () -> em.createQuery(
+                        "SELECT COUNT(i) FROM Item i WHERE i.category.id = :categoryId", Long.class)
+                        .setParameter("categoryId", categoryId)
+                        .getSingleResult();
         
-        PageResponse<ItemDTO> response = PageResponse.of(items, page, size, total);
-        return Response.ok(response).build();
+        ItemCountCache cache = VariantAApplication.getItemCountCache();
+        if (cache == null) {
+            return loader.getAsLong();
+        }
+        return categoryId == null
+                ? cache.countAll(loader)
+                : cache.countByCategory(categoryId, loader);
     }
     
+    /**
+     * Keyset (seek) page: reads size + 1 rows past the cursor so the cost
+     * stays flat no matter how deep the client has paged.
+     */
+    static Response getAfter(Long categoryId, String after, int size, EntityManager em) {
+        if (!KeysetCursor.isValidSize(size)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\":\"" + KeysetCursor.INVALID_SIZE + "\"}")
+                    .build();
+        }
+        long afterId;
+        try {
+            afterId = KeysetCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\":\"Invalid cursor\"}")
+                    .build();
+        }
+        
+        List<ItemDTO> items = categoryId != null
+                ? findItems(em, " WHERE i.category.id = :categoryId AND i.id > :afterId ORDER BY i.id",
+                        Map.of("categoryId", categoryId, "afterId", afterId), 0, size + 1)
+                : findItems(em, " WHERE i.id > :afterId ORDER BY i.id", Map.of("afterId", afterId), 0, size + 1);
+        
+        return Response.ok(CursorPageResponse.of(items, size, ItemDTO::getId)).build();
+    }
+    
+    /**
+     * Every matching item as NDJSON, one object per line, in id order. Rows
+     * come through a server-side cursor (JDBC fetch size inside a read-only
+     * transaction) straight into DTOs, or as entities detached once written,
+     * so heap use does not grow with the number of rows exported.
+     */
     @GET
-    @Path("/{id}")
-    public Response getById(@PathParam("id") Long id) {
-        EntityManager em = VariantAApplication.getEntityManagerFactory().createEntityManager();
+    @Path("/export")
+    @Produces(NDJSON)
+    public Response export(
+            @QueryParam("categoryId") Long categoryId,
+            @QueryParam("updatedSince") String updatedSince,
+            @Context Providers providers) {
+        
+        LocalDateTime since;
         try {
-            Item item = em.find(Item.class, id);
-            if (item == null) {
-                return Response.status(Response.Status.NOT_FOUND)
-                        .entity("{\"error\":\"Item not found\"}")
-                        .build();
+            since = updatedSince != null ? LocalDateTime.parse(updatedSince) : null;
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .entity("{\"error\":\"Invalid updatedSince\"}")
+                    .build();
+        }
+        
+        ObjectMapper mapper = providers.getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE)
+                .getContext(ItemDTO.class);
+        // Written inside the request scope: the request's read-only EntityManager is still open
+        StreamingOutput body = out -> exportTo(out, entityManager.get(), categoryId, since, mapper);
+        return Response.ok(body).build();
+    }
+    
+    private static void exportTo(OutputStream out, EntityManager em, Long categoryId, LocalDateTime since,
+                                 ObjectMapper mapper) throws IOException {
+        List<String> filters = new ArrayList<>();
+        if (categoryId != null) {
+            filters.add("i.category.id = :categoryId");
+        }
+        if (since != null) {
+            filters.add("i.updatedAt > :since");
+        }
+        // Entities always JOIN FETCH: one row per item instead of a category lookup
+        // per row; the fetched categories stay managed, bounded by the category count
+        boolean projection = dtoProjection();
+        String jpql = (projection ? SELECT_DTO : "SELECT i FROM Item i JOIN FETCH i.category")
+                + (filters.isEmpty() ? "" : " WHERE " + String.join(" AND ", filters))
+                + " ORDER BY i.id";
+        
+        // PostgreSQL only opens a cursor for the fetch size with auto-commit off;
+        // a GET already runs in the read-only transaction when READ_ONLY_GETS=true
+        EntityTransaction tx = em.getTransaction();
+        boolean ownTransaction = !tx.isActive();
+        ObjectWriter writer = mapper.writerFor(ItemDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        
+        try {
+            if (ownTransaction) {
+                tx.begin();
             }
             
-            // Force category loading
-            item.getCategory().getId();
+            // Entities are copied and detached as they stream past
+            Stream<ItemDTO> rows = projection
+                    ? exportQuery(em, jpql, ItemDTO.class, categoryId, since).getResultStream()
+                    : exportQuery(em, jpql, Item.class, categoryId, since).getResultStream()
+                            .map(item -> {
+                                ItemDTO dto = ItemDTO.fromEntity(item);
+                                em.detach(item);
+                                return dto;
+                            });
             
-            return Response.ok(ItemDTO.fromEntity(item)).build();
+            try (rows; JsonGenerator gen = mapper.createGenerator(out)) {
+                gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                gen.setRootValueSeparator(null);
+                
+                Iterator<ItemDTO> it = rows.iterator();
+                while (it.hasNext()) {
+                    writer.writeValue(gen, it.next());
+                    gen.writeRaw('\n');
+                }
+            }
             
+            if (ownTransaction) {
+                tx.commit();
+            }
+        } catch (RuntimeException e) {
+            // Headers are already sent: the client sees a truncated stream
+            logger.error("Error exporting items", e);
+            throw e;
         } finally {
-            em.close();
+            if (ownTransaction && tx.isActive()) {
+                tx.rollback();
+            }
+        }
+    }
+    
+    private static <T> TypedQuery<T> exportQuery(EntityManager em, String jpql, Class<T> type,
+                                                 Long categoryId, LocalDateTime since) {
+        TypedQuery<T> query = em.createQuery(jpql, type)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (categoryId != null) {
+            query.setParameter("categoryId", categoryId);
+        }
+        if (since != null) {
+            query.setParameter("since", since);
         }
+        return query;
+    }
+    
+    @GET
+    @Path("/{id}")
+    @Produces({MediaType.APPLICATION_JSON, ProtobufEncoder.MEDIA_TYPE,
+            JacksonBinaryWriter.CBOR, JacksonBinaryWriter.SMILE})
+    public void getById(@PathParam("id") Long id, @Context Request request, @Suspended AsyncResponse async) {
+        run(async, () -> getById(id, request));
+    }
+    
+    private Response getById(Long id, Request request) {
+        EntityManager em = entityManager.get();
+        ResourceVersion version = null;
+        if (ConditionalGet.enabled()) {
+            List<Object[]> rows = em.createQuery(
+                    "SELECT i.id, i.updatedAt, c.updatedAt FROM Item i JOIN i.category c WHERE i.id = :id",
+                    Object[].class)
+                    .setParameter("id", id)
+                    .getResultList();
+            if (rows.isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("{\"error\":\"Item not found\"}")
+                        .build();
+            }
+            version = ResourceVersion.ofRows(rows);
+            Response notModified = ConditionalGet.notModified(request, version);
+            if (notModified != null) {
+                return notModified;
+            }
+        }
+        
+        ItemDTO item;
+        if (dtoProjection()) {
+            item = em.createQuery(SELECT_DTO + " WHERE i.id = :id", ItemDTO.class)
+                    .setParameter("id", id)
+                    .getResultStream()
+                    .findFirst()
+                    .orElse(null);
+        } else {
+            // em.find goes through the L2 cache when L2_CACHE=true
+            Item entity = em.find(Item.class, id);
+            item = entity != null ? ItemDTO.fromEntity(entity) : null;
+        }
+        if (item == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("{\"error\":\"Item not found\"}")
+                    .build();
+        }
+        
+        return ConditionalGet.tagged(Response.ok(item), version).build();
     }
     
     @POST
-    public Response create(@Valid ItemDTO dto) {
-        EntityManager em = VariantAApplication.getEntityManagerFactory().createEntityManager();
+    public void create(@Valid ItemDTO dto, @Suspended AsyncResponse async) {
+        run(async, () -> create(dto));
+    }
+    
+    private Response create(ItemDTO dto) {
+        EntityManager em = entityManager.get();
         EntityTransaction tx = em.getTransaction();
         
         try {
@@ -131,6 +443,15 @@ public class ItemResource {
             
             tx.commit();
             
+            ItemCountCache countCache = VariantAApplication.getItemCountCache();
+            if (countCache != null) {
+                countCache.itemAdded(category.getId());
+            }
+            ResponseCache responseCache = VariantAApplication.getResponseCache();
+            if (responseCache != null) {
+                responseCache.categoriesChanged(category.getId());
+            }
+            
             return Response.status(Response.Status.CREATED)
                     .entity(ItemDTO.fromEntity(item))
                     .build();
@@ -143,80 +464,517 @@ public class ItemResource {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity("{\"error\":\"" + e.getMessage() + "\"}")
                     .build();
-        } finally {
-            em.close();
         }
     }
     
+    /**
+     * One UPDATE ... RETURNING (see CatalogWrites): no load of the item or its
+     * category first. No row back is a 404, a foreign key violation a 400.
+     */
     @PUT
     @Path("/{id}")
-    public Response update(@PathParam("id") Long id, @Valid ItemDTO dto) {
-        EntityManager em = VariantAApplication.getEntityManagerFactory().createEntityManager();
+    public void update(@PathParam("id") Long id, @Valid ItemDTO dto, @Suspended AsyncResponse async) {
+        run(async, () -> update(id, dto));
+    }
+    
+    private Response update(Long id, ItemDTO dto) {
+        EntityManager em = entityManager.get();
         EntityTransaction tx = em.getTransaction();
         
         try {
             tx.begin();
             
-            Item item = em.find(Item.class, id);
-            if (item == null) {
+            CatalogWrites.ItemUpdate updated = em.unwrap(Session.class).doReturningWork(connection ->
+                    CatalogWrites.updateItem(connection, id, dto.getSku(), dto.getName(),
+                            dto.getPrice(), dto.getStock(), dto.getCategoryId()));
+            if (updated == null) {
                 tx.rollback();
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity("{\"error\":\"Item not found\"}")
                         .build();
             }
+            tx.commit();
             
-            Category category = em.find(Category.class, dto.getCategoryId());
-            if (category == null) {
+            // The row was written with plain SQL: drop the cached entity
+            em.getEntityManagerFactory().getCache().evict(Item.class, id);
+            Long previousCategoryId = updated.previousCategoryId();
+            ItemCountCache countCache = VariantAApplication.getItemCountCache();
+            if (countCache != null) {
+                countCache.itemMoved(previousCategoryId, dto.getCategoryId());
+            }
+            ResponseCache responseCache = VariantAApplication.getResponseCache();
+            if (responseCache != null) {
+                responseCache.categoriesChanged(previousCategoryId, dto.getCategoryId());
+            }
+            
+            return Response.ok(new ItemDTO(id, dto.getSku(), dto.getName(), dto.getPrice(), dto.getStock(),
+                    dto.getCategoryId(), updated.categoryCode(), updated.categoryName(), updated.updatedAt())).build();
+                    
+        } catch (JDBCException e) {
+            if (tx.isActive()) {
                 tx.rollback();
+            }
+            if (CatalogWrites.FOREIGN_KEY_VIOLATION.equals(e.getSQLState())) {
                 return Response.status(Response.Status.BAD_REQUEST)
                         .entity("{\"error\":\"Category not found\"}")
                         .build();
             }
+            logger.error("Error updating item", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\":\"" + e.getMessage() + "\"}")
+                    .build();
+        } catch (Exception e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            logger.error("Error updating item", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\":\"" + e.getMessage() + "\"}")
+                    .build();
+        }
+    }
+    
+    /**
+     * Adds a signed delta to the item's stock through the StockDeltaBuffer,
+     * which coalesces concurrent deltas into one UPDATE per flush.
+     * ack=durable (default) answers once that flush committed: 200 with the
+     * new stock, 404, or 409 when the stock would go below zero or past the
+     * int range; 202 when the flush took longer than STOCK_ACK_TIMEOUT_MS (the
+     * delta stays queued and will apply, so no Retry-After). ack=async answers
+     * 202 as soon as the delta is queued. The request is suspended meanwhile
+     * and resumed by the flusher, so no worker waits on the flush.
+     */
+    @PATCH
+    @Path("/{id}/stock")
+    public void adjustStock(@PathParam("id") Long id,
+                            @QueryParam("ack") @DefaultValue("durable") String ack,
+                            @Valid StockDelta body,
+                            @Suspended AsyncResponse async) {
+        if (body == null) {
+            async.resume(Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\":\"Missing delta\"}")
+                    .build());
+            return;
+        }
+        boolean durable = "durable".equalsIgnoreCase(ack);
+        if (!durable && !"async".equalsIgnoreCase(ack)) {
+            async.resume(Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\":\"ack must be durable or async\"}")
+                    .build());
+            return;
+        }
+        
+        CompletableFuture<StockDeltaBuffer.Outcome> pending = VariantAApplication.getStockDeltaBuffer().add(id, body.getDelta());
+        Response queued = Response.accepted(new StockDelta(id, body.getDelta(), null)).build();
+        if (!durable) {
+            async.resume(queued);
+            return;
+        }
+        
+        // Past the timeout the outcome is unknown but the delta is queued: 202, as
+        // a 503 would invite a retry that applies it twice
+        async.setTimeoutHandler(timedOut -> timedOut.resume(queued));
+        async.setTimeout(Long.parseLong(STOCK_ACK_TIMEOUT_MS), TimeUnit.MILLISECONDS);
+        pending.whenComplete((outcome, error) -> {
+            if (error != null) {
+                logger.error("Error adjusting stock", error);
+                async.resume(Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                        .entity("{\"error\":\"" + error.getMessage() + "\"}")
+                        .build());
+                return;
+            }
+            async.resume(switch (outcome.status()) {
+                case APPLIED -> Response.ok(new StockDelta(id, body.getDelta(), outcome.stock())).build();
+                case NOT_FOUND -> Response.status(Response.Status.NOT_FOUND)
+                        .entity("{\"error\":\"Item not found\"}")
+                        .build();
+                case INSUFFICIENT_STOCK, OUT_OF_RANGE -> Response.status(Response.Status.CONFLICT)
+                        .entity(new StockDelta(id, body.getDelta(), outcome.stock()))
+                        .build();
+            });
+        });
+    }
+    
+    /**
+     * Inserts up to BATCH_MAX_ROWS items in one transaction. Ids come from the
+     * pooled sequence at persist time, so the INSERTs leave as JDBC batches;
+     * the persistence context is flushed and cleared every BATCH_CHUNK rows.
+     * Invalid rows, unknown categories and taken SKUs are reported per row.
+     */
+    @POST
+    @Path("/batch")
+    public void createBatch(List<ItemDTO> dtos, @Suspended AsyncResponse async) {
+        run(async, () -> createBatch(dtos));
+    }
+    
+    private Response createBatch(List<ItemDTO> dtos) {
+        Response rejected = checkBatchSize(dtos);
+        if (rejected != null) {
+            return rejected;
+        }
+        
+        EntityManager em = entityManager.get();
+        EntityTransaction tx = em.getTransaction();
+        
+        try {
+            tx.begin();
             
-            item.setSku(dto.getSku());
-            item.setName(dto.getName());
-            item.setPrice(dto.getPrice());
-            item.setStock(dto.getStock());
-            item.setCategory(category);
+            Map<Long, Category> categories = findCategories(dtos, em);
+            Set<String> takenSkus = new HashSet<>(em.createQuery(
+                    "SELECT i.sku FROM Item i WHERE i.sku IN :skus", String.class)
+                    .setParameter("skus", skus(dtos))
+                    .getResultList());
+            
+            List<BatchResult.Row> rows = new ArrayList<>(dtos.size());
+            List<Long> addedCategoryIds = new ArrayList<>();
+            for (int index = 0; index < dtos.size(); index++) {
+                ItemDTO dto = dtos.get(index);
+                BatchResult.Row invalid = validate(index, dto, categories);
+                if (invalid != null) {
+                    rows.add(invalid);
+                    continue;
+                }
+                if (!takenSkus.add(dto.getSku())) {
+                    rows.add(BatchResult.error(index, Response.Status.CONFLICT.getStatusCode(), "SKU already exists"));
+                    continue;
+                }
+                
+                Item item = dto.toEntity(categories.get(dto.getCategoryId()));
+                item.setId(null);
+                em.persist(item);
+                rows.add(BatchResult.ok(index, Response.Status.CREATED.getStatusCode(), item.getId()));
+                
+                addedCategoryIds.add(dto.getCategoryId());
+                if (addedCategoryIds.size() % BATCH_CHUNK == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
             
-            em.merge(item);
             tx.commit();
             
-            return Response.ok(ItemDTO.fromEntity(item)).build();
+            ItemCountCache countCache = VariantAApplication.getItemCountCache();
+            if (countCache != null) {
+                addedCategoryIds.forEach(countCache::itemAdded);
+            }
+            ResponseCache responseCache = VariantAApplication.getResponseCache();
+            if (responseCache != null) {
+                responseCache.categoriesChanged(addedCategoryIds);
+            }
+            
+            BatchResult result = BatchResult.of(rows);
+            countBatchRows("insert", result);
+            return Response.ok(result).build();
+            
+        } catch (Exception e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            logger.error("Error creating item batch", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\":\"" + e.getMessage() + "\"}")
+                    .build();
+        }
+    }
+    
+    /**
+     * Updates up to BATCH_MAX_ROWS items (each carrying its id) in one
+     * transaction: every BATCH_CHUNK rows are loaded with one IN query,
+     * modified, then flushed as batched UPDATEs and cleared.
+     */
+    @PUT
+    @Path("/batch")
+    public void updateBatch(List<ItemDTO> dtos, @Suspended AsyncResponse async) {
+        run(async, () -> updateBatch(dtos));
+    }
+    
+    private Response updateBatch(List<ItemDTO> dtos) {
+        Response rejected = checkBatchSize(dtos);
+        if (rejected != null) {
+            return rejected;
+        }
+        
+        EntityManager em = entityManager.get();
+        EntityTransaction tx = em.getTransaction();
+        
+        try {
+            tx.begin();
+            
+            Map<Long, Category> categories = findCategories(dtos, em);
+            Map<String, Long> skuOwners = em.createQuery(
+                    "SELECT i.sku, i.id FROM Item i WHERE i.sku IN :skus", Object[].class)
+                    .setParameter("skus", skus(dtos))
+                    .getResultStream()
+                    .collect(Collectors.toMap(row -> (String) row[0], row -> (Long) row[1]));
+            
+            List<BatchResult.Row> rows = new ArrayList<>(dtos.size());
+            List<Long[]> moves = new ArrayList<>();
+            Set<Long> seenIds = new HashSet<>();
+            
+            for (int from = 0; from < dtos.size(); from += BATCH_CHUNK) {
+                int to = Math.min(from + BATCH_CHUNK, dtos.size());
+                
+                Set<Long> chunkIds = new HashSet<>();
+                for (ItemDTO dto : dtos.subList(from, to)) {
+                    if (dto != null && dto.getId() != null) {
+                        chunkIds.add(dto.getId());
+                    }
+                }
+                Map<Long, Item> items = chunkIds.isEmpty()
+                        ? Map.of()
+                        : em.createQuery("SELECT i FROM Item i WHERE i.id IN :ids", Item.class)
+                                .setParameter("ids", chunkIds)
+                                .getResultStream()
+                                .collect(Collectors.toMap(Item::getId, Function.identity()));
+                
+                for (int index = from; index < to; index++) {
+                    ItemDTO dto = dtos.get(index);
+                    BatchResult.Row invalid = validate(index, dto, categories);
+                    if (invalid != null) {
+                        rows.add(invalid);
+                        continue;
+                    }
+                    if (dto.getId() == null) {
+                        rows.add(BatchResult.error(index, Response.Status.BAD_REQUEST.getStatusCode(), "Missing id"));
+                        continue;
+                    }
+                    if (!seenIds.add(dto.getId())) {
+                        rows.add(BatchResult.error(index, Response.Status.BAD_REQUEST.getStatusCode(), "Duplicate id"));
+                        continue;
+                    }
+                    Item item = items.get(dto.getId());
+                    if (item == null) {
+                        rows.add(BatchResult.error(index, Response.Status.NOT_FOUND.getStatusCode(), "Item not found"));
+                        continue;
+                    }
+                    Long owner = skuOwners.get(dto.getSku());
+                    if (owner != null && !owner.equals(item.getId())) {
+                        rows.add(BatchResult.error(index, Response.Status.CONFLICT.getStatusCode(), "SKU already exists"));
+                        continue;
+                    }
+                    
+                    Category category = categories.get(dto.getCategoryId());
+                    moves.add(new Long[] { item.getCategory().getId(), category.getId() });
+                    skuOwners.remove(item.getSku());
+                    skuOwners.put(dto.getSku(), item.getId());
                     
+                    item.setSku(dto.getSku());
+                    item.setName(dto.getName());
+                    item.setPrice(dto.getPrice());
+                    item.setStock(dto.getStock());
+                    item.setCategory(category);
+                    rows.add(BatchResult.ok(index, Response.Status.OK.getStatusCode(), item.getId()));
+                }
+                
+                em.flush();
+                em.clear();
+            }
+            
+            tx.commit();
+            
+            ItemCountCache countCache = VariantAApplication.getItemCountCache();
+            if (countCache != null) {
+                moves.forEach(move -> countCache.itemMoved(move[0], move[1]));
+            }
+            ResponseCache responseCache = VariantAApplication.getResponseCache();
+            if (responseCache != null) {
+                responseCache.categoriesChanged(moves.stream().flatMap(Stream::of).collect(Collectors.toSet()));
+            }
+            
+            BatchResult result = BatchResult.of(rows);
+            countBatchRows("update", result);
+            return Response.ok(result).build();
+            
         } catch (Exception e) {
             if (tx.isActive()) {
                 tx.rollback();
             }
-            logger.error("Error updating item", e);
+            logger.error("Error updating item batch", e);
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity("{\"error\":\"" + e.getMessage() + "\"}")
                     .build();
-        } finally {
-            em.close();
         }
     }
     
+    /**
+     * Bulk upsert by SKU from CSV in the database/items.csv layout, streamed
+     * through PostgreSQL COPY without buffering the body (see ItemCopyImport).
+     */
+    @POST
+    @Path("/import")
+    @Consumes(CSV)
+    public Response importCsv(@QueryParam("header") @DefaultValue("true") boolean header, InputStream body) {
+        return importItems(entityManager.get(), body, ItemCopyImport.Format.CSV, header);
+    }
+    
+    /**
+     * Same as the CSV import, one JSON object per line with the items.csv keys.
+     */
+    @POST
+    @Path("/import")
+    @Consumes(NDJSON)
+    public Response importNdjson(InputStream body) {
+        return importItems(entityManager.get(), body, ItemCopyImport.Format.NDJSON, false);
+    }
+    
+    private static Response importItems(EntityManager em, InputStream body, ItemCopyImport.Format format, boolean header) {
+        EntityTransaction tx = em.getTransaction();
+        
+        try {
+            tx.begin();
+            
+            ImportResult result = em.unwrap(Session.class).doReturningWork(connection -> {
+                try {
+                    return ItemCopyImport.run(connection, body, format, header);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            
+            tx.commit();
+            
+            // The upsert bypassed Hibernate: drop cached item state and page totals
+            em.getEntityManagerFactory().getCache().evict(Item.class);
+            ItemCountCache countCache = VariantAApplication.getItemCountCache();
+            if (countCache != null) {
+                countCache.clear();
+            }
+            ResponseCache responseCache = VariantAApplication.getResponseCache();
+            if (responseCache != null) {
+                responseCache.clear();
+            }
+            
+            return Response.ok(result).build();
+            
+        } catch (JDBCException e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            // Class 22 (data exception) and 23 (constraint): the input is at fault
+            String sqlState = e.getSQLState() != null ? e.getSQLState() : "";
+            logger.error("Error importing items", e);
+            Response.Status status = sqlState.startsWith("22") || sqlState.startsWith("23")
+                    ? Response.Status.BAD_REQUEST
+                    : Response.Status.INTERNAL_SERVER_ERROR;
+            return Response.status(status)
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .entity("{\"error\":\"Import failed\",\"sqlState\":\"" + sqlState + "\"}")
+                    .build();
+        } catch (Exception e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            logger.error("Error importing items", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .entity("{\"error\":\"" + e.getMessage() + "\"}")
+                    .build();
+        }
+    }
+    
+    private static Response checkBatchSize(List<ItemDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\":\"Empty batch\"}")
+                    .build();
+        }
+        int maxRows = Integer.parseInt(BATCH_MAX_ROWS);
+        if (dtos.size() > maxRows) {
+            return Response.status(Response.Status.REQUEST_ENTITY_TOO_LARGE)
+                    .entity("{\"error\":\"Batch exceeds " + maxRows + " rows\"}")
+                    .build();
+        }
+        return null;
+    }
+    
+    /**
+     * Bean Validation and category lookup for one batch row; null when the row is valid.
+     */
+    private static BatchResult.Row validate(int index, ItemDTO dto, Map<Long, Category> categories) {
+        if (dto == null) {
+            return BatchResult.error(index, Response.Status.BAD_REQUEST.getStatusCode(), "Missing item");
+        }
+        Set<ConstraintViolation<ItemDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return BatchResult.error(index, Response.Status.BAD_REQUEST.getStatusCode(), BatchResult.describe(violations));
+        }
+        if (!categories.containsKey(dto.getCategoryId())) {
+            return BatchResult.error(index, Response.Status.BAD_REQUEST.getStatusCode(), "Category not found");
+        }
+        return null;
+    }
+    
+    /**
+     * All categories referenced by the batch, loaded with a single IN query.
+     */
+    private static Map<Long, Category> findCategories(List<ItemDTO> dtos, EntityManager em) {
+        Set<Long> ids = dtos.stream()
+                .filter(Objects::nonNull)
+                .map(ItemDTO::getCategoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return em.createQuery("SELECT c FROM Category c WHERE c.id IN :ids", Category.class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+    }
+    
+    private static Set<String> skus(List<ItemDTO> dtos) {
+        return dtos.stream()
+                .filter(Objects::nonNull)
+                .map(ItemDTO::getSku)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+    
+    /**
+     * item_batch_rows_total{operation,result}: rate() gives rows/second server side.
+     */
+    private static void countBatchRows(String operation, BatchResult result) {
+        MeterRegistry registry = VariantAApplication.getMeterRegistry();
+        registry.counter("item.batch.rows", "operation", operation, "result", "written")
+                .increment(result.getSucceeded());
+        registry.counter("item.batch.rows", "operation", operation, "result", "rejected")
+                .increment(result.getFailed());
+    }
+    
     @DELETE
     @Path("/{id}")
-    public Response delete(@PathParam("id") Long id) {
-        EntityManager em = VariantAApplication.getEntityManagerFactory().createEntityManager();
+    public void delete(@PathParam("id") Long id, @Suspended AsyncResponse async) {
+        run(async, () -> delete(id));
+    }
+    
+    private Response delete(Long id) {
+        EntityManager em = entityManager.get();
         EntityTransaction tx = em.getTransaction();
         
         try {
             tx.begin();
             
-            Item item = em.find(Item.class, id);
-            if (item == null) {
+            // One DELETE ... RETURNING: no load before the remove
+            Long categoryId = em.unwrap(Session.class).doReturningWork(connection ->
+                    CatalogWrites.deleteItem(connection, id));
+            if (categoryId == null) {
                 tx.rollback();
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity("{\"error\":\"Item not found\"}")
                         .build();
             }
-            
-            em.remove(item);
             tx.commit();
             
+            em.getEntityManagerFactory().getCache().evict(Item.class, id);
+            ItemCountCache countCache = VariantAApplication.getItemCountCache();
+            if (countCache != null) {
+                countCache.itemRemoved(categoryId);
+            }
+            ResponseCache responseCache = VariantAApplication.getResponseCache();
+            if (responseCache != null) {
+                responseCache.categoriesChanged(categoryId);
+            }
+            
             return Response.noContent().build();
                     
         } catch (Exception e) {
@@ -227,8 +985,6 @@ public class ItemResource {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity("{\"error\":\"" + e.getMessage() + "\"}")
                     .build();
-        } finally {
-            em.close();
         }
     }
 }
@@ -0,0 +1,121 @@
+package com.benchmark.variantb;
+
+import com.benchmark.jdbc.ConnectionPermits;
+import com.benchmark.jdbc.PermitDataSource;
+import com.benchmark.variantb.config.JerseyConfig;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.*;
+import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.CollectorRegistry;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.util.concurrent.Executors;
+
+public class VariantBApplication {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VariantBApplication.class);
+    private static final String BASE_URI = "http://0.0.0.0:8084/";
+    private static final String VIRTUAL_THREADS = System.getenv().getOrDefault("VIRTUAL_THREADS", "false");
+    
+    private static HikariDataSource hikariDataSource;
+    private static DataSource dataSource;
+    private static MeterRegistry meterRegistry;
+    
+    public static DataSource getDataSource() {
+        return dataSource;
+    }
+    
+    public static MeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+    
+    public static void main(String[] args) {
+        try {
+            // Initialize Prometheus metrics
+            CollectorRegistry collectorRegistry = new CollectorRegistry();
+            meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT, collectorRegistry, Clock.SYSTEM);
+            
+            // Bind JVM metrics
+            new ClassLoaderMetrics().bindTo(meterRegistry);
+            new JvmMemoryMetrics().bindTo(meterRegistry);
+            new JvmGcMetrics().bindTo(meterRegistry);
+            new ProcessorMetrics().bindTo(meterRegistry);
+            new JvmThreadMetrics().bindTo(meterRegistry);
+            
+            logger.info("Prometheus metrics initialized");
+            
+            // Initialize HikariCP directly - there is no JPA layer in this variant
+            HikariConfig hikariConfig = new HikariConfig("/hikari.properties");
+            hikariConfig.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            hikariDataSource = new HikariDataSource(hikariConfig);
+            dataSource = hikariDataSource;
+            logger.info("HikariCP DataSource initialized");
+            
+            boolean virtualThreads = "true".equalsIgnoreCase(VIRTUAL_THREADS);
+            if (virtualThreads) {
+                // Park virtual threads on a semaphore instead of inside the pool
+                ConnectionPermits permits = new ConnectionPermits(
+                        hikariConfig.getMaximumPoolSize(), hikariConfig.getConnectionTimeout());
+                Gauge.builder("jdbc.connection.permits.available", permits, ConnectionPermits::available)
+                        .description("Free connection permits in front of the Hikari pool")
+                        .register(meterRegistry);
+                Gauge.builder("jdbc.connection.permits.queued", permits, ConnectionPermits::queued)
+                        .description("Threads parked waiting for a connection permit")
+                        .register(meterRegistry);
+                dataSource = new PermitDataSource(hikariDataSource, permits);
+            }
+            
+            // Configure Jersey
+            ResourceConfig config = new JerseyConfig();
+            
+            // Create HTTP server, swap the worker pool before starting it
+            HttpServer server = GrizzlyHttpServerFactory.createHttpServer(URI.create(BASE_URI), config, false);
+            if (virtualThreads) {
+                for (NetworkListener listener : server.getListeners()) {
+                    listener.getTransport().setWorkerThreadPool(Executors.newVirtualThreadPerTaskExecutor());
+                }
+            }
+            server.start();
+            logger.info("Execution mode: {} threads", virtualThreads ? "virtual" : "platform");
+            
+            logger.info("========================================");
+            logger.info("Variant B - JAX-RS (Jersey) + JDBC Started");
+            logger.info("========================================");
+            logger.info("Application running at: {}", BASE_URI);
+            logger.info("Metrics endpoint: {}actuator/prometheus", BASE_URI);
+            logger.info("Press Ctrl+C to stop");
+            logger.info("========================================");
+            
+            // Add shutdown hook
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                logger.info("Shutting down server...");
+                server.shutdownNow();
+                if (hikariDataSource != null && !hikariDataSource.isClosed()) {
+                    hikariDataSource.close();
+                }
+                logger.info("Server stopped");
+            }));
+            
+            // Keep server running
+            Thread.currentThread().join();
+            
+        } catch (Exception e) {
+            logger.error("Failed to start server", e);
+            System.exit(1);
+        }
+    }
+}
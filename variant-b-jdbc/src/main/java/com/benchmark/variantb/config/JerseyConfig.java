@@ -0,0 +1,22 @@
+package com.benchmark.variantb.config;
+
+import com.benchmark.variantb.resource.CategoryResource;
+import com.benchmark.variantb.resource.ItemResource;
+import com.benchmark.variantb.resource.MetricsResource;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+public class JerseyConfig extends ResourceConfig {
+    
+    public JerseyConfig() {
+        // Register resources
+        register(CategoryResource.class);
+        register(ItemResource.class);
+        register(MetricsResource.class);
+        
+        // No JacksonFeature: resources write JSON themselves through a JsonGenerator
+        
+        // Disable WADL generation for performance
+        property(ServerProperties.WADL_FEATURE_DISABLE, true);
+    }
+}
@@ -0,0 +1,35 @@
+package com.benchmark.variantb.jdbc;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes category rows straight from a ResultSet, in the CategoryDTO JSON shape.
+ * Queries must select {@link #COLUMNS} in this order.
+ */
+public final class CategoryRowWriter {
+    
+    public static final String COLUMNS = "SELECT c.id, c.code, c.name, c.updated_at FROM category c";
+    
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    
+    private CategoryRowWriter() {
+    }
+    
+    public static void write(ResultSet rs, JsonGenerator gen) throws SQLException, IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("id", rs.getLong(1));
+        gen.writeStringField("code", rs.getString(2));
+        gen.writeStringField("name", rs.getString(3));
+        LocalDateTime updatedAt = rs.getObject(4, LocalDateTime.class);
+        if (updatedAt != null) {
+            gen.writeStringField("updatedAt", TIMESTAMP.format(updatedAt));
+        }
+        gen.writeEndObject();
+    }
+}
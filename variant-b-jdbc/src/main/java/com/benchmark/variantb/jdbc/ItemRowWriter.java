@@ -0,0 +1,66 @@
+package com.benchmark.variantb.jdbc;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes item rows straight from a ResultSet to a JsonGenerator, producing
+ * the same JSON shape as ItemDTO in the JPA variants without building one.
+ * Queries must select {@link #COLUMNS} {@link #FROM} in this order.
+ */
+public final class ItemRowWriter {
+    
+    public static final String COLUMNS =
+            "SELECT i.id, i.sku, i.name, i.price, i.stock, i.category_id, c.code, c.name, i.updated_at";
+    public static final String FROM =
+            " FROM item i JOIN category c ON c.id = i.category_id";
+    
+    // Same format as Jackson's LocalDateTimeSerializer with WRITE_DATES_AS_TIMESTAMPS disabled
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    
+    private ItemRowWriter() {
+    }
+    
+    public static void write(ResultSet rs, JsonGenerator gen) throws SQLException, IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("id", rs.getLong(1));
+        gen.writeStringField("sku", rs.getString(2));
+        gen.writeStringField("name", rs.getString(3));
+        gen.writeNumberField("price", rs.getBigDecimal(4));
+        gen.writeNumberField("stock", rs.getInt(5));
+        gen.writeNumberField("categoryId", rs.getLong(6));
+        gen.writeStringField("categoryCode", rs.getString(7));
+        gen.writeStringField("categoryName", rs.getString(8));
+        LocalDateTime updatedAt = rs.getObject(9, LocalDateTime.class);
+        if (updatedAt != null) {
+            gen.writeStringField("updatedAt", TIMESTAMP.format(updatedAt));
+        }
+        gen.writeEndObject();
+    }
+    
+    /**
+     * Writes up to {@code size} rows as a JSON array field named "content".
+     *
+     * @return true when the result set held at least one more row (next page exists)
+     */
+    public static boolean writeContent(ResultSet rs, int size, JsonGenerator gen) throws SQLException, IOException {
+        gen.writeArrayFieldStart("content");
+        int written = 0;
+        boolean hasNext = false;
+        while (rs.next()) {
+            if (written == size) {
+                hasNext = true;
+                break;
+            }
+            write(rs, gen);
+            written++;
+        }
+        gen.writeEndArray();
+        return hasNext;
+    }
+}
@@ -0,0 +1,61 @@
+package com.benchmark.variantb.jdbc;
+
+import com.benchmark.variantb.VariantBApplication;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Bridges JDBC work to the HTTP response: the connection is borrowed only
+ * while Jersey writes the entity, and rows go directly to the output stream.
+ */
+public final class JsonStreams {
+    
+    // Jersey owns the response stream, so closing the generator must not close it
+    private static final JsonFactory JSON = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+    
+    private JsonStreams() {
+    }
+    
+    @FunctionalInterface
+    public interface JdbcJsonWriter {
+        void write(Connection connection, JsonGenerator gen) throws SQLException, IOException;
+    }
+    
+    public static StreamingOutput stream(JdbcJsonWriter writer) {
+        return out -> {
+            try (Connection connection = VariantBApplication.getDataSource().getConnection();
+                 JsonGenerator gen = JSON.createGenerator(out)) {
+                writer.write(connection, gen);
+            } catch (SQLException e) {
+                throw new WebApplicationException(e);
+            }
+        };
+    }
+    
+    /**
+     * Encodes a single, already positioned row. Used where the status code
+     * depends on the row being found, which must be known before streaming.
+     */
+    public static byte[] toBytes(RowWriter writer) throws SQLException, IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        try (JsonGenerator gen = JSON.createGenerator(buffer)) {
+            writer.write(gen);
+        }
+        return buffer.toByteArray();
+    }
+    
+    @FunctionalInterface
+    public interface RowWriter {
+        void write(JsonGenerator gen) throws SQLException, IOException;
+    }
+}
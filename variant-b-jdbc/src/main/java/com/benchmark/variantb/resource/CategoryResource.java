@@ -0,0 +1,134 @@
+package com.benchmark.variantb.resource;
+
+import com.benchmark.dto.KeysetCursor;
+import com.benchmark.variantb.VariantBApplication;
+import com.benchmark.variantb.jdbc.CategoryRowWriter;
+import com.benchmark.variantb.jdbc.JsonStreams;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@Path("/categories")
+@Produces(MediaType.APPLICATION_JSON)
+public class CategoryResource {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CategoryResource.class);
+    
+    @GET
+    public Response getAll(
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("20") int size) {
+        
+        return Response.ok(JsonStreams.stream((connection, gen) -> {
+            long total;
+            try (PreparedStatement ps = connection.prepareStatement("SELECT COUNT(*) FROM category");
+                 ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                total = rs.getLong(1);
+            }
+            
+            try (PreparedStatement ps = connection.prepareStatement(
+                    CategoryRowWriter.COLUMNS + " LIMIT ? OFFSET ?")) {
+                ps.setInt(1, size);
+                ps.setLong(2, (long) page * size);
+                
+                try (ResultSet rs = ps.executeQuery()) {
+                    int totalPages = (int) Math.ceil((double) total / size);
+                    gen.writeStartObject();
+                    gen.writeArrayFieldStart("content");
+                    while (rs.next()) {
+                        CategoryRowWriter.write(rs, gen);
+                    }
+                    gen.writeEndArray();
+                    gen.writeNumberField("page", page);
+                    gen.writeNumberField("size", size);
+                    gen.writeNumberField("totalElements", total);
+                    gen.writeNumberField("totalPages", totalPages);
+                    gen.writeBooleanField("last", page >= totalPages - 1);
+                    gen.writeBooleanField("first", page == 0);
+                    gen.writeEndObject();
+                }
+            }
+        })).build();
+    }
+    
+    @GET
+    @Path("/{id}")
+    public Response getById(@PathParam("id") Long id) {
+        try (Connection connection = VariantBApplication.getDataSource().getConnection();
+             PreparedStatement ps = connection.prepareStatement(CategoryRowWriter.COLUMNS + " WHERE c.id = ?")) {
+            ps.setLong(1, id);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return Response.status(Response.Status.NOT_FOUND)
+                            .entity("{\"error\":\"Category not found\"}")
+                            .build();
+                }
+                
+                return Response.ok(JsonStreams.toBytes(gen -> CategoryRowWriter.write(rs, gen))).build();
+            }
+            
+        } catch (SQLException | IOException e) {
+            logger.error("Error reading category", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\":\"" + e.getMessage() + "\"}")
+                    .build();
+        }
+    }
+    
+    @GET
+    @Path("/{id}/items")
+    public Response getItemsByCategory(
+            @PathParam("id") Long id,
+            @QueryParam("after") String after,
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("20") int size,
+            @QueryParam("withTotal") @DefaultValue("true") boolean withTotal) {
+        
+        // The status code depends on the category existing, so check before streaming
+        try (Connection connection = VariantBApplication.getDataSource().getConnection();
+             PreparedStatement ps = connection.prepareStatement("SELECT 1 FROM category WHERE id = ?")) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return Response.status(Response.Status.NOT_FOUND)
+                            .entity("{\"error\":\"Category not found\"}")
+                            .build();
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error reading category", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\":\"" + e.getMessage() + "\"}")
+                    .build();
+        }
+        
+        if (after != null) {
+            if (!KeysetCursor.isValidSize(size)) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("{\"error\":\"" + KeysetCursor.INVALID_SIZE + "\"}")
+                        .build();
+            }
+            long afterId;
+            try {
+                afterId = KeysetCursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("{\"error\":\"Invalid cursor\"}")
+                        .build();
+            }
+            return Response.ok(ItemResource.streamAfter(id, afterId, size)).build();
+        }
+        
+        return Response.ok(ItemResource.streamPage(id, page, size, withTotal)).build();
+    }
+}
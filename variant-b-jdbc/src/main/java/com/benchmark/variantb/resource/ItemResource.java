@@ -0,0 +1,245 @@
+package com.benchmark.variantb.resource;
+
+import com.benchmark.dto.KeysetCursor;
+import com.benchmark.variantb.VariantBApplication;
+import com.benchmark.variantb.jdbc.ItemRowWriter;
+import com.benchmark.variantb.jdbc.JsonStreams;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Path("/items")
+@Produces(MediaType.APPLICATION_JSON)
+public class ItemResource {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ItemResource.class);
+    private static final String NDJSON = "application/x-ndjson";
+    // Rows per round trip of the export cursor
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    
+    @GET
+    public Response getAll(
+            @QueryParam("categoryId") Long categoryId,
+            @QueryParam("after") String after,
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("20") int size,
+            @QueryParam("withTotal") @DefaultValue("true") boolean withTotal) {
+        
+        if (after != null) {
+            if (!KeysetCursor.isValidSize(size)) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("{\"error\":\"" + KeysetCursor.INVALID_SIZE + "\"}")
+                        .build();
+            }
+            long afterId;
+            try {
+                afterId = KeysetCursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("{\"error\":\"Invalid cursor\"}")
+                        .build();
+            }
+            return Response.ok(streamAfter(categoryId, afterId, size)).build();
+        }
+        
+        return Response.ok(streamPage(categoryId, page, size, withTotal)).build();
+    }
+    
+    /**
+     * Offset page in the PageResponse JSON shape. With withTotal=false the
+     * COUNT is skipped and one extra row is read to compute hasNext.
+     */
+    static StreamingOutput streamPage(Long categoryId, int page, int size, boolean withTotal) {
+        return JsonStreams.stream((connection, gen) -> {
+            long total = withTotal ? countItems(connection, categoryId) : -1;
+            
+            // No ORDER BY, like the other variants' offset pages (A and C add one
+            // only with CONDITIONAL_GET=true)
+            String sql = ItemRowWriter.COLUMNS + ItemRowWriter.FROM
+                    + (categoryId != null ? " WHERE i.category_id = ?" : "")
+                    + " LIMIT ? OFFSET ?";
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                int index = 1;
+                if (categoryId != null) {
+                    ps.setLong(index++, categoryId);
+                }
+                ps.setInt(index++, withTotal ? size : size + 1);
+                ps.setLong(index, (long) page * size);
+                
+                try (ResultSet rs = ps.executeQuery()) {
+                    gen.writeStartObject();
+                    boolean hasNext = ItemRowWriter.writeContent(rs, size, gen);
+                    gen.writeNumberField("page", page);
+                    gen.writeNumberField("size", size);
+                    if (withTotal) {
+                        int totalPages = (int) Math.ceil((double) total / size);
+                        gen.writeNumberField("totalElements", total);
+                        gen.writeNumberField("totalPages", totalPages);
+                        gen.writeBooleanField("last", page >= totalPages - 1);
+                    } else {
+                        gen.writeBooleanField("hasNext", hasNext);
+                        gen.writeBooleanField("last", !hasNext);
+                    }
+                    gen.writeBooleanField("first", page == 0);
+                    gen.writeEndObject();
+                }
+            }
+        });
+    }
+    
+    /**
+     * Keyset page in the CursorPageResponse JSON shape.
+     */
+    static StreamingOutput streamAfter(Long categoryId, long afterId, int size) {
+        return JsonStreams.stream((connection, gen) -> {
+            String sql = ItemRowWriter.COLUMNS + ItemRowWriter.FROM
+                    + (categoryId != null ? " WHERE i.category_id = ? AND i.id > ?" : " WHERE i.id > ?")
+                    + " ORDER BY i.id LIMIT ?";
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                int index = 1;
+                if (categoryId != null) {
+                    ps.setLong(index++, categoryId);
+                }
+                ps.setLong(index++, afterId);
+                ps.setInt(index, size + 1);
+                
+                try (ResultSet rs = ps.executeQuery()) {
+                    gen.writeStartObject();
+                    gen.writeArrayFieldStart("content");
+                    int written = 0;
+                    long lastId = afterId;
+                    boolean hasNext = false;
+                    while (rs.next()) {
+                        if (written == size) {
+                            hasNext = true;
+                            break;
+                        }
+                        lastId = rs.getLong(1);
+                        ItemRowWriter.write(rs, gen);
+                        written++;
+                    }
+                    gen.writeEndArray();
+                    gen.writeNumberField("size", size);
+                    if (hasNext) {
+                        gen.writeStringField("nextCursor", KeysetCursor.encode(lastId));
+                    }
+                    gen.writeBooleanField("last", !hasNext);
+                    gen.writeEndObject();
+                }
+            }
+        });
+    }
+    
+    /**
+     * Every matching item as NDJSON in id order. With auto-commit off and a
+     * fetch size, pgjdbc reads through a server-side cursor, so only one
+     * fetch of rows is held in memory however large the table is.
+     */
+    @GET
+    @Path("/export")
+    @Produces(NDJSON)
+    public Response export(
+            @QueryParam("categoryId") Long categoryId,
+            @QueryParam("updatedSince") String updatedSince) {
+        
+        LocalDateTime since;
+        try {
+            since = updatedSince != null ? LocalDateTime.parse(updatedSince) : null;
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .entity("{\"error\":\"Invalid updatedSince\"}")
+                    .build();
+        }
+        
+        return Response.ok(JsonStreams.stream((connection, gen) -> {
+            List<String> filters = new ArrayList<>();
+            if (categoryId != null) {
+                filters.add("i.category_id = ?");
+            }
+            if (since != null) {
+                filters.add("i.updated_at > ?");
+            }
+            String sql = ItemRowWriter.COLUMNS + ItemRowWriter.FROM
+                    + (filters.isEmpty() ? "" : " WHERE " + String.join(" AND ", filters))
+                    + " ORDER BY i.id";
+            
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setFetchSize(EXPORT_FETCH_SIZE);
+                int index = 1;
+                if (categoryId != null) {
+                    ps.setLong(index++, categoryId);
+                }
+                if (since != null) {
+                    ps.setObject(index, since);
+                }
+                
+                try (ResultSet rs = ps.executeQuery()) {
+                    gen.setRootValueSeparator(null);
+                    while (rs.next()) {
+                        ItemRowWriter.write(rs, gen);
+                        gen.writeRaw('\n');
+                    }
+                }
+            } finally {
+                // Ends the read transaction; Hikari restores auto-commit on return
+                connection.rollback();
+            }
+        })).build();
+    }
+    
+    private static long countItems(Connection connection, Long categoryId) throws SQLException {
+        String sql = categoryId != null
+                ? "SELECT COUNT(*) FROM item WHERE category_id = ?"
+                : "SELECT COUNT(*) FROM item";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            if (categoryId != null) {
+                ps.setLong(1, categoryId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+    
+    @GET
+    @Path("/{id}")
+    public Response getById(@PathParam("id") Long id) {
+        try (Connection connection = VariantBApplication.getDataSource().getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     ItemRowWriter.COLUMNS + ItemRowWriter.FROM + " WHERE i.id = ?")) {
+            ps.setLong(1, id);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return Response.status(Response.Status.NOT_FOUND)
+                            .entity("{\"error\":\"Item not found\"}")
+                            .build();
+                }
+                
+                return Response.ok(JsonStreams.toBytes(gen -> ItemRowWriter.write(rs, gen))).build();
+            }
+            
+        } catch (SQLException | IOException e) {
+            logger.error("Error reading item", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("{\"error\":\"" + e.getMessage() + "\"}")
+                    .build();
+        }
+    }
+}
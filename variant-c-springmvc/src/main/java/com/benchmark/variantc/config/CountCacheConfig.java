@@ -0,0 +1,39 @@
+package com.benchmark.variantc.config;
+
+import com.benchmark.cache.ItemCountCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Item count cache used for page totals, with hit/miss counters
+ * exported through Actuator's /actuator/prometheus.
+ */
+@Configuration
+public class CountCacheConfig {
+
+    @Bean
+    public ItemCountCache itemCountCache(@Value("${app.count-cache.ttl-seconds:60}") long ttlSeconds) {
+        return new ItemCountCache(ttlSeconds);
+    }
+
+    @Bean
+    public MeterBinder itemCountCacheMetrics(ItemCountCache cache) {
+        return registry -> {
+            FunctionCounter.builder("item.count.cache.requests", cache, ItemCountCache::hitCount)
+                    .tag("result", "hit")
+                    .description("Page total lookups served from the item count cache")
+                    .register(registry);
+            FunctionCounter.builder("item.count.cache.requests", cache, ItemCountCache::missCount)
+                    .tag("result", "miss")
+                    .description("Page total lookups that ran a COUNT query")
+                    .register(registry);
+            Gauge.builder("item.count.cache.size", cache, ItemCountCache::size)
+                    .description("Cached item counts (global + per category)")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.benchmark.variantc.config;
+
+import com.benchmark.proto.ProtobufEncoder;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes the item and category DTOs and their pages as application/x-protobuf,
+ * in the messages of shared-model's benchmark.proto. Write-only: request
+ * bodies stay JSON.
+ */
+public class ProtobufConverter extends AbstractHttpMessageConverter<Object> {
+
+    public ProtobufConverter() {
+        super(MediaType.parseMediaType(ProtobufEncoder.MEDIA_TYPE));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ProtobufEncoder.supports(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        ProtobufEncoder.write(value, outputMessage.getBody());
+    }
+}
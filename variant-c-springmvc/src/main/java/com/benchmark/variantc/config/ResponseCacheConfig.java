@@ -0,0 +1,45 @@
+package com.benchmark.variantc.config;
+
+import com.benchmark.cache.ResponseCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Encoded item list pages. The cache bean always exists so the services can
+ * invalidate unconditionally; it is only filled and read through
+ * ResponseCacheFilter when RESPONSE_CACHE=true.
+ */
+@Configuration
+public class ResponseCacheConfig {
+
+    @Bean
+    public ResponseCache responseCache(@Value("${app.response-cache.max-mb:64}") long maxMegabytes) {
+        return new ResponseCache(maxMegabytes * 1024 * 1024);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.response-cache.enabled", havingValue = "true")
+    public ResponseCacheFilter responseCacheFilter(ResponseCache cache) {
+        return new ResponseCacheFilter(cache);
+    }
+
+    /**
+     * cache_gets_total{cache="responses",result="hit|miss"}, evictions, and the bytes held.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.response-cache.enabled", havingValue = "true")
+    public MeterBinder responseCacheMetrics(ResponseCache cache) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, cache.cache(), "responses");
+            Gauge.builder("response.cache.bytes", cache, ResponseCache::bytesHeld)
+                    .description("Plain and gzip bytes held by the response cache")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+}
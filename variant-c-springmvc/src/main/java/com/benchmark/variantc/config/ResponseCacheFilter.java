@@ -0,0 +1,92 @@
+package com.benchmark.variantc.config;
+
+import com.benchmark.cache.ResponseCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves GET /items and /categories/{id}/items from the ResponseCache: a hit
+ * is written before the DispatcherServlet runs, gzip-encoded when the client
+ * accepts it. On a miss, a 200 body is buffered, stored, then sent.
+ * Ordered ahead of ConcurrencyLimitFilter, so hits take no permit.
+ */
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private final ResponseCache cache;
+
+    public ResponseCacheFilter(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ResponseCache.Key key = "GET".equals(request.getMethod()) ? keyFor(request) : null;
+        if (key == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ResponseCache.Entry entry = cache.get(key);
+        if (entry != null) {
+            writeHit(request, response, entry);
+            return;
+        }
+
+        long stamp = cache.stamp();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && wrapper.getContentType() != null) {
+            cache.put(key, stamp, wrapper.getContentAsByteArray(), wrapper.getContentType(),
+                    wrapper.getHeader(HttpHeaders.ETAG));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static ResponseCache.Key keyFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Map<String, List<String>> query = new HashMap<>();
+        request.getParameterMap().forEach((name, values) -> query.put(name, Arrays.asList(values)));
+        return ResponseCache.keyFor(path.startsWith("/") ? path.substring(1) : path, query,
+                request.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    private static void writeHit(HttpServletRequest request, HttpServletResponse response,
+                                 ResponseCache.Entry entry) throws IOException {
+        // Same validators as the controller: writes that change the page also drop the entry
+        if (entry.etag() != null && new ServletWebRequest(request, response).checkNotModified(entry.etag())) {
+            return;
+        }
+
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        byte[] body = gzip ? entry.gzip() : entry.body();
+
+        response.setContentType(entry.contentType());
+        response.setHeader(HttpHeaders.VARY, "Accept, Accept-Encoding");
+        response.setHeader("X-Response-Cache", "hit");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        if (entry.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, entry.etag());
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
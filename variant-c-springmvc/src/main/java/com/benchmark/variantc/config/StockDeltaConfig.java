@@ -0,0 +1,45 @@
+package com.benchmark.variantc.config;
+
+import com.benchmark.cache.ResponseCache;
+import com.benchmark.jdbc.StockDeltaBuffer;
+import com.benchmark.model.Item;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesced stock deltas behind PATCH /items/{id}/stock. Flushes are plain
+ * SQL, so the touched items are evicted from the second level cache and
+ * their category pages from the response cache afterwards.
+ */
+@Configuration
+public class StockDeltaConfig {
+
+    @Bean
+    public StockDeltaBuffer stockDeltaBuffer(
+            DataSource dataSource,
+            EntityManagerFactory entityManagerFactory,
+            ResponseCache responseCache,
+            @Value("${app.stock-delta.flush-interval-ms:5}") long flushIntervalMillis,
+            @Value("${app.stock-delta.max-pending:500}") int maxPending) {
+        return new StockDeltaBuffer(dataSource, flushIntervalMillis, maxPending, applied -> {
+            applied.forEach(a -> entityManagerFactory.getCache().evict(Item.class, a.itemId()));
+            responseCache.categoriesChanged(applied.stream()
+                    .map(StockDeltaBuffer.Applied::categoryId)
+                    .collect(Collectors.toSet()));
+        });
+    }
+
+    @Bean
+    public MeterBinder stockDeltaMetrics(StockDeltaBuffer buffer) {
+        return registry -> Gauge.builder("stock.delta.queued", buffer, StockDeltaBuffer::queued)
+                .description("Stock deltas waiting for the next flush")
+                .register(registry);
+    }
+}
@@ -1,5 +1,6 @@
 package com.benchmark.variantc.controller;
 
+import com.benchmark.http.ResourceVersion;
 import com.benchmark.variantc.dto.CategoryDTO;
 import com.benchmark.variantc.dto.ItemDTO;
 import com.benchmark.variantc.dto.PageResponse;
@@ -7,12 +8,13 @@ import com.benchmark.variantc.service.CategoryService;
 import com.benchmark.variantc.service.ItemService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/categories")
@@ -22,31 +24,77 @@ public class CategoryController {
     private final CategoryService categoryService;
     private final ItemService itemService;
     
+    @Value("${app.conditional-get:false}")
+    private boolean conditionalGet;
+    
     @GetMapping
     public ResponseEntity<PageResponse<CategoryDTO>> getAll(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        
+        Pageable pageable = ConditionalGet.page(page, size, conditionalGet);
+        
+        ResourceVersion version = null;
+        if (conditionalGet) {
+            version = categoryService.pageVersion(pageable);
+            ResponseEntity<PageResponse<CategoryDTO>> notModified = ConditionalGet.notModified(webRequest, version);
+            if (notModified != null) {
+                return notModified;
+            }
+        }
         
-        Pageable pageable = PageRequest.of(page, size);
         Page<CategoryDTO> result = categoryService.findAll(pageable);
-        return ResponseEntity.ok(PageResponse.of(result));
+        return ConditionalGet.tagged(ResponseEntity.ok(), version).body(PageResponse.of(result));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryDTO> getById(@PathVariable Long id) {
+    public ResponseEntity<CategoryDTO> getById(@PathVariable Long id, WebRequest webRequest) {
+        ResourceVersion version = null;
+        if (conditionalGet) {
+            version = categoryService.version(id);
+            ResponseEntity<CategoryDTO> notModified = ConditionalGet.notModified(webRequest, version);
+            if (notModified != null) {
+                return notModified;
+            }
+        }
+        
         CategoryDTO category = categoryService.findById(id);
-        return ResponseEntity.ok(category);
+        return ConditionalGet.tagged(ResponseEntity.ok(), version).body(category);
     }
     
     @GetMapping("/{id}/items")
-    public ResponseEntity<PageResponse<ItemDTO>> getItemsByCategory(
+    public ResponseEntity<?> getItemsByCategory(
             @PathVariable Long id,
+            @RequestParam(required = false) String after,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            WebRequest webRequest) {
+        
+        if (after != null) {
+            ItemController.checkCursorSize(size);
+            return ResponseEntity.ok(itemService.findAfter(id, ItemController.decodeCursor(after), size));
+        }
+        
+        Pageable pageable = ConditionalGet.page(page, size, conditionalGet);
+        
+        ResourceVersion version = null;
+        if (conditionalGet) {
+            version = itemService.pageVersion(id, pageable, withTotal);
+            ResponseEntity<?> notModified = ConditionalGet.notModified(webRequest, version);
+            if (notModified != null) {
+                return notModified;
+            }
+        }
+        
+        if (!withTotal) {
+            return ConditionalGet.tagged(ResponseEntity.ok(), version)
+                    .body(PageResponse.of(itemService.findSliceByCategoryId(id, pageable)));
+        }
         
-        Pageable pageable = PageRequest.of(page, size);
         Page<ItemDTO> result = itemService.findByCategoryId(id, pageable);
-        return ResponseEntity.ok(PageResponse.of(result));
+        return ConditionalGet.tagged(ResponseEntity.ok(), version).body(PageResponse.of(result));
     }
     
     @PostMapping
@@ -0,0 +1,98 @@
+package com.benchmark.variantc.controller;
+
+import com.benchmark.http.ResourceVersion;
+import com.benchmark.proto.ProtobufEncoder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * Weak ETag / Last-Modified handling shared by the controllers.
+ * Off unless app.conditional-get (CONDITIONAL_GET=true): the version query is
+ * an extra statement on every GET. The tag names the negotiated media type
+ * and the responses carry Vary: Accept.
+ */
+final class ConditionalGet {
+    
+    // JSON first, then the converters BinaryFormatsConfig appends, in their order
+    private static final List<MediaType> REPRESENTATIONS = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.parseMediaType(ProtobufEncoder.MEDIA_TYPE),
+            MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"));
+    
+    private ConditionalGet() {
+    }
+    
+    /**
+     * With conditional GET on, offset pages are ordered by id so the
+     * timestamp-only version query and the page query see the same rows;
+     * off, they stay unordered like the other variants' pages.
+     */
+    static Pageable page(int page, int size, boolean enabled) {
+        return enabled ? PageRequest.of(page, size, Sort.by("id")) : PageRequest.of(page, size);
+    }
+    
+    /**
+     * Ties the version to the representation negotiated from Accept, then
+     * evaluates the preconditions.
+     *
+     * @return a 304 response when If-None-Match / If-Modified-Since still match, otherwise null
+     */
+    static <T> ResponseEntity<T> notModified(WebRequest request, ResourceVersion version) {
+        version.representation(representation(request.getHeader(HttpHeaders.ACCEPT)).toString());
+        if (!request.checkNotModified(version.weakETag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        return tagged(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).build();
+    }
+    
+    /**
+     * Adds the validators to a response; version is null when disabled.
+     */
+    static ResponseEntity.BodyBuilder tagged(ResponseEntity.BodyBuilder builder, ResourceVersion version) {
+        builder.varyBy(HttpHeaders.ACCEPT);
+        if (version == null) {
+            return builder;
+        }
+        builder.eTag(version.weakETag());
+        if (version.lastModified() != null) {
+            builder.lastModified(version.lastModified());
+        }
+        return builder;
+    }
+    
+    /**
+     * The representation the message converters write for this Accept header:
+     * the first producible type compatible with the most specific acceptable one.
+     */
+    static MediaType representation(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        for (MediaType type : acceptable) {
+            for (MediaType candidate : REPRESENTATIONS) {
+                if (type.isCompatibleWith(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
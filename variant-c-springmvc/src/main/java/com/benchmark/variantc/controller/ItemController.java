@@ -1,16 +1,40 @@
 package com.benchmark.variantc.controller;
 
+import com.benchmark.dto.BatchResult;
+import com.benchmark.dto.ImportResult;
+import com.benchmark.dto.KeysetCursor;
+import com.benchmark.dto.StockDelta;
+import com.benchmark.http.ResourceVersion;
+import com.benchmark.jdbc.ItemCopyImport;
+import com.benchmark.jdbc.StockDeltaBuffer;
 import com.benchmark.variantc.dto.ItemDTO;
 import com.benchmark.variantc.dto.PageResponse;
 import com.benchmark.variantc.service.ItemService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/items")
@@ -18,14 +42,48 @@ import org.springframework.web.bind.annotation.*;
 public class ItemController {
     
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${app.conditional-get:false}")
+    private boolean conditionalGet;
+    
+    @Value("${app.batch.max-rows:1000}")
+    private int batchMaxRows;
+    
+    @Value("${app.stock-delta.ack-timeout-ms:5000}")
+    private long stockAckTimeoutMs;
     
     @GetMapping
-    public ResponseEntity<PageResponse<ItemDTO>> getAll(
+    public ResponseEntity<?> getAll(
             @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String after,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            WebRequest webRequest) {
+        
+        if (after != null) {
+            checkCursorSize(size);
+            return ResponseEntity.ok(itemService.findAfter(categoryId, decodeCursor(after), size));
+        }
+        
+        Pageable pageable = ConditionalGet.page(page, size, conditionalGet);
+        
+        ResourceVersion version = null;
+        if (conditionalGet) {
+            version = itemService.pageVersion(categoryId, pageable, withTotal);
+            ResponseEntity<?> notModified = ConditionalGet.notModified(webRequest, version);
+            if (notModified != null) {
+                return notModified;
+            }
+        }
+        
+        if (!withTotal) {
+            return ConditionalGet.tagged(ResponseEntity.ok(), version).body(PageResponse.of(categoryId != null
+                    ? itemService.findSliceByCategoryId(categoryId, pageable)
+                    : itemService.findAllSlice(pageable)));
+        }
         
-        Pageable pageable = PageRequest.of(page, size);
         Page<ItemDTO> result;
         
         if (categoryId != null) {
@@ -34,13 +92,67 @@ public class ItemController {
             result = itemService.findAll(pageable);
         }
         
-        return ResponseEntity.ok(PageResponse.of(result));
+        return ConditionalGet.tagged(ResponseEntity.ok(), version).body(PageResponse.of(result));
+    }
+    
+    /**
+     * Every matching item as NDJSON, written row by row as the cursor advances.
+     * Runs on the MVC async executor; the read transaction lives inside the body.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince) {
+        
+        ObjectWriter writer = objectMapper.writerFor(ItemDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = objectMapper.createGenerator(out)) {
+                gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                gen.setRootValueSeparator(null);
+                itemService.export(categoryId, updatedSince, dto -> {
+                    try {
+                        writer.writeValue(gen, dto);
+                        gen.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    static void checkCursorSize(int size) {
+        if (!KeysetCursor.isValidSize(size)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, KeysetCursor.INVALID_SIZE);
+        }
+    }
+    
+    static long decodeCursor(String after) {
+        try {
+            return KeysetCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<ItemDTO> getById(@PathVariable Long id) {
+    public ResponseEntity<ItemDTO> getById(@PathVariable Long id, WebRequest webRequest) {
+        ResourceVersion version = null;
+        if (conditionalGet) {
+            version = itemService.version(id);
+            ResponseEntity<ItemDTO> notModified = ConditionalGet.notModified(webRequest, version);
+            if (notModified != null) {
+                return notModified;
+            }
+        }
+        
         ItemDTO item = itemService.findById(id);
-        return ResponseEntity.ok(item);
+        return ConditionalGet.tagged(ResponseEntity.ok(), version).body(item);
     }
     
     @PostMapping
@@ -57,6 +169,85 @@ public class ItemController {
         return ResponseEntity.ok(updated);
     }
     
+    /**
+     * Signed stock change, coalesced with concurrent ones into one UPDATE per
+     * flush. ack=durable (default) answers after that flush committed: 200 with
+     * the new stock, 404, or 409 when the stock would go below zero or past the
+     * int range; 202 when the flush took longer than app.stock-delta.ack-timeout-ms
+     * (the delta stays queued and will apply, so no Retry-After). ack=async
+     * answers 202 once the delta is queued.
+     */
+    @PatchMapping("/{id}/stock")
+    public CompletableFuture<ResponseEntity<StockDelta>> adjustStock(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "durable") String ack,
+            @Valid @RequestBody StockDelta body) {
+        boolean durable = "durable".equalsIgnoreCase(ack);
+        if (!durable && !"async".equalsIgnoreCase(ack)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ack must be durable or async");
+        }
+        
+        CompletableFuture<StockDeltaBuffer.Outcome> pending = itemService.adjustStock(id, body.getDelta());
+        ResponseEntity<StockDelta> queued = ResponseEntity.accepted().body(new StockDelta(id, body.getDelta(), null));
+        if (!durable) {
+            return CompletableFuture.completedFuture(queued);
+        }
+        // Past the timeout the outcome is unknown but the delta is queued: 202, as
+        // a 503 would invite a retry that applies it twice
+        return pending.thenApply(outcome -> switch (outcome.status()) {
+            case APPLIED -> ResponseEntity.ok(new StockDelta(id, body.getDelta(), outcome.stock()));
+            case NOT_FOUND -> throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Item not found");
+            case INSUFFICIENT_STOCK, OUT_OF_RANGE -> ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new StockDelta(id, body.getDelta(), outcome.stock()));
+        }).completeOnTimeout(queued, stockAckTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Bulk insert; rows are validated one by one and reported in the result.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> createBatch(@RequestBody List<ItemDTO> dtos) {
+        checkBatchSize(dtos);
+        return ResponseEntity.ok(itemService.createBatch(dtos));
+    }
+    
+    /**
+     * Bulk update of existing items, matched by the id inside each row.
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResult> updateBatch(@RequestBody List<ItemDTO> dtos) {
+        checkBatchSize(dtos);
+        return ResponseEntity.ok(itemService.updateBatch(dtos));
+    }
+    
+    /**
+     * Bulk upsert by SKU from CSV in the database/items.csv layout; the body
+     * is streamed into PostgreSQL COPY without being buffered.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportResult> importCsv(
+            @RequestParam(defaultValue = "true") boolean header,
+            InputStream body) {
+        return ResponseEntity.ok(itemService.importItems(body, ItemCopyImport.Format.CSV, header));
+    }
+    
+    /**
+     * Same as the CSV import, one JSON object per line with the items.csv keys.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportResult> importNdjson(InputStream body) {
+        return ResponseEntity.ok(itemService.importItems(body, ItemCopyImport.Format.NDJSON, false));
+    }
+    
+    private void checkBatchSize(List<ItemDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Empty batch");
+        }
+        if (dtos.size() > batchMaxRows) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Batch exceeds " + batchMaxRows + " rows");
+        }
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         itemService.delete(id);
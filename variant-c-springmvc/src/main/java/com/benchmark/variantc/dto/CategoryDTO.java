@@ -1,6 +1,7 @@
 package com.benchmark.variantc.dto;
 
 import com.benchmark.model.Category;
+import com.benchmark.proto.CategoryFields;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -12,7 +13,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class CategoryDTO {
+public class CategoryDTO implements CategoryFields {
     
     private Long id;
     
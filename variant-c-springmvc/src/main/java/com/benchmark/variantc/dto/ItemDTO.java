@@ -2,6 +2,7 @@ package com.benchmark.variantc.dto;
 
 import com.benchmark.model.Category;
 import com.benchmark.model.Item;
+import com.benchmark.proto.ItemFields;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,7 +14,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class ItemDTO {
+public class ItemDTO implements ItemFields {
     
     private Long id;
     
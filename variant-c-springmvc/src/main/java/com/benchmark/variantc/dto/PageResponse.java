@@ -1,22 +1,26 @@
 package com.benchmark.variantc.dto;
 
+import com.benchmark.proto.PageFields;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class PageResponse<T> {
+public class PageResponse<T> implements PageFields {
     
     private List<T> content;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    // Null in slice mode (withTotal=false) and then omitted from the JSON
+    private Long totalElements;
+    private Integer totalPages;
+    private Boolean hasNext;
     private boolean last;
     private boolean first;
     
@@ -27,8 +31,22 @@ public class PageResponse<T> {
             page.getSize(),
             page.getTotalElements(),
             page.getTotalPages(),
+            null,
             page.isLast(),
             page.isFirst()
         );
     }
+    
+    public static <T> PageResponse<T> of(Slice<T> slice) {
+        return new PageResponse<>(
+            slice.getContent(),
+            slice.getNumber(),
+            slice.getSize(),
+            null,
+            null,
+            slice.hasNext(),
+            slice.isLast(),
+            slice.isFirst()
+        );
+    }
 }
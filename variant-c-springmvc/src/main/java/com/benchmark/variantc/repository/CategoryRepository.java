@@ -1,11 +1,15 @@
 package com.benchmark.variantc.repository;
 
 import com.benchmark.model.Category;
+import com.benchmark.variantc.dto.CategoryDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +18,20 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByCode(String code);
     
     Page<Category> findAll(Pageable pageable);
+    
+    // Constructor-expression projections: no managed entities on reads
+    @Query(value = "SELECT new com.benchmark.variantc.dto.CategoryDTO(c.id, c.code, c.name, c.updatedAt) FROM Category c",
+           countQuery = "SELECT COUNT(c) FROM Category c")
+    Page<CategoryDTO> findAllDtos(Pageable pageable);
+    
+    @Query("SELECT new com.benchmark.variantc.dto.CategoryDTO(c.id, c.code, c.name, c.updatedAt)"
+           + " FROM Category c WHERE c.id = :id")
+    Optional<CategoryDTO> findDtoById(@Param("id") Long id);
+    
+    // Timestamp-only rows for ETags: category id, updated_at
+    @Query("SELECT c.id, c.updatedAt FROM Category c")
+    List<Object[]> findVersions(Pageable pageable);
+    
+    @Query("SELECT c.id, c.updatedAt FROM Category c WHERE c.id = :id")
+    List<Object[]> findVersionById(@Param("id") Long id);
 }
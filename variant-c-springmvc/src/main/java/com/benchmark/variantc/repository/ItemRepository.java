@@ -1,18 +1,32 @@
 package com.benchmark.variantc.repository;
 
 import com.benchmark.model.Item;
+import com.benchmark.variantc.dto.ItemDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
     
+    // Constructor-expression projection: rows land in ItemDTO directly, with no
+    // managed entity, persistence context entry or dirty-checking snapshot
+    String SELECT_DTO = "SELECT new com.benchmark.variantc.dto.ItemDTO(i.id, i.sku, i.name, i.price, i.stock,"
+            + " c.id, c.code, c.name, i.updatedAt) FROM Item i JOIN i.category c";
+    
     Optional<Item> findBySku(String sku);
     
     Page<Item> findAll(Pageable pageable);
@@ -28,4 +42,94 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     @Query(value = "SELECT i FROM Item i JOIN FETCH i.category",
            countQuery = "SELECT COUNT(i) FROM Item i")
     Page<Item> findAllWithCategory(Pageable pageable);
+    
+    // Slice variants: read size + 1 rows and skip the COUNT query
+    @Query("SELECT i FROM Item i")
+    Slice<Item> findAllSlice(Pageable pageable);
+    
+    @Query("SELECT i FROM Item i JOIN FETCH i.category")
+    Slice<Item> findAllSliceWithCategory(Pageable pageable);
+    
+    @Query("SELECT i FROM Item i WHERE i.category.id = :categoryId")
+    Slice<Item> findSliceByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    @Query("SELECT i FROM Item i JOIN FETCH i.category WHERE i.category.id = :categoryId")
+    Slice<Item> findSliceByCategoryIdWithJoinFetch(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    @Query(value = SELECT_DTO, countQuery = "SELECT COUNT(i) FROM Item i")
+    Page<ItemDTO> findAllDtos(Pageable pageable);
+    
+    @Query(SELECT_DTO)
+    Slice<ItemDTO> findAllDtoSlice(Pageable pageable);
+    
+    @Query(value = SELECT_DTO + " WHERE c.id = :categoryId",
+           countQuery = "SELECT COUNT(i) FROM Item i WHERE i.category.id = :categoryId")
+    Page<ItemDTO> findDtosByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    @Query(SELECT_DTO + " WHERE c.id = :categoryId")
+    Slice<ItemDTO> findDtoSliceByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    @Query(SELECT_DTO + " WHERE i.id = :id")
+    Optional<ItemDTO> findDtoById(@Param("id") Long id);
+    
+    long countByCategoryId(Long categoryId);
+    
+    // Timestamp-only rows for ETags: item id, item updated_at, category updated_at
+    @Query("SELECT i.id, i.updatedAt, c.updatedAt FROM Item i JOIN i.category c")
+    Slice<Object[]> findVersions(Pageable pageable);
+    
+    @Query("SELECT i.id, i.updatedAt, c.updatedAt FROM Item i JOIN i.category c WHERE c.id = :categoryId")
+    Slice<Object[]> findVersionsByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    @Query("SELECT i.id, i.updatedAt, c.updatedAt FROM Item i JOIN i.category c WHERE i.id = :id")
+    List<Object[]> findVersionById(@Param("id") Long id);
+    
+    // Batch writes: SKU -> owning item id for the submitted SKUs, one IN query
+    @Query("SELECT i.sku, i.id FROM Item i WHERE i.sku IN :skus")
+    List<Object[]> findSkuOwners(@Param("skus") Collection<String> skus);
+    
+    // Export: forward-only stream over a server-side cursor, read-only entities
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM Item i JOIN FETCH i.category"
+           + " WHERE (:categoryId IS NULL OR i.category.id = :categoryId)"
+           + " AND (:updatedSince IS NULL OR i.updatedAt > :updatedSince)"
+           + " ORDER BY i.id")
+    Stream<Item> streamForExport(@Param("categoryId") Long categoryId,
+                                 @Param("updatedSince") LocalDateTime updatedSince);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_DTO
+           + " WHERE (:categoryId IS NULL OR c.id = :categoryId)"
+           + " AND (:updatedSince IS NULL OR i.updatedAt > :updatedSince)"
+           + " ORDER BY i.id")
+    Stream<ItemDTO> streamDtosForExport(@Param("categoryId") Long categoryId,
+                                        @Param("updatedSince") LocalDateTime updatedSince);
+    
+    // Keyset (seek) pagination: no OFFSET, served by the (category_id, id) index
+    @Query("SELECT i FROM Item i WHERE i.id > :afterId ORDER BY i.id")
+    List<Item> findAllAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT i FROM Item i JOIN FETCH i.category WHERE i.id > :afterId ORDER BY i.id")
+    List<Item> findAllAfterWithCategory(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT i FROM Item i WHERE i.category.id = :categoryId AND i.id > :afterId ORDER BY i.id")
+    List<Item> findByCategoryIdAfter(@Param("categoryId") Long categoryId,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+    
+    @Query("SELECT i FROM Item i JOIN FETCH i.category WHERE i.category.id = :categoryId AND i.id > :afterId ORDER BY i.id")
+    List<Item> findByCategoryIdAfterWithJoinFetch(@Param("categoryId") Long categoryId,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+    
+    @Query(SELECT_DTO + " WHERE i.id > :afterId ORDER BY i.id")
+    List<ItemDTO> findAllDtosAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(SELECT_DTO + " WHERE c.id = :categoryId AND i.id > :afterId ORDER BY i.id")
+    List<ItemDTO> findDtosByCategoryIdAfter(@Param("categoryId") Long categoryId,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
 }
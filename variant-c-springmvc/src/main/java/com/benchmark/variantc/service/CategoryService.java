@@ -1,13 +1,27 @@
 package com.benchmark.variantc.service;
 
+import com.benchmark.cache.ItemCountCache;
+import com.benchmark.cache.ResponseCache;
+import com.benchmark.http.ResourceVersion;
+import com.benchmark.jdbc.CatalogWrites;
 import com.benchmark.model.Category;
+import com.benchmark.model.Item;
 import com.benchmark.variantc.dto.CategoryDTO;
 import com.benchmark.variantc.repository.CategoryRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -15,16 +29,42 @@ import org.springframework.transaction.annotation.Transactional;
 public class CategoryService {
     
     private final CategoryRepository categoryRepository;
+    private final ItemCountCache itemCountCache;
+    private final ResponseCache responseCache;
+    private final EntityManager entityManager;
+    
+    @Value("${app.dto-projection:false}")
+    private boolean dtoProjection;
     
     public Page<CategoryDTO> findAll(Pageable pageable) {
+        if (dtoProjection) {
+            return categoryRepository.findAllDtos(pageable);
+        }
         return categoryRepository.findAll(pageable)
                 .map(CategoryDTO::fromEntity);
     }
     
     public CategoryDTO findById(Long id) {
-        return categoryRepository.findById(id)
-                .map(CategoryDTO::fromEntity)
-                .orElseThrow(() -> new RuntimeException("Category not found: " + id));
+        Optional<CategoryDTO> category = dtoProjection
+            ? categoryRepository.findDtoById(id)
+            : categoryRepository.findById(id).map(CategoryDTO::fromEntity);
+        return category.orElseThrow(() -> new RuntimeException("Category not found: " + id));
+    }
+    
+    /**
+     * Version of a category page for conditional GET: timestamp-only rows plus the total.
+     */
+    public ResourceVersion pageVersion(Pageable pageable) {
+        return ResourceVersion.ofRows(categoryRepository.findVersions(pageable))
+                .add(categoryRepository.count());
+    }
+    
+    public ResourceVersion version(Long id) {
+        List<Object[]> rows = categoryRepository.findVersionById(id);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Category not found: " + id);
+        }
+        return ResourceVersion.ofRows(rows);
     }
     
     @Transactional
@@ -34,23 +74,41 @@ public class CategoryService {
         return CategoryDTO.fromEntity(saved);
     }
     
+    /**
+     * One UPDATE ... RETURNING (see CatalogWrites): no load before the write.
+     */
     @Transactional
     public CategoryDTO update(Long id, CategoryDTO dto) {
-        Category existing = categoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Category not found: " + id));
-        
-        existing.setCode(dto.getCode());
-        existing.setName(dto.getName());
+        LocalDateTime updatedAt = entityManager.unwrap(Session.class).doReturningWork(connection ->
+                CatalogWrites.updateCategory(connection, id, dto.getCode(), dto.getName()));
+        if (updatedAt == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found: " + id);
+        }
         
-        Category updated = categoryRepository.save(existing);
-        return CategoryDTO.fromEntity(updated);
+        ItemService.afterCommit(() -> {
+            entityManager.getEntityManagerFactory().getCache().evict(Category.class, id);
+            // Item pages embed the category code and name
+            responseCache.categoriesChanged(id);
+        });
+        return new CategoryDTO(id, dto.getCode(), dto.getName(), updatedAt);
     }
     
+    /**
+     * Items go in one set-based DELETE instead of one per row through the
+     * Category.items cascade; a zero row count on the category is a 404.
+     */
     @Transactional
     public void delete(Long id) {
-        if (!categoryRepository.existsById(id)) {
-            throw new RuntimeException("Category not found: " + id);
+        boolean deleted = entityManager.unwrap(Session.class).doReturningWork(connection ->
+                CatalogWrites.deleteCategory(connection, id));
+        if (!deleted) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found: " + id);
         }
-        categoryRepository.deleteById(id);
+        ItemService.afterCommit(() -> {
+            entityManager.getEntityManagerFactory().getCache().evict(Category.class, id);
+            entityManager.getEntityManagerFactory().getCache().evict(Item.class);
+            itemCountCache.categoryRemoved(id);
+            responseCache.categoriesChanged(id);
+        });
     }
 }
@@ -1,16 +1,56 @@
 package com.benchmark.variantc.service;
 
+import com.benchmark.cache.ItemCountCache;
+import com.benchmark.cache.ResponseCache;
+import com.benchmark.dto.BatchResult;
+import com.benchmark.dto.ImportResult;
+import com.benchmark.http.ResourceVersion;
+import com.benchmark.jdbc.CatalogWrites;
+import com.benchmark.jdbc.ItemCopyImport;
+import com.benchmark.jdbc.StockDeltaBuffer;
 import com.benchmark.model.Category;
 import com.benchmark.model.Item;
+import com.benchmark.dto.CursorPageResponse;
 import com.benchmark.variantc.dto.ItemDTO;
 import com.benchmark.variantc.repository.CategoryRepository;
 import com.benchmark.variantc.repository.ItemRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.JDBCException;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -19,11 +59,36 @@ public class ItemService {
     
     private final ItemRepository itemRepository;
     private final CategoryRepository categoryRepository;
+    private final ItemCountCache itemCountCache;
+    private final ResponseCache responseCache;
+    private final StockDeltaBuffer stockDeltaBuffer;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
+    
+    // Rows per flush/clear in batch writes; each flush goes out in hibernate.jdbc.batch_size statements
+    private static final int BATCH_CHUNK = 100;
     
     @Value("${app.use-join-fetch:true}")
     private boolean useJoinFetch;
     
+    // Reads select straight into ItemDTO; false loads entities (JOIN FETCH or not) and copies them
+    @Value("${app.dto-projection:false}")
+    private boolean dtoProjection;
+    
+    @Value("${app.count-cache.enabled:false}")
+    private boolean countCacheEnabled;
+    
     public Page<ItemDTO> findAll(Pageable pageable) {
+        if (countCacheEnabled) {
+            long total = itemCountCache.countAll(itemRepository::count);
+            return new PageImpl<>(findAllSlice(pageable).getContent(), pageable, total);
+        }
+        
+        if (dtoProjection) {
+            return itemRepository.findAllDtos(pageable);
+        }
+        
         Page<Item> items = useJoinFetch 
             ? itemRepository.findAllWithCategory(pageable)
             : itemRepository.findAll(pageable);
@@ -31,13 +96,36 @@ public class ItemService {
         return items.map(ItemDTO::fromEntity);
     }
     
+    public Slice<ItemDTO> findAllSlice(Pageable pageable) {
+        if (dtoProjection) {
+            return itemRepository.findAllDtoSlice(pageable);
+        }
+        
+        Slice<Item> items = useJoinFetch
+            ? itemRepository.findAllSliceWithCategory(pageable)
+            : itemRepository.findAllSlice(pageable);
+        
+        return items.map(ItemDTO::fromEntity);
+    }
+    
     public ItemDTO findById(Long id) {
-        return itemRepository.findById(id)
-                .map(ItemDTO::fromEntity)
-                .orElseThrow(() -> new RuntimeException("Item not found: " + id));
+        Optional<ItemDTO> item = dtoProjection
+            ? itemRepository.findDtoById(id)
+            : itemRepository.findById(id).map(ItemDTO::fromEntity);
+        return item.orElseThrow(() -> new RuntimeException("Item not found: " + id));
     }
     
     public Page<ItemDTO> findByCategoryId(Long categoryId, Pageable pageable) {
+        if (countCacheEnabled) {
+            long total = itemCountCache.countByCategory(categoryId,
+                    () -> itemRepository.countByCategoryId(categoryId));
+            return new PageImpl<>(findSliceByCategoryId(categoryId, pageable).getContent(), pageable, total);
+        }
+        
+        if (dtoProjection) {
+            return itemRepository.findDtosByCategoryId(categoryId, pageable);
+        }
+        
         Page<Item> items = useJoinFetch 
             ? itemRepository.findByCategoryIdWithJoinFetch(categoryId, pageable)
             : itemRepository.findByCategoryId(categoryId, pageable);
@@ -45,6 +133,107 @@ public class ItemService {
         return items.map(ItemDTO::fromEntity);
     }
     
+    public Slice<ItemDTO> findSliceByCategoryId(Long categoryId, Pageable pageable) {
+        if (dtoProjection) {
+            return itemRepository.findDtoSliceByCategoryId(categoryId, pageable);
+        }
+        
+        Slice<Item> items = useJoinFetch
+            ? itemRepository.findSliceByCategoryIdWithJoinFetch(categoryId, pageable)
+            : itemRepository.findSliceByCategoryId(categoryId, pageable);
+        
+        return items.map(ItemDTO::fromEntity);
+    }
+    
+    /**
+     * Version of an offset page for conditional GET: the timestamp-only rows
+     * of the same window plus one (so hasNext shows in the tag), and the total.
+     */
+    public ResourceVersion pageVersion(Long categoryId, Pageable pageable, boolean withTotal) {
+        Slice<Object[]> rows = categoryId != null
+            ? itemRepository.findVersionsByCategoryId(categoryId, pageable)
+            : itemRepository.findVersions(pageable);
+        
+        ResourceVersion version = ResourceVersion.ofRows(rows.getContent())
+                .add(rows.hasNext() ? 1 : 0);
+        if (withTotal) {
+            version.add(count(categoryId));
+        }
+        return version;
+    }
+    
+    public ResourceVersion version(Long id) {
+        List<Object[]> rows = itemRepository.findVersionById(id);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Item not found: " + id);
+        }
+        return ResourceVersion.ofRows(rows);
+    }
+    
+    private long count(Long categoryId) {
+        if (categoryId == null) {
+            return countCacheEnabled
+                ? itemCountCache.countAll(itemRepository::count)
+                : itemRepository.count();
+        }
+        return countCacheEnabled
+            ? itemCountCache.countByCategory(categoryId, () -> itemRepository.countByCategoryId(categoryId))
+            : itemRepository.countByCategoryId(categoryId);
+    }
+    
+    /**
+     * Keyset page after the given id, optionally restricted to one category.
+     * Reads size + 1 rows so the response knows whether another page exists.
+     */
+    public CursorPageResponse<ItemDTO> findAfter(Long categoryId, long afterId, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        if (dtoProjection) {
+            List<ItemDTO> dtos = categoryId != null
+                ? itemRepository.findDtosByCategoryIdAfter(categoryId, afterId, limit)
+                : itemRepository.findAllDtosAfter(afterId, limit);
+            return CursorPageResponse.of(dtos, size, ItemDTO::getId);
+        }
+        
+        List<Item> items;
+        
+        if (categoryId != null) {
+            items = useJoinFetch
+                ? itemRepository.findByCategoryIdAfterWithJoinFetch(categoryId, afterId, limit)
+                : itemRepository.findByCategoryIdAfter(categoryId, afterId, limit);
+        } else {
+            items = useJoinFetch
+                ? itemRepository.findAllAfterWithCategory(afterId, limit)
+                : itemRepository.findAllAfter(afterId, limit);
+        }
+        
+        List<ItemDTO> dtos = items.stream()
+                .map(ItemDTO::fromEntity)
+                .collect(Collectors.toList());
+        return CursorPageResponse.of(dtos, size, ItemDTO::getId);
+    }
+    
+    /**
+     * Hands every matching item to the sink in id order. The stream reads a
+     * server-side cursor, which PostgreSQL only opens inside a transaction;
+     * projected rows never enter the persistence context, and entities (with
+     * dto-projection off) are detached once consumed so it stays small.
+     */
+    public void export(Long categoryId, LocalDateTime updatedSince, Consumer<ItemDTO> sink) {
+        if (dtoProjection) {
+            try (Stream<ItemDTO> items = itemRepository.streamDtosForExport(categoryId, updatedSince)) {
+                items.forEach(sink);
+            }
+            return;
+        }
+        
+        try (Stream<Item> items = itemRepository.streamForExport(categoryId, updatedSince)) {
+            items.forEach(item -> {
+                sink.accept(ItemDTO.fromEntity(item));
+                entityManager.detach(item);
+            });
+        }
+    }
+    
     @Transactional
     public ItemDTO create(ItemDTO dto) {
         Category category = categoryRepository.findById(dto.getCategoryId())
@@ -52,32 +241,284 @@ public class ItemService {
         
         Item item = dto.toEntity(category);
         Item saved = itemRepository.save(item);
+        afterCommit(() -> {
+            itemCountCache.itemAdded(category.getId());
+            responseCache.categoriesChanged(category.getId());
+        });
         return ItemDTO.fromEntity(saved);
     }
     
+    /**
+     * One UPDATE ... RETURNING (see CatalogWrites): no load of the item or its
+     * category first. No row back is a 404, a foreign key violation a 400.
+     */
     @Transactional
     public ItemDTO update(Long id, ItemDTO dto) {
-        Item existing = itemRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Item not found: " + id));
+        CatalogWrites.ItemUpdate updated;
+        try {
+            updated = entityManager.unwrap(Session.class).doReturningWork(connection ->
+                    CatalogWrites.updateItem(connection, id, dto.getSku(), dto.getName(),
+                            dto.getPrice(), dto.getStock(), dto.getCategoryId()));
+        } catch (JDBCException e) {
+            if (CatalogWrites.FOREIGN_KEY_VIOLATION.equals(e.getSQLState())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category not found: " + dto.getCategoryId(), e);
+            }
+            throw e;
+        }
+        if (updated == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Item not found: " + id);
+        }
         
-        Category category = categoryRepository.findById(dto.getCategoryId())
-                .orElseThrow(() -> new RuntimeException("Category not found: " + dto.getCategoryId()));
+        Long previousCategoryId = updated.previousCategoryId();
+        afterCommit(() -> {
+            // The row was written with plain SQL: drop the cached entity
+            entityManager.getEntityManagerFactory().getCache().evict(Item.class, id);
+            itemCountCache.itemMoved(previousCategoryId, dto.getCategoryId());
+            responseCache.categoriesChanged(previousCategoryId, dto.getCategoryId());
+        });
+        return new ItemDTO(id, dto.getSku(), dto.getName(), dto.getPrice(), dto.getStock(),
+                dto.getCategoryId(), updated.categoryCode(), updated.categoryName(), updated.updatedAt());
+    }
+    
+    /**
+     * Inserts the batch in one transaction. Ids come from the pooled sequence
+     * at persist time, so the INSERTs leave as JDBC batches; the persistence
+     * context is flushed and cleared every BATCH_CHUNK rows. Invalid rows,
+     * unknown categories and taken SKUs are reported per row and skipped.
+     */
+    @Transactional
+    public BatchResult createBatch(List<ItemDTO> dtos) {
+        Map<Long, Category> categories = findCategories(dtos);
+        Set<String> takenSkus = new HashSet<>(findSkuOwners(dtos).keySet());
+        
+        List<BatchResult.Row> rows = new ArrayList<>(dtos.size());
+        List<Long> addedCategoryIds = new ArrayList<>();
+        for (int index = 0; index < dtos.size(); index++) {
+            ItemDTO dto = dtos.get(index);
+            BatchResult.Row invalid = validate(index, dto, categories);
+            if (invalid != null) {
+                rows.add(invalid);
+                continue;
+            }
+            if (!takenSkus.add(dto.getSku())) {
+                rows.add(BatchResult.error(index, HttpStatus.CONFLICT.value(), "SKU already exists"));
+                continue;
+            }
+            
+            Item item = dto.toEntity(categories.get(dto.getCategoryId()));
+            item.setId(null);
+            Item saved = itemRepository.save(item);
+            rows.add(BatchResult.ok(index, HttpStatus.CREATED.value(), saved.getId()));
+            
+            addedCategoryIds.add(dto.getCategoryId());
+            if (addedCategoryIds.size() % BATCH_CHUNK == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        
+        BatchResult result = BatchResult.of(rows);
+        afterCommit(() -> {
+            addedCategoryIds.forEach(itemCountCache::itemAdded);
+            responseCache.categoriesChanged(addedCategoryIds);
+            countBatchRows("insert", result);
+        });
+        return result;
+    }
+    
+    /**
+     * Updates the batch (each row carrying its id) in one transaction: every
+     * BATCH_CHUNK rows are loaded with one IN query, modified, then flushed
+     * as batched UPDATEs and cleared.
+     */
+    @Transactional
+    public BatchResult updateBatch(List<ItemDTO> dtos) {
+        Map<Long, Category> categories = findCategories(dtos);
+        Map<String, Long> skuOwners = findSkuOwners(dtos);
+        
+        List<BatchResult.Row> rows = new ArrayList<>(dtos.size());
+        List<Long[]> moves = new ArrayList<>();
+        Set<Long> seenIds = new HashSet<>();
+        
+        for (int from = 0; from < dtos.size(); from += BATCH_CHUNK) {
+            int to = Math.min(from + BATCH_CHUNK, dtos.size());
+            
+            Set<Long> chunkIds = dtos.subList(from, to).stream()
+                    .filter(Objects::nonNull)
+                    .map(ItemDTO::getId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Map<Long, Item> items = itemRepository.findAllById(chunkIds).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            
+            for (int index = from; index < to; index++) {
+                ItemDTO dto = dtos.get(index);
+                BatchResult.Row invalid = validate(index, dto, categories);
+                if (invalid != null) {
+                    rows.add(invalid);
+                    continue;
+                }
+                if (dto.getId() == null) {
+                    rows.add(BatchResult.error(index, HttpStatus.BAD_REQUEST.value(), "Missing id"));
+                    continue;
+                }
+                if (!seenIds.add(dto.getId())) {
+                    rows.add(BatchResult.error(index, HttpStatus.BAD_REQUEST.value(), "Duplicate id"));
+                    continue;
+                }
+                Item item = items.get(dto.getId());
+                if (item == null) {
+                    rows.add(BatchResult.error(index, HttpStatus.NOT_FOUND.value(), "Item not found"));
+                    continue;
+                }
+                Long owner = skuOwners.get(dto.getSku());
+                if (owner != null && !owner.equals(item.getId())) {
+                    rows.add(BatchResult.error(index, HttpStatus.CONFLICT.value(), "SKU already exists"));
+                    continue;
+                }
+                
+                Category category = categories.get(dto.getCategoryId());
+                moves.add(new Long[] { item.getCategory().getId(), category.getId() });
+                skuOwners.remove(item.getSku());
+                skuOwners.put(dto.getSku(), item.getId());
+                
+                item.setSku(dto.getSku());
+                item.setName(dto.getName());
+                item.setPrice(dto.getPrice());
+                item.setStock(dto.getStock());
+                item.setCategory(category);
+                rows.add(BatchResult.ok(index, HttpStatus.OK.value(), item.getId()));
+            }
+            
+            entityManager.flush();
+            entityManager.clear();
+        }
         
-        existing.setSku(dto.getSku());
-        existing.setName(dto.getName());
-        existing.setPrice(dto.getPrice());
-        existing.setStock(dto.getStock());
-        existing.setCategory(category);
+        BatchResult result = BatchResult.of(rows);
+        afterCommit(() -> {
+            moves.forEach(move -> itemCountCache.itemMoved(move[0], move[1]));
+            responseCache.categoriesChanged(moves.stream().flatMap(Stream::of).collect(Collectors.toSet()));
+            countBatchRows("update", result);
+        });
+        return result;
+    }
+    
+    /**
+     * Bulk upsert by SKU through PostgreSQL COPY (see ItemCopyImport), on the
+     * connection of this transaction. Malformed input (SQLState class 22/23) is a 400.
+     */
+    @Transactional
+    public ImportResult importItems(InputStream body, ItemCopyImport.Format format, boolean header) {
+        ImportResult result;
+        try {
+            result = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                try {
+                    return ItemCopyImport.run(connection, body, format, header);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (JDBCException e) {
+            String sqlState = e.getSQLState() != null ? e.getSQLState() : "";
+            if (sqlState.startsWith("22") || sqlState.startsWith("23")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Import failed, SQLState " + sqlState, e);
+            }
+            throw e;
+        }
         
-        Item updated = itemRepository.save(existing);
-        return ItemDTO.fromEntity(updated);
+        // The upsert bypassed Hibernate: drop cached item state and page totals
+        afterCommit(() -> {
+            entityManager.getEntityManagerFactory().getCache().evict(Item.class);
+            itemCountCache.clear();
+            responseCache.clear();
+        });
+        return result;
+    }
+    
+    /**
+     * Bean Validation and category lookup for one batch row; null when the row is valid.
+     */
+    private BatchResult.Row validate(int index, ItemDTO dto, Map<Long, Category> categories) {
+        if (dto == null) {
+            return BatchResult.error(index, HttpStatus.BAD_REQUEST.value(), "Missing item");
+        }
+        Set<ConstraintViolation<ItemDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return BatchResult.error(index, HttpStatus.BAD_REQUEST.value(), BatchResult.describe(violations));
+        }
+        if (!categories.containsKey(dto.getCategoryId())) {
+            return BatchResult.error(index, HttpStatus.BAD_REQUEST.value(), "Category not found");
+        }
+        return null;
+    }
+    
+    /**
+     * All categories referenced by the batch, loaded with a single IN query.
+     */
+    private Map<Long, Category> findCategories(List<ItemDTO> dtos) {
+        Set<Long> ids = dtos.stream()
+                .filter(Objects::nonNull)
+                .map(ItemDTO::getCategoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return categoryRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+    }
+    
+    private Map<String, Long> findSkuOwners(List<ItemDTO> dtos) {
+        Set<String> skus = dtos.stream()
+                .filter(Objects::nonNull)
+                .map(ItemDTO::getSku)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return itemRepository.findSkuOwners(skus).stream()
+                .collect(Collectors.toMap(row -> (String) row[0], row -> (Long) row[1]));
+    }
+    
+    /**
+     * item_batch_rows_total{operation,result}: rate() gives rows/second server side.
+     */
+    private void countBatchRows(String operation, BatchResult result) {
+        meterRegistry.counter("item.batch.rows", "operation", operation, "result", "written")
+                .increment(result.getSucceeded());
+        meterRegistry.counter("item.batch.rows", "operation", operation, "result", "rejected")
+                .increment(result.getFailed());
     }
     
     @Transactional
     public void delete(Long id) {
-        if (!itemRepository.existsById(id)) {
-            throw new RuntimeException("Item not found: " + id);
+        // One DELETE ... RETURNING: no load before the remove
+        Long categoryId = entityManager.unwrap(Session.class).doReturningWork(connection ->
+                CatalogWrites.deleteItem(connection, id));
+        if (categoryId == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Item not found: " + id);
         }
-        itemRepository.deleteById(id);
+        afterCommit(() -> {
+            entityManager.getEntityManagerFactory().getCache().evict(Item.class, id);
+            itemCountCache.itemRemoved(categoryId);
+            responseCache.categoriesChanged(categoryId);
+        });
+    }
+    
+    /**
+     * Queues a signed stock delta; the future completes once the flush that
+     * applied or rejected it committed. No transaction here: the flusher
+     * runs its own.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<StockDeltaBuffer.Outcome> adjustStock(Long id, int delta) {
+        return stockDeltaBuffer.add(id, delta);
+    }
+    
+    /**
+     * Count and response cache updates only apply once the write is committed.
+     */
+    static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
@@ -1,13 +1,20 @@
 package com.benchmark.variantd;
 
+import com.benchmark.spring.ConcurrencyLimitConfig;
+import com.benchmark.spring.QueryCountConfig;
+import com.benchmark.spring.SecondLevelCacheConfig;
+import com.benchmark.spring.VirtualThreadConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
 @EntityScan("com.benchmark.model")
 @EnableJpaRepositories
+@Import({QueryCountConfig.class, ConcurrencyLimitConfig.class, VirtualThreadConfig.class,
+        SecondLevelCacheConfig.class})
 public class VariantDApplication {
 
     public static void main(String[] args) {
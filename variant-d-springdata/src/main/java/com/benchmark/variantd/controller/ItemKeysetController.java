@@ -0,0 +1,95 @@
+package com.benchmark.variantd.controller;
+
+import com.benchmark.dto.KeysetCursor;
+import com.benchmark.model.Item;
+import com.benchmark.variantd.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.rest.webmvc.PersistentEntityResourceAssembler;
+import org.springframework.data.rest.webmvc.RepositoryRestController;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.core.EmbeddedWrappers;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset (seek) search resources, in place of exported repository methods so
+ * the page carries an opaque next cursor like A and C:
+ * /items/search/after?after=&size= and
+ * /items/search/by-category-after?categoryId=&after=&size=.
+ * after takes a KeysetCursor (or a plain id, 0 to start); the next link holds
+ * KeysetCursor.encode of the last id and is absent on the last page. A page
+ * parameter is not read: the cursor replaces the OFFSET.
+ */
+@RepositoryRestController
+@RequiredArgsConstructor
+public class ItemKeysetController {
+
+    private final ItemRepository itemRepository;
+
+    @GetMapping("/items/search/after")
+    public ResponseEntity<CollectionModel<?>> after(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            PersistentEntityResourceAssembler assembler) {
+        long afterId = decodeCursor(after, size);
+        return ResponseEntity.ok(toPage(itemRepository.findAllAfter(afterId, PageRequest.of(0, size + 1)),
+                size, assembler));
+    }
+
+    @GetMapping("/items/search/by-category-after")
+    public ResponseEntity<CollectionModel<?>> byCategoryAfter(
+            @RequestParam Long categoryId,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            PersistentEntityResourceAssembler assembler) {
+        long afterId = decodeCursor(after, size);
+        return ResponseEntity.ok(toPage(itemRepository.findByCategoryIdAfter(categoryId, afterId,
+                PageRequest.of(0, size + 1)), size, assembler));
+    }
+
+    private static long decodeCursor(String after, int size) {
+        if (!KeysetCursor.isValidSize(size)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, KeysetCursor.INVALID_SIZE);
+        }
+        try {
+            return KeysetCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    /**
+     * Items are read size + 1: the extra row only tells that a next page exists.
+     * Rendered like the exported search resources, through the itemExcerpt projection.
+     */
+    private static CollectionModel<?> toPage(List<Item> rows, int size, PersistentEntityResourceAssembler assembler) {
+        boolean hasNext = rows.size() > size;
+        List<Item> items = hasNext ? rows.subList(0, size) : rows;
+
+        List<Object> content = new ArrayList<>(items.size());
+        items.forEach(item -> content.add(assembler.toModel(item)));
+        if (content.isEmpty()) {
+            content.add(new EmbeddedWrappers(false).emptyCollectionOf(Item.class));
+        }
+
+        ServletUriComponentsBuilder self = ServletUriComponentsBuilder.fromCurrentRequest();
+        CollectionModel<?> page = CollectionModel.of(content, Link.of(self.toUriString()));
+        if (hasNext) {
+            String next = self.replaceQueryParam("after", KeysetCursor.encode(items.get(items.size() - 1).getId()))
+                    .replaceQueryParam("page")
+                    .toUriString();
+            page.add(Link.of(next, IanaLinkRelations.NEXT));
+        }
+        return page;
+    }
+}
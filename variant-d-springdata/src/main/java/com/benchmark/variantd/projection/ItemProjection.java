@@ -9,6 +9,9 @@ import java.time.LocalDateTime;
 /**
  * Projection to limit the fields returned by Spring Data REST
  * Can be used by adding ?projection=itemExcerpt to the URL
+ *
+ * Also the excerpt of the item collection and search resources: the nested
+ * category is read from the fetch-joined row, not loaded per item.
  */
 @Projection(name = "itemExcerpt", types = { Item.class })
 public interface ItemProjection {
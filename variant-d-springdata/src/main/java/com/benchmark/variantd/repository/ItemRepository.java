@@ -1,6 +1,7 @@
 package com.benchmark.variantd.repository;
 
 import com.benchmark.model.Item;
+import com.benchmark.variantd.projection.ItemProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,29 +10,46 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 import org.springframework.data.rest.core.annotation.RestResource;
 
+import java.util.List;
 import java.util.Optional;
 
-@RepositoryRestResource(path = "items", collectionResourceRel = "items")
+/**
+ * Collection and search resources render items through the itemExcerpt
+ * projection. Their queries fetch-join the category, subject to
+ * app.use-join-fetch (see JoinFetchRewriter), so a page is one SELECT
+ * plus its COUNT.
+ */
+@RepositoryRestResource(path = "items", collectionResourceRel = "items", excerptProjection = ItemProjection.class)
 public interface ItemRepository extends JpaRepository<Item, Long> {
     
     @RestResource(path = "by-sku", rel = "by-sku")
     Optional<Item> findBySku(@Param("sku") String sku);
     
+    // Redeclared with @Query so the collection resource gets the fetch plan
     @Override
+    @Query(value = "SELECT i FROM Item i JOIN FETCH i.category",
+           countQuery = "SELECT COUNT(i) FROM Item i",
+           queryRewriter = JoinFetchRewriter.class)
     Page<Item> findAll(Pageable pageable);
     
     // Spring Data REST will expose this automatically as /items/search/by-category
     @RestResource(path = "by-category", rel = "by-category")
+    @Query(value = "SELECT i FROM Item i JOIN FETCH i.category WHERE i.category.id = :categoryId",
+           countQuery = "SELECT COUNT(i) FROM Item i WHERE i.category.id = :categoryId",
+           queryRewriter = JoinFetchRewriter.class)
     Page<Item> findByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
     
-    // Optimized version with JOIN FETCH
-    @RestResource(exported = false) // Not exposed via REST
-    @Query("SELECT i FROM Item i JOIN FETCH i.category WHERE i.category.id = :categoryId")
-    Page<Item> findByCategoryIdWithJoinFetch(@Param("categoryId") Long categoryId, Pageable pageable);
+    // Keyset (seek) pages, served by ItemKeysetController as /items/search/after
+    // and /items/search/by-category-after with an opaque next cursor
+    @RestResource(exported = false)
+    @Query(value = "SELECT i FROM Item i JOIN FETCH i.category WHERE i.id > :after ORDER BY i.id",
+           queryRewriter = JoinFetchRewriter.class)
+    List<Item> findAllAfter(@Param("after") Long after, Pageable pageable);
     
-    // Optimized query with JOIN FETCH for all items
-    @RestResource(exported = false) // Not exposed via REST
-    @Query(value = "SELECT i FROM Item i JOIN FETCH i.category",
-           countQuery = "SELECT COUNT(i) FROM Item i")
-    Page<Item> findAllWithCategory(Pageable pageable);
+    @RestResource(exported = false)
+    @Query(value = "SELECT i FROM Item i JOIN FETCH i.category WHERE i.category.id = :categoryId AND i.id > :after ORDER BY i.id",
+           queryRewriter = JoinFetchRewriter.class)
+    List<Item> findByCategoryIdAfter(@Param("categoryId") Long categoryId,
+                                     @Param("after") Long after,
+                                     Pageable pageable);
 }
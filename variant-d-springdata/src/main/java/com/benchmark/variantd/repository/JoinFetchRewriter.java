@@ -0,0 +1,28 @@
+package com.benchmark.variantd.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.QueryRewriter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies app.use-join-fetch to the exported item queries. They are written
+ * with JOIN FETCH i.category, so one SELECT brings each item with its category
+ * and the itemExcerpt projection renders without further queries; with the
+ * flag off the fetch is dropped and every rendered category costs a SELECT
+ * (the N+1 baseline). Count queries carry no fetch and are left unchanged.
+ */
+@Component
+public class JoinFetchRewriter implements QueryRewriter {
+
+    private final boolean useJoinFetch;
+
+    public JoinFetchRewriter(@Value("${app.use-join-fetch:true}") boolean useJoinFetch) {
+        this.useJoinFetch = useJoinFetch;
+    }
+
+    @Override
+    public String rewrite(String query, Sort sort) {
+        return useJoinFetch ? query : query.replace(" JOIN FETCH ", " JOIN ");
+    }
+}
@@ -0,0 +1,12 @@
+package com.benchmark.variante;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class VariantEApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(VariantEApplication.class, args);
+    }
+}
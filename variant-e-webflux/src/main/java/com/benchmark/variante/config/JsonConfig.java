@@ -0,0 +1,22 @@
+package com.benchmark.variante.config;
+
+import com.benchmark.json.HandJsonModule;
+import com.fasterxml.jackson.databind.Module;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the hand-written DTO serializers on Spring Boot's ObjectMapper
+ * (Module beans are picked up by JacksonAutoConfiguration) when
+ * HAND_JSON_WRITERS=true; otherwise the default bean serializers are used.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.json.hand-writers", havingValue = "true")
+public class JsonConfig {
+
+    @Bean
+    public Module handJsonModule() {
+        return new HandJsonModule();
+    }
+}
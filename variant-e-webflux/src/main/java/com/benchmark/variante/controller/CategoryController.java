@@ -0,0 +1,82 @@
+package com.benchmark.variante.controller;
+
+import com.benchmark.dto.CategoryDTO;
+import com.benchmark.dto.ItemDTO;
+import com.benchmark.dto.PageResponse;
+import com.benchmark.variante.service.CategoryService;
+import com.benchmark.variante.service.ItemService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/categories")
+@RequiredArgsConstructor
+public class CategoryController {
+
+    private final CategoryService categoryService;
+    private final ItemService itemService;
+
+    @GetMapping
+    public Mono<PageResponse<CategoryDTO>> getAll(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return categoryService.findAll(page, size);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<CategoryDTO> getById(@PathVariable Long id) {
+        return categoryService.findById(id);
+    }
+
+    @GetMapping(value = "/{id}/items", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<?> getItemsByCategory(
+            @PathVariable Long id,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+
+        if (after != null) {
+            ItemController.checkCursorSize(size);
+            return itemService.findAfter(id, ItemController.decodeCursor(after), size);
+        }
+
+        return categoryService.requireExists(id)
+                .then(withTotal
+                    ? itemService.findAll(id, page, size)
+                    : itemService.findSlice(id, page, size));
+    }
+
+    @GetMapping(value = "/{id}/items", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ItemDTO> streamItemsByCategory(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return categoryService.requireExists(id)
+                .thenMany(itemService.stream(id, page, size));
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<CategoryDTO> create(@Valid @RequestBody CategoryDTO dto) {
+        return categoryService.create(dto);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<CategoryDTO> update(
+            @PathVariable Long id,
+            @Valid @RequestBody CategoryDTO dto) {
+        return categoryService.update(id, dto);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> delete(@PathVariable Long id) {
+        return categoryService.delete(id);
+    }
+}
@@ -0,0 +1,103 @@
+package com.benchmark.variante.controller;
+
+import com.benchmark.dto.ItemDTO;
+import com.benchmark.dto.KeysetCursor;
+import com.benchmark.variante.service.ItemService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/items")
+@RequiredArgsConstructor
+public class ItemController {
+
+    private final ItemService itemService;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<?> getAll(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+
+        if (after != null) {
+            checkCursorSize(size);
+            return itemService.findAfter(categoryId, decodeCursor(after), size);
+        }
+
+        return withTotal
+            ? itemService.findAll(categoryId, page, size)
+            : itemService.findSlice(categoryId, page, size);
+    }
+
+    /**
+     * Accept: application/x-ndjson streams the page rows one JSON object per
+     * line as the driver emits them, without collecting the page envelope.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ItemDTO> stream(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return itemService.stream(categoryId, page, size);
+    }
+
+    /**
+     * Every matching item as NDJSON; rows are written as the driver emits
+     * them, with backpressure from the connection down to the database.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ItemDTO> export(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince) {
+        return itemService.export(categoryId, updatedSince);
+    }
+
+    static void checkCursorSize(int size) {
+        if (!KeysetCursor.isValidSize(size)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, KeysetCursor.INVALID_SIZE);
+        }
+    }
+
+    static long decodeCursor(String after) {
+        try {
+            return KeysetCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ItemDTO> getById(@PathVariable Long id) {
+        return itemService.findById(id);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ItemDTO> create(@Valid @RequestBody ItemDTO dto) {
+        return itemService.create(dto);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ItemDTO> update(
+            @PathVariable Long id,
+            @Valid @RequestBody ItemDTO dto) {
+        return itemService.update(id, dto);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> delete(@PathVariable Long id) {
+        return itemService.delete(id);
+    }
+}
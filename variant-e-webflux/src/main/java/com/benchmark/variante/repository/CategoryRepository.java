@@ -0,0 +1,96 @@
+package com.benchmark.variante.repository;
+
+import com.benchmark.dto.CategoryDTO;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+@RequiredArgsConstructor
+public class CategoryRepository {
+
+    private static final String SELECT = "SELECT id, code, name, updated_at FROM category";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<CategoryDTO> findAll(int limit, long offset) {
+        return databaseClient.sql(SELECT + " LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(CategoryRepository::toDto)
+                .all();
+    }
+
+    public Mono<CategoryDTO> findById(Long id) {
+        return databaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(CategoryRepository::toDto)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT 1 FROM category WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> Boolean.TRUE)
+                .one()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) FROM category")
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<CategoryDTO> insert(CategoryDTO dto) {
+        return databaseClient.sql("INSERT INTO category (code, name, updated_at) VALUES (:code, :name, NOW())"
+                        + " RETURNING id, updated_at")
+                .bind("code", dto.getCode())
+                .bind("name", dto.getName())
+                .map((row, metadata) -> {
+                    dto.setId(row.get("id", Long.class));
+                    dto.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+                    return dto;
+                })
+                .one();
+    }
+
+    /**
+     * @return the updated DTO, or empty when no category has this id
+     */
+    public Mono<CategoryDTO> update(Long id, CategoryDTO dto) {
+        return databaseClient.sql("UPDATE category SET code = :code, name = :name, updated_at = NOW()"
+                        + " WHERE id = :id RETURNING updated_at")
+                .bind("code", dto.getCode())
+                .bind("name", dto.getName())
+                .bind("id", id)
+                .map((row, metadata) -> {
+                    dto.setId(id);
+                    dto.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+                    return dto;
+                })
+                .one();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM category WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static CategoryDTO toDto(Row row, RowMetadata metadata) {
+        return new CategoryDTO(
+            row.get("id", Long.class),
+            row.get("code", String.class),
+            row.get("name", String.class),
+            row.get("updated_at", LocalDateTime.class)
+        );
+    }
+}
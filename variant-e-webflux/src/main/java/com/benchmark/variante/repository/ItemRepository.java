@@ -0,0 +1,184 @@
+package com.benchmark.variante.repository;
+
+import com.benchmark.dto.ItemDTO;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Item queries over R2DBC. There is no ORM here, so the category is always
+ * read through a JOIN (the equivalent of JOIN FETCH in the JPA variants)
+ * and rows are mapped straight to the shared ItemDTO.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemRepository {
+
+    private static final String SELECT =
+            "SELECT i.id, i.sku, i.name, i.price, i.stock, i.category_id,"
+            + " c.code AS category_code, c.name AS category_name, i.updated_at"
+            + " FROM item i JOIN category c ON c.id = i.category_id";
+
+    // Rows per round trip of the export query
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<ItemDTO> findAll(int limit, long offset) {
+        return databaseClient.sql(SELECT + " LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ItemRepository::toDto)
+                .all();
+    }
+
+    public Flux<ItemDTO> findByCategoryId(Long categoryId, int limit, long offset) {
+        return databaseClient.sql(SELECT + " WHERE i.category_id = :categoryId LIMIT :limit OFFSET :offset")
+                .bind("categoryId", categoryId)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ItemRepository::toDto)
+                .all();
+    }
+
+    public Flux<ItemDTO> findAllAfter(long afterId, int limit) {
+        return databaseClient.sql(SELECT + " WHERE i.id > :afterId ORDER BY i.id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ItemRepository::toDto)
+                .all();
+    }
+
+    public Flux<ItemDTO> findByCategoryIdAfter(Long categoryId, long afterId, int limit) {
+        return databaseClient.sql(SELECT
+                        + " WHERE i.category_id = :categoryId AND i.id > :afterId ORDER BY i.id LIMIT :limit")
+                .bind("categoryId", categoryId)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ItemRepository::toDto)
+                .all();
+    }
+
+    /**
+     * Every matching item in id order. The fetch size makes the driver pull
+     * rows from the open portal in chunks as downstream demand arrives.
+     */
+    public Flux<ItemDTO> export(Long categoryId, LocalDateTime updatedSince) {
+        List<String> filters = new ArrayList<>();
+        if (categoryId != null) {
+            filters.add("i.category_id = :categoryId");
+        }
+        if (updatedSince != null) {
+            filters.add("i.updated_at > :updatedSince");
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(SELECT
+                        + (filters.isEmpty() ? "" : " WHERE " + String.join(" AND ", filters))
+                        + " ORDER BY i.id")
+                .filter(statement -> statement.fetchSize(EXPORT_FETCH_SIZE));
+        if (categoryId != null) {
+            spec = spec.bind("categoryId", categoryId);
+        }
+        if (updatedSince != null) {
+            spec = spec.bind("updatedSince", updatedSince);
+        }
+        return spec.map(ItemRepository::toDto).all();
+    }
+
+    public Mono<ItemDTO> findById(Long id) {
+        return databaseClient.sql(SELECT + " WHERE i.id = :id")
+                .bind("id", id)
+                .map(ItemRepository::toDto)
+                .one();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) FROM item")
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<Long> countByCategoryId(Long categoryId) {
+        return databaseClient.sql("SELECT COUNT(*) FROM item WHERE category_id = :categoryId")
+                .bind("categoryId", categoryId)
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * @return the generated id and updated_at, written into the given DTO
+     */
+    public Mono<ItemDTO> insert(ItemDTO dto) {
+        return databaseClient.sql("INSERT INTO item (sku, name, price, stock, category_id, updated_at)"
+                        + " VALUES (:sku, :name, :price, :stock, :categoryId, NOW())"
+                        + " RETURNING id, updated_at")
+                .bind("sku", dto.getSku())
+                .bind("name", dto.getName())
+                .bind("price", dto.getPrice())
+                .bind("stock", dto.getStock())
+                .bind("categoryId", dto.getCategoryId())
+                .map((row, metadata) -> {
+                    dto.setId(row.get("id", Long.class));
+                    dto.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+                    return dto;
+                })
+                .one();
+    }
+
+    /**
+     * @return the updated DTO, or empty when no item has this id
+     */
+    public Mono<ItemDTO> update(Long id, ItemDTO dto) {
+        return databaseClient.sql("UPDATE item SET sku = :sku, name = :name, price = :price, stock = :stock,"
+                        + " category_id = :categoryId, updated_at = NOW() WHERE id = :id"
+                        + " RETURNING updated_at")
+                .bind("sku", dto.getSku())
+                .bind("name", dto.getName())
+                .bind("price", dto.getPrice())
+                .bind("stock", dto.getStock())
+                .bind("categoryId", dto.getCategoryId())
+                .bind("id", id)
+                .map((row, metadata) -> {
+                    dto.setId(id);
+                    dto.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+                    return dto;
+                })
+                .one();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM item WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteByCategoryId(Long categoryId) {
+        return databaseClient.sql("DELETE FROM item WHERE category_id = :categoryId")
+                .bind("categoryId", categoryId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static ItemDTO toDto(Row row, RowMetadata metadata) {
+        return new ItemDTO(
+            row.get("id", Long.class),
+            row.get("sku", String.class),
+            row.get("name", String.class),
+            row.get("price", BigDecimal.class),
+            row.get("stock", Integer.class),
+            row.get("category_id", Long.class),
+            row.get("category_code", String.class),
+            row.get("category_name", String.class),
+            row.get("updated_at", LocalDateTime.class)
+        );
+    }
+}
@@ -0,0 +1,64 @@
+package com.benchmark.variante.service;
+
+import com.benchmark.dto.CategoryDTO;
+import com.benchmark.dto.PageResponse;
+import com.benchmark.variante.repository.CategoryRepository;
+import com.benchmark.variante.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final ItemRepository itemRepository;
+
+    public Mono<PageResponse<CategoryDTO>> findAll(int page, int size) {
+        return Mono.zip(categoryRepository.findAll(size, (long) page * size).collectList(), categoryRepository.count())
+                .map(result -> PageResponse.of(result.getT1(), page, size, result.getT2()));
+    }
+
+    public Mono<CategoryDTO> findById(Long id) {
+        return categoryRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    /**
+     * Fails with 404 when the category does not exist, before any item is read.
+     */
+    public Mono<Void> requireExists(Long id) {
+        return categoryRepository.existsById(id)
+                .flatMap(exists -> exists ? Mono.<Void>empty() : Mono.error(notFound(id)));
+    }
+
+    @Transactional
+    public Mono<CategoryDTO> create(CategoryDTO dto) {
+        return categoryRepository.insert(dto);
+    }
+
+    @Transactional
+    public Mono<CategoryDTO> update(Long id, CategoryDTO dto) {
+        return categoryRepository.update(id, dto)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    /**
+     * Same effect as the JPA variants' cascade: the category's items go first.
+     */
+    @Transactional
+    public Mono<Void> delete(Long id) {
+        return requireExists(id)
+                .then(itemRepository.deleteByCategoryId(id))
+                .then(categoryRepository.deleteById(id))
+                .then();
+    }
+
+    private static ResponseStatusException notFound(Long id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found: " + id);
+    }
+}
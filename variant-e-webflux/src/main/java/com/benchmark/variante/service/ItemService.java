@@ -0,0 +1,120 @@
+package com.benchmark.variante.service;
+
+import com.benchmark.dto.CursorPageResponse;
+import com.benchmark.dto.ItemDTO;
+import com.benchmark.dto.PageResponse;
+import com.benchmark.variante.repository.CategoryRepository;
+import com.benchmark.variante.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reads run outside a transaction (single statements, auto-commit);
+ * writes use the reactive R2DBC transaction manager.
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemService {
+
+    private final ItemRepository itemRepository;
+    private final CategoryRepository categoryRepository;
+
+    /**
+     * Page with total: the row query and the COUNT run concurrently
+     * on two pooled connections and are joined when both complete.
+     */
+    public Mono<PageResponse<ItemDTO>> findAll(Long categoryId, int page, int size) {
+        Mono<Long> total = categoryId != null
+            ? itemRepository.countByCategoryId(categoryId)
+            : itemRepository.count();
+
+        return Mono.zip(stream(categoryId, page, size).collectList(), total)
+                .map(result -> PageResponse.of(result.getT1(), page, size, result.getT2()));
+    }
+
+    public Mono<PageResponse<ItemDTO>> findSlice(Long categoryId, int page, int size) {
+        long offset = (long) page * size;
+        Flux<ItemDTO> rows = categoryId != null
+            ? itemRepository.findByCategoryId(categoryId, size + 1, offset)
+            : itemRepository.findAll(size + 1, offset);
+
+        return rows.collectList()
+                .map(items -> PageResponse.slice(items, page, size));
+    }
+
+    /**
+     * Page rows as they arrive from the driver, without the page envelope.
+     */
+    public Flux<ItemDTO> stream(Long categoryId, int page, int size) {
+        long offset = (long) page * size;
+        return categoryId != null
+            ? itemRepository.findByCategoryId(categoryId, size, offset)
+            : itemRepository.findAll(size, offset);
+    }
+
+    public Flux<ItemDTO> export(Long categoryId, LocalDateTime updatedSince) {
+        return itemRepository.export(categoryId, updatedSince);
+    }
+
+    /**
+     * Keyset page after the given id, optionally restricted to one category.
+     * Reads size + 1 rows so the response knows whether another page exists.
+     */
+    public Mono<CursorPageResponse<ItemDTO>> findAfter(Long categoryId, long afterId, int size) {
+        Flux<ItemDTO> rows = categoryId != null
+            ? itemRepository.findByCategoryIdAfter(categoryId, afterId, size + 1)
+            : itemRepository.findAllAfter(afterId, size + 1);
+
+        return rows.collectList()
+                .map(items -> CursorPageResponse.of(items, size, ItemDTO::getId));
+    }
+
+    public Mono<ItemDTO> findById(Long id) {
+        return itemRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    @Transactional
+    public Mono<ItemDTO> create(ItemDTO dto) {
+        return categoryRepository.findById(dto.getCategoryId())
+                .switchIfEmpty(Mono.error(() -> categoryNotFound(dto.getCategoryId())))
+                .flatMap(category -> {
+                    dto.setCategoryCode(category.getCode());
+                    dto.setCategoryName(category.getName());
+                    return itemRepository.insert(dto);
+                });
+    }
+
+    @Transactional
+    public Mono<ItemDTO> update(Long id, ItemDTO dto) {
+        return categoryRepository.findById(dto.getCategoryId())
+                .switchIfEmpty(Mono.error(() -> categoryNotFound(dto.getCategoryId())))
+                .flatMap(category -> {
+                    dto.setCategoryCode(category.getCode());
+                    dto.setCategoryName(category.getName());
+                    return itemRepository.update(id, dto);
+                })
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    @Transactional
+    public Mono<Void> delete(Long id) {
+        return itemRepository.deleteById(id)
+                .flatMap(deleted -> deleted == 0 ? Mono.error(notFound(id)) : Mono.empty());
+    }
+
+    private static ResponseStatusException notFound(Long id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Item not found: " + id);
+    }
+
+    private static ResponseStatusException categoryNotFound(Long categoryId) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category not found: " + categoryId);
+    }
+}